@@ -0,0 +1,124 @@
+package com.esc.fluffybot.gitlab;
+
+import com.esc.fluffybot.gitlab.dto.GitLabDiffEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MR diff 목록 디코딩 비교
+ *
+ * before: 응답 전체를 Map으로 만든 뒤 파일을 찾음 (기존 getMergeRequestChanges 방식)
+ * after: /diffs를 pageSize개씩 나눈 페이지를 차례로 받으면서 GitLabDiffEntry를 요소 단위로 디코딩하다가
+ *        찾으면 나머지는 읽지 않음 (getMergeRequestDiffs가 쓰는 GitLabPaginator.stream 방식)
+ * 응답은 네트워크처럼 8KB DataBuffer 조각으로 나눠 전달하며, 할당량은 -prof gc의 gc.alloc.rate.norm으로 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MergeRequestDiffDecodingBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final ResolvableType MAP_TYPE = ResolvableType.forClass(Map.class);
+    private static final ResolvableType ENTRY_TYPE = ResolvableType.forClass(GitLabDiffEntry.class);
+
+    @Param({"200", "1000"})
+    private int files;
+
+    @Param({"4096"})
+    private int diffSize;
+
+    // fluffybot.gitlab.pagination.page-size 기본값
+    @Param({"100"})
+    private int pageSize;
+
+    private final Jackson2JsonDecoder decoder = new Jackson2JsonDecoder(new ObjectMapper());
+    // 응답 조각은 미리 나눠 두어 두 방식의 할당량에 포함되지 않게 함
+    private List<byte[]> wrappedChunks;
+    private List<List<byte[]>> pageChunks;
+    private String target;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        String diff = "@@ -1,1 +1,1 @@\n" + "+".repeat(diffSize) + "\n";
+        for (int i = 0; i < files; i++) {
+            String path = "src/main/java/File" + i + ".java";
+            entries.add(Map.of(
+                "old_path", path,
+                "new_path", path,
+                "diff", diff,
+                "new_file", false,
+                "renamed_file", false,
+                "deleted_file", false));
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        wrappedChunks = new ArrayList<>();
+        wrappedChunks.add("{\"changes\":".getBytes(StandardCharsets.UTF_8));
+        wrappedChunks.addAll(split(mapper.writeValueAsBytes(entries)));
+        wrappedChunks.add("}".getBytes(StandardCharsets.UTF_8));
+        pageChunks = new ArrayList<>();
+        for (int from = 0; from < files; from += pageSize) {
+            pageChunks.add(split(mapper.writeValueAsBytes(entries.subList(from, Math.min(files, from + pageSize)))));
+        }
+        // 코멘트가 달린 파일은 목록 앞쪽 1/4 지점
+        target = "src/main/java/File" + (files / 4) + ".java";
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object materializeAll() {
+        Map<String, Object> wrapper = (Map<String, Object>) decoder
+            .decodeToMono(chunks(wrappedChunks), MAP_TYPE, MediaType.APPLICATION_JSON, null)
+            .block();
+        for (Map<String, Object> change : (List<Map<String, Object>>) wrapper.get("changes")) {
+            if (target.equals(change.get("new_path"))) {
+                return change.get("diff");
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Object streamUntilFound() {
+        // 다음 페이지는 앞 페이지를 다 읽은 뒤에 요청하므로 concatMap으로 차례로 디코딩
+        return Flux.fromIterable(pageChunks)
+            .concatMap(page -> decoder.decode(chunks(page), ENTRY_TYPE, MediaType.APPLICATION_JSON, null))
+            .cast(GitLabDiffEntry.class)
+            .filter(entry -> entry.touches(target))
+            .next()
+            .map(GitLabDiffEntry::getDiff)
+            .block();
+    }
+
+    private static Flux<DataBuffer> chunks(List<byte[]> chunks) {
+        return Flux.fromIterable(chunks).map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    private static List<byte[]> split(byte[] body) {
+        List<byte[]> chunks = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            chunks.add(Arrays.copyOfRange(body, offset, Math.min(body.length, offset + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+}
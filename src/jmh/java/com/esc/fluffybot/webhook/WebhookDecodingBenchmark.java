@@ -0,0 +1,113 @@
+package com.esc.fluffybot.webhook;
+
+import com.esc.fluffybot.config.WebhookProperties;
+import com.esc.fluffybot.webhook.dto.GitLabWebhookPayload;
+import com.esc.fluffybot.webhook.dto.WebhookEnvelope;
+import com.esc.fluffybot.webhook.service.WebhookPayloadDecoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이슈 웹훅 디코딩 비교
+ *
+ * before: 본문을 JsonNode 트리로 만든 뒤 라우팅 필드를 읽고 treeToValue로 DTO 변환 (기존 컨트롤러 방식)
+ * after: WebhookPayloadDecoder가 스트리밍 파서로 라우팅 필드만 읽고 원본 바이트에서 DTO를 바로 바인딩
+ * 본문은 네트워크처럼 8KB DataBuffer 조각으로 나눠 전달하며, 할당량은 -prof gc의 gc.alloc.rate.norm으로 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WebhookDecodingBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final ResolvableType TREE_TYPE = ResolvableType.forClass(JsonNode.class);
+
+    // 이슈 본문 크기 (changes.description의 previous/current에도 같은 크기로 들어감)
+    @Param({"100", "300"})
+    private int descriptionKb;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Jackson2JsonDecoder treeDecoder = new Jackson2JsonDecoder(objectMapper);
+    private final WebhookPayloadDecoder payloadDecoder = new WebhookPayloadDecoder(objectMapper, new WebhookProperties());
+    private List<byte[]> chunks;
+
+    @Setup
+    public void setUp() throws Exception {
+        // 기존 코덱의 256KB 제한은 벤치마크 대상이 아니므로 해제
+        treeDecoder.setMaxInMemorySize(-1);
+
+        String description = "- [ ] 작업 항목 설명\n".repeat(descriptionKb * 1024 / 32);
+        Map<String, Object> payload = Map.of(
+            "object_kind", "issue",
+            "event_type", "issue",
+            "user", Map.of("id", 7, "name", "Developer", "username", "developer"),
+            "project", Map.of("id", 42, "name", "project", "path_with_namespace", "group/project"),
+            "object_attributes", Map.of(
+                "id", 1001,
+                "iid", 12,
+                "title", "대량 수정된 이슈",
+                "description", description,
+                "action", "update",
+                "state", "opened"),
+            "assignees", List.of(Map.of("id", 9, "name", "Bot", "username", "fluffybot")),
+            "changes", Map.of(
+                "description", Map.of("previous", description.substring(description.length() / 2), "current", description)));
+        chunks = split(objectMapper.writeValueAsBytes(payload));
+    }
+
+    @Benchmark
+    public Object treeToValue() throws Exception {
+        JsonNode tree = (JsonNode) treeDecoder
+            .decodeToMono(chunks(), TREE_TYPE, MediaType.APPLICATION_JSON, null)
+            .block();
+        String objectKind = tree.has("object_kind") ? tree.get("object_kind").asText() : "";
+        String username = tree.has("user") && tree.get("user").has("username")
+            ? tree.get("user").get("username").asText()
+            : "";
+        if (!"issue".equals(objectKind) || username.isEmpty()) {
+            return null;
+        }
+        return objectMapper.treeToValue(tree, GitLabWebhookPayload.class);
+    }
+
+    @Benchmark
+    public Object scanAndBind() {
+        WebhookEnvelope envelope = payloadDecoder.decode(chunks()).block();
+        if (!"issue".equals(envelope.getObjectKind()) || envelope.getUsername() == null) {
+            return null;
+        }
+        return payloadDecoder.bind(envelope, GitLabWebhookPayload.class);
+    }
+
+    private Flux<DataBuffer> chunks() {
+        return Flux.fromIterable(chunks).map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    private static List<byte[]> split(byte[] body) {
+        List<byte[]> chunks = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            chunks.add(Arrays.copyOfRange(body, offset, Math.min(body.length, offset + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+}
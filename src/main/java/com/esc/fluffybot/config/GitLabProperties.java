@@ -4,8 +4,11 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 @Data
 @Validated
 @Component
@@ -19,4 +22,65 @@ public class GitLabProperties {
 
     @NotBlank
     private String botUsername = "fluffybot";
+
+    private Cache cache = new Cache();
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private Pagination pagination = new Pagination();
+
+    /**
+     * 조회 응답 캐시 (ETag/Last-Modified 재검증)
+     */
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+
+        // 캐시에 보관하는 응답 본문 총량 (넘으면 가장 오래 쓰지 않은 것부터 제거)
+        private DataSize maxSize = DataSize.ofMegabytes(32);
+
+        // 이 시간 안의 응답은 요청 없이 사용, 지나면 조건부 요청으로 재검증
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+
+    /**
+     * GitLab 호스트별 동시 요청 한도(AIMD)와 재시도
+     */
+    @Data
+    public static class RateLimit {
+        private boolean enabled = true;
+
+        // 동시 요청 한도 시작값과 범위 (성공하면 늘리고 429/503이면 절반으로)
+        private int initialLimit = 8;
+        private int minLimit = 1;
+        private int maxLimit = 32;
+
+        // RateLimit-Remaining이 이 값 이하면 RateLimit-Reset까지 새 요청을 멈춤
+        private int minRemaining = 10;
+
+        // 멱등 요청 재시도 (jitter 지수 백오프, Retry-After가 있으면 그 값)
+        private int maxRetries = 3;
+        private Duration minBackoff = Duration.ofMillis(500);
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        // Retry-After가 이보다 길면 재시도하지 않고 응답을 돌려줌
+        private Duration maxRetryAfter = Duration.ofMinutes(1);
+
+        // 위키 컨텍스트 수집 시 동시에 조회하는 페이지 수
+        private int wikiFanOut = 4;
+    }
+
+    /**
+     * 목록 API 페이지 순회 (Link 헤더)
+     */
+    @Data
+    public static class Pagination {
+        // 페이지당 항목 수 (GitLab 최대 100)
+        private int pageSize = 100;
+
+        // 현재 페이지를 처리하는 동안 미리 받아 둘 페이지 수
+        private int prefetch = 1;
+
+        // 한 번의 목록 조회에서 따라갈 최대 페이지 수
+        private int maxPages = 50;
+    }
 }
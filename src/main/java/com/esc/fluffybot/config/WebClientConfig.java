@@ -1,5 +1,6 @@
 package com.esc.fluffybot.config;
 
+import com.esc.fluffybot.gitlab.client.GitLabRateLimitFilter;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
@@ -18,6 +19,7 @@ import java.util.concurrent.TimeUnit;
 public class WebClientConfig {
 
     private final GitLabProperties gitLabProperties;
+    private final GitLabRateLimitFilter gitLabRateLimitFilter;
 
     @Bean
     public WebClient gitLabWebClient() {
@@ -32,6 +34,7 @@ public class WebClientConfig {
             .baseUrl(gitLabProperties.getUrl())
             .defaultHeader("PRIVATE-TOKEN", gitLabProperties.getToken())
             .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .filter(gitLabRateLimitFilter)
             .build();
     }
 }
@@ -0,0 +1,123 @@
+package com.esc.fluffybot.config;
+
+import com.esc.fluffybot.webhook.model.WebhookEventKind;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fluffybot.webhook")
+public class WebhookProperties {
+
+    // 이보다 큰 웹훅 본문은 파싱하지 않고 413으로 거절
+    private DataSize maxPayloadSize = DataSize.ofMegabytes(5);
+
+    private Journal journal = new Journal();
+    private Dispatcher dispatcher = new Dispatcher();
+    private Admission admission = new Admission();
+    private Idempotency idempotency = new Idempotency();
+    private Coalesce coalesce = new Coalesce();
+    private Ordering ordering = new Ordering();
+
+    @Data
+    public static class Journal {
+        private boolean enabled = true;
+
+        // 재시작/롤링 배포 후에도 남아 있어야 하므로 PVC 등 영속 볼륨 경로를 지정
+        private String directory = "/var/lib/fluffybot/journal";
+
+        // 세그먼트 하나의 크기, maxPayloadSize보다 커야 함
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        // true면 append마다 디스크로 flush (노드 장애까지 대비, 대신 지연 증가)
+        private boolean forceOnAppend = false;
+    }
+
+    @Data
+    public static class Dispatcher {
+        // 핸들러 동시 실행 수
+        private int concurrency = 8;
+
+        // 실행을 기다리는 이벤트 최대 개수, 초과 시 503으로 응답하여 GitLab 재전송에 맡김
+        private int queueCapacity = 256;
+
+        // 종료 시 남은 작업을 기다리는 최대 시간, 이후 미완료 엔트리는 재시작 시 재처리
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Idempotency {
+        private boolean enabled = true;
+
+        // 같은 이벤트로 간주하는 시간 범위
+        private Duration window = Duration.ofMinutes(10);
+
+        // 기억하는 이벤트 키 최대 개수, 넘으면 가장 오래된 것부터 제거
+        private int maxEntries = 10000;
+    }
+
+    @Data
+    public static class Coalesce {
+        // 같은 이슈의 마지막 수정 후 이 시간 동안 추가 수정이 없으면 Worker 생성 (0이면 비활성화)
+        private Duration quietWindow = Duration.ofSeconds(20);
+
+        // 수정이 계속 이어져도 첫 수정 후 이 시간이 지나면 생성
+        private Duration maxDelay = Duration.ofMinutes(2);
+    }
+
+    @Data
+    public static class Ordering {
+        // 키를 나눠 담는 스트라이프 수, 서로 다른 이슈가 같은 스트라이프에 걸리면 직렬화됨
+        private int stripes = Runtime.getRuntime().availableProcessors() * 8;
+
+        // 스트라이프별 대기 작업 최대 개수
+        private int maxQueuePerStripe = 64;
+    }
+
+    @Data
+    public static class Admission {
+        private boolean enabled = true;
+
+        // 429 응답의 Retry-After 값
+        private Duration retryAfter = Duration.ofSeconds(60);
+
+        // 이벤트 종류별 한도
+        // maxQueueWait는 GitLab 웹훅 타임아웃(기본 10초)보다 충분히 짧아야 함
+        private Limits issue = new Limits(16, 4, 64, Duration.ofSeconds(2));
+        private Limits note = new Limits(16, 4, 64, Duration.ofSeconds(2));
+        private Limits mrNote = new Limits(16, 4, 64, Duration.ofSeconds(2));
+        private Limits merge = new Limits(8, 2, 32, Duration.ofSeconds(2));
+
+        public Limits limitsFor(WebhookEventKind kind) {
+            return switch (kind) {
+                case ISSUE -> issue;
+                case NOTE -> note;
+                case MR_NOTE -> mrNote;
+                case MERGE -> merge;
+            };
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limits {
+        // 전체 동시 처리 수
+        private int maxInFlight;
+
+        // 프로젝트별 동시 처리 수
+        private int maxInFlightPerProject;
+
+        // 한도 초과 시 대기할 수 있는 요청 수, 넘으면 즉시 429
+        private int queueCapacity;
+
+        // 대기열에서 기다리는 최대 시간, 넘으면 429
+        private Duration maxQueueWait;
+    }
+}
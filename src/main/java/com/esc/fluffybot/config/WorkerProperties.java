@@ -1,11 +1,19 @@
 package com.esc.fluffybot.config;
 
+import com.esc.fluffybot.worker.model.ExecutorType;
+import com.esc.fluffybot.worker.model.SupersedePolicy;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Data
 @Validated
 @Component
@@ -20,10 +28,280 @@ public class WorkerProperties {
     @NotBlank
     private String anthropicApiKey;
 
+    // 모드별 실행 제한 시간 (Job activeDeadlineSeconds)
     private int timeoutMinutes = 30;
+    private int wikiTimeoutMinutes = 15;
 
     private String cpuRequest = "500m";
     private String cpuLimit = "2";
     private String memoryRequest = "2Gi";
     private String memoryLimit = "4Gi";
+
+    // 같은 이슈에 실행 중인 Job이 있을 때의 처리 방식
+    private SupersedePolicy supersedePolicy = SupersedePolicy.QUEUE;
+
+    // Worker가 webhook 서비스로 콜백할 주소 (작업 할당 조회, 시작 보고)
+    private String callbackUrl;
+
+    // Worker 콜백 인증 토큰의 서명 키 (비어 있으면 시작 시 임의 생성)
+    private String callbackSecret;
+
+    private ExecutorType executor = ExecutorType.KUBERNETES;
+
+    private Local local = new Local();
+
+    private Pool pool = new Pool();
+
+    private Completion completion = new Completion();
+
+    private Reaper reaper = new Reaper();
+
+    private Scheduler scheduler = new Scheduler();
+
+    private Capacity capacity = new Capacity();
+
+    private Profiles profiles = new Profiles();
+
+    private Mirror mirror = new Mirror();
+
+    private Workspace workspace = new Workspace();
+
+    private Caches caches = new Caches();
+
+    private Api api = new Api();
+
+    public int timeoutMinutesFor(String taskMode) {
+        return "wiki".equals(taskMode) ? wikiTimeoutMinutes : timeoutMinutes;
+    }
+
+    public boolean runsOnKubernetes() {
+        return executor == ExecutorType.KUBERNETES;
+    }
+
+    /**
+     * 로컬 프로세스 실행 모드 (executor: local)
+     */
+    @Data
+    public static class Local {
+        // Worker 이미지와 같은 스크립트 (저장소의 worker/ 디렉토리)
+        private String entrypoint = "worker/entrypoint.sh";
+        private String scriptsDir = "worker/scripts";
+
+        // 작업별 HOME/TMPDIR/작업 공간이 만들어지는 디렉토리
+        private String workDir = System.getProperty("java.io.tmpdir") + "/fluffybot-tasks";
+
+        // 동시에 실행하는 프로세스 수
+        private int maxConcurrent = 2;
+
+        // 끝난 작업의 디렉토리와 로그를 유지하는 시간 (Job ttlSecondsAfterFinished와 동일)
+        private Duration retention = Duration.ofHours(1);
+    }
+
+    /**
+     * 미리 띄워두는 유휴 Worker Pod 풀
+     */
+    @Data
+    public static class Pool {
+        private boolean enabled = false;
+
+        // 유지할 유휴 Pod 수
+        private int size = 2;
+
+        // 유휴 Pod의 작업 할당 long-poll 대기 시간
+        private Duration pollTimeout = Duration.ofSeconds(25);
+
+        // 이 시간 동안 할당받지 못한 Pod는 교체 (이미지/설정 갱신 반영)
+        private Duration maxIdle = Duration.ofMinutes(30);
+    }
+
+    /**
+     * Job 종료 감지 후 GitLab 결과 보고
+     */
+    @Data
+    public static class Completion {
+        private boolean enabled = true;
+
+        // 성공은 worker 스크립트가 직접 보고하므로 기본값은 실패만 보고
+        private boolean reportSuccess = false;
+    }
+
+    /**
+     * 오래 Pending이거나 제한 시간을 넘긴 Job 정리
+     */
+    @Data
+    public static class Reaper {
+        private boolean enabled = true;
+
+        // 이 시간 넘게 스케줄되지 못한(Pending) Job은 정리
+        private Duration pendingTimeout = Duration.ofMinutes(15);
+
+        // activeDeadlineSeconds가 적용되지 않은 Job을 위한 여유 시간
+        private Duration grace = Duration.ofMinutes(2);
+    }
+
+    /**
+     * Worker Job 실행 스케줄러 (전체 동시 실행 제한, 모드별 우선순위, 프로젝트별 공정 큐잉)
+     */
+    @Data
+    public static class Scheduler {
+        // 동시에 실행할 수 있는 Worker Job 수
+        private int maxConcurrent = 10;
+
+        // 우선순위가 높은 모드부터 (목록에 없는 모드는 마지막 lane)
+        private List<String> laneOrder = List.of("wiki", "issue");
+
+        // 프로젝트 ID별 가중치 (클수록 더 자주 실행됨)
+        private Map<String, Integer> projectWeights = new HashMap<>();
+
+        private int defaultWeight = 1;
+    }
+
+    /**
+     * namespace 용량 확인 (ResourceQuota, 선택적으로 노드 allocatable)
+     */
+    @Data
+    public static class Capacity {
+        private boolean enabled = true;
+
+        // 노드별 여유까지 확인 (nodes, 전체 namespace pods 조회 권한 필요)
+        private boolean trackNodes = false;
+    }
+
+    /**
+     * Kubernetes API 호출 제한 (클라이언트 측 QPS, 재시도, 전용 스레드 풀)
+     */
+    @Data
+    public static class Api {
+        // 초당 요청 수와 순간 허용량 (token bucket)
+        private double qps = 20;
+        private int burst = 40;
+
+        // 429/5xx 재시도 (지수 백오프 + jitter)
+        private int maxRetries = 3;
+        private Duration minBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(5);
+
+        // API 호출 전용 스레드 수와 대기 작업 수
+        private int threads = 8;
+        private int queueSize = 1000;
+    }
+
+    /**
+     * 과거 실행 사용량으로 학습하는 프로젝트/모드별 리소스 프로필 (metrics-server 필요)
+     */
+    @Data
+    public static class Profiles {
+        private boolean enabled = false;
+
+        // 프로필을 적용하기 위한 최소 실행 기록 수
+        private int minSamples = 3;
+
+        // 프로젝트/모드별로 유지하는 최근 실행 기록 수
+        private int window = 10;
+
+        // 관측 최대값 대비 requests 여유율
+        private double requestMargin = 1.2;
+
+        // 관측 최대값 대비 메모리 limit 여유율
+        private double limitMargin = 1.5;
+
+        private String minCpu = "250m";
+        private String maxCpu = "4";
+        private String minMemory = "512Mi";
+        private String maxMemory = "8Gi";
+
+        // OOMKilled 실행은 당시 메모리 limit에 이 비율을 곱해 기록
+        private double oomGrowth = 1.5;
+
+        private String configMap = "fluffybot-resource-profiles";
+    }
+
+    /**
+     * webhook이 관리하는 프로젝트별 bare mirror (Worker는 읽기 전용으로 마운트해 clone 시 참조)
+     */
+    @Data
+    public static class Mirror {
+        private boolean enabled = false;
+
+        // webhook과 Worker가 함께 마운트하는 PVC (ReadWriteMany)
+        private String claimName = "fluffybot-git-mirrors";
+
+        // webhook Pod 안의 mirror 경로
+        private String localPath = "/var/lib/fluffybot/mirrors";
+
+        // Worker Pod 안의 mirror 경로
+        private String mountPath = "/mirrors";
+
+        // 동시에 실행하는 clone/fetch 수
+        private int maxConcurrentSyncs = 2;
+
+        private Duration syncTimeout = Duration.ofMinutes(15);
+    }
+
+    /**
+     * 이슈별 영구 작업 공간 (후속 작업이 clone/의존성/Claude 세션을 재사용)
+     */
+    @Data
+    public static class Workspace {
+        private boolean persistent = false;
+
+        // 이슈당 PVC 크기
+        private String size = "10Gi";
+
+        // 비어 있으면 클러스터 기본 StorageClass
+        private String storageClass;
+
+        // 상한을 넘으면 가장 오래 쓰지 않은 작업 공간부터 삭제
+        private int maxClaims = 20;
+        private String maxTotalSize = "200Gi";
+    }
+
+    /**
+     * 모든 Worker에 마운트하는 의존성/빌드 캐시 (Gradle, Maven, npm)
+     */
+    @Data
+    public static class Caches {
+        private boolean enabled = false;
+
+        // 캐시 디렉토리를 subPath로 나눠 쓰는 PVC (ReadWriteMany)
+        private String claimName = "fluffybot-build-cache";
+
+        private List<CacheVolume> volumes = new ArrayList<>(List.of(
+            CacheVolume.of("gradle", "/caches/gradle", "20Gi",
+                Map.of("GRADLE_USER_HOME", "/caches/gradle")),
+            // Maven 로컬 저장소는 기본적으로 동시 접근에 안전하지 않으므로 resolver 파일 락 사용 (Maven 3.9+)
+            CacheVolume.of("maven", "/caches/m2", "20Gi",
+                Map.of("MAVEN_OPTS", "-Dmaven.repo.local=/caches/m2/repository"
+                    + " -Daether.syncContext.named.factory=file-lock"
+                    + " -Daether.syncContext.named.nameMapper=file-gav")),
+            CacheVolume.of("npm", "/caches/npm", "10Gi",
+                Map.of("npm_config_cache", "/caches/npm"))
+        ));
+
+        // 용량 상한을 넘은 캐시를 정리하는 Job 실행 주기
+        private Duration evictionInterval = Duration.ofHours(6);
+
+        // 정리 시 상한의 이 비율까지 줄임
+        private int lowWatermarkPercent = 80;
+    }
+
+    @Data
+    public static class CacheVolume {
+        // PVC 안의 subPath
+        private String name;
+        private String mountPath;
+        private String maxSize;
+
+        // 빌드 도구가 캐시 경로를 쓰도록 Worker에 주입할 환경 변수
+        private Map<String, String> env = new HashMap<>();
+
+        static CacheVolume of(String name, String mountPath, String maxSize, Map<String, String> env) {
+            CacheVolume volume = new CacheVolume();
+            volume.setName(name);
+            volume.setMountPath(mountPath);
+            volume.setMaxSize(maxSize);
+            volume.setEnv(new HashMap<>(env));
+            return volume;
+        }
+    }
 }
@@ -2,12 +2,17 @@ package com.esc.fluffybot.gitlab.client;
 
 import com.esc.fluffybot.gitlab.dto.CreateMergeRequestRequest;
 import com.esc.fluffybot.gitlab.dto.CreateNoteRequest;
+import com.esc.fluffybot.gitlab.dto.GitLabDiffEntry;
+import com.esc.fluffybot.gitlab.dto.GitLabIssue;
+import com.esc.fluffybot.gitlab.dto.GitLabMergeRequest;
+import com.esc.fluffybot.gitlab.dto.GitLabNote;
 import com.esc.fluffybot.gitlab.exception.GitLabApiException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
@@ -18,6 +23,8 @@ import java.util.Map;
 public class GitLabApiClient {
 
     private final WebClient gitLabWebClient;
+    private final GitLabResponseCache responseCache;
+    private final GitLabPaginator paginator;
 
     public Mono<Void> postComment(Long projectId, Long issueIid, String comment) {
         String uri = String.format("/api/v4/projects/%d/issues/%d/notes", projectId, issueIid);
@@ -38,8 +45,10 @@ public class GitLabApiClient {
                         ));
                     })
             )
-            .bodyToMono(Void.class)
-            .doOnSuccess(v -> log.debug("Comment posted to project={}, issue={}", projectId, issueIid))
+            .bodyToMono(GitLabNote.class)
+            .doOnSuccess(note -> log.debug("Comment posted to project={}, issue={}, note={}",
+                projectId, issueIid, note != null ? note.getId() : null))
+            .then()
             .onErrorResume(e -> {
                 log.error("Failed to post comment: {}", e.getMessage());
                 return Mono.empty();
@@ -77,35 +86,23 @@ public class GitLabApiClient {
                         ));
                     })
             )
-            .bodyToMono(Map.class)
-            .map(response -> {
-                Long iid = ((Number) response.get("iid")).longValue();
+            .bodyToMono(GitLabMergeRequest.class)
+            .map(mergeRequest -> {
+                Long iid = mergeRequest.getIid();
                 log.info("Merge request created: project={}, iid={}", projectId, iid);
                 return iid;
             });
     }
 
-    public Mono<Map<String, Object>> getIssue(Long projectId, Long issueIid) {
+    public Mono<GitLabIssue> getIssue(Long projectId, Long issueIid) {
         String uri = String.format("/api/v4/projects/%d/issues/%d", projectId, issueIid);
 
-        return gitLabWebClient.get()
-            .uri(uri)
-            .retrieve()
-            .onStatus(
-                status -> status.is4xxClientError() || status.is5xxServerError(),
-                response -> response.bodyToMono(String.class)
-                    .flatMap(body -> {
-                        log.error("GitLab API error: status={}, body={}", response.statusCode(), body);
-                        return Mono.error(new GitLabApiException(
-                            "Failed to get issue: " + response.statusCode()
-                        ));
-                    })
-            )
-            .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+        return responseCache.get("issue", uri, new ParameterizedTypeReference<GitLabIssue>() {},
+                "Failed to get issue")
             .doOnSuccess(v -> log.debug("Retrieved issue: project={}, iid={}", projectId, issueIid))
             .onErrorResume(e -> {
                 log.error("Failed to get issue: {}", e.getMessage());
-                return Mono.<Map<String, Object>>error(e);
+                return Mono.error(e);
             });
     }
 
@@ -129,57 +126,24 @@ public class GitLabApiClient {
                     })
             )
             .bodyToMono(Void.class)
-            .doOnSuccess(v -> log.debug("Issue description updated: project={}, iid={}", projectId, issueIid))
+            .doOnSuccess(v -> {
+                responseCache.invalidateIssue(projectId, issueIid);
+                log.debug("Issue description updated: project={}, iid={}", projectId, issueIid);
+            })
             .onErrorResume(e -> {
                 log.error("Failed to update issue description: {}", e.getMessage());
                 return Mono.empty();
             });
     }
 
-    public Mono<Map<String, Object>> getMergeRequest(Long projectId, Long mrIid) {
+    public Mono<GitLabMergeRequest> getMergeRequest(Long projectId, Long mrIid) {
         String uri = String.format("/api/v4/projects/%d/merge_requests/%d", projectId, mrIid);
 
-        return gitLabWebClient.get()
-            .uri(uri)
-            .retrieve()
-            .onStatus(
-                status -> status.is4xxClientError() || status.is5xxServerError(),
-                response -> response.bodyToMono(String.class)
-                    .flatMap(body -> {
-                        log.error("GitLab API error: status={}, body={}", response.statusCode(), body);
-                        return Mono.error(new GitLabApiException(
-                            "Failed to get merge request: " + response.statusCode()
-                        ));
-                    })
-            )
-            .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+        return responseCache.get("merge_request", uri, new ParameterizedTypeReference<GitLabMergeRequest>() {},
+                "Failed to get merge request")
             .doOnSuccess(v -> log.debug("Retrieved merge request: project={}, iid={}", projectId, mrIid))
             .onErrorResume(e -> {
                 log.error("Failed to get merge request: {}", e.getMessage());
-                return Mono.<Map<String, Object>>error(e);
-            });
-    }
-
-    public Mono<Object> getMergeRequestChanges(Long projectId, Long mrIid) {
-        String uri = String.format("/api/v4/projects/%d/merge_requests/%d/changes", projectId, mrIid);
-
-        return gitLabWebClient.get()
-            .uri(uri)
-            .retrieve()
-            .onStatus(
-                status -> status.is4xxClientError() || status.is5xxServerError(),
-                response -> response.bodyToMono(String.class)
-                    .flatMap(body -> {
-                        log.error("GitLab API error: status={}, body={}", response.statusCode(), body);
-                        return Mono.error(new GitLabApiException(
-                            "Failed to get merge request changes: " + response.statusCode()
-                        ));
-                    })
-            )
-            .bodyToMono(Object.class)
-            .doOnSuccess(v -> log.debug("Retrieved merge request changes: project={}, iid={}", projectId, mrIid))
-            .onErrorResume(e -> {
-                log.error("Failed to get merge request changes: {}", e.getMessage());
                 return Mono.error(e);
             });
     }
@@ -211,51 +175,57 @@ public class GitLabApiClient {
             });
     }
 
-    public Mono<java.util.List<Map<String, Object>>> getRelatedMergeRequests(Long projectId, Long issueIid) {
+    public Flux<GitLabMergeRequest> getRelatedMergeRequests(Long projectId, Long issueIid) {
         String uri = String.format("/api/v4/projects/%d/issues/%d/related_merge_requests", projectId, issueIid);
 
-        return gitLabWebClient.get()
-            .uri(uri)
-            .retrieve()
-            .onStatus(
-                status -> status.is4xxClientError() || status.is5xxServerError(),
-                response -> response.bodyToMono(String.class)
-                    .flatMap(body -> {
-                        log.error("GitLab API error: status={}, body={}", response.statusCode(), body);
-                        return Mono.error(new GitLabApiException(
-                            "Failed to get related merge requests: " + response.statusCode()
-                        ));
-                    })
-            )
-            .bodyToMono(new ParameterizedTypeReference<java.util.List<Map<String, Object>>>() {})
-            .doOnSuccess(v -> log.debug("Retrieved related MRs for issue: project={}, iid={}", projectId, issueIid))
+        return paginator.list("related_merge_requests", uri, GitLabMergeRequest.class,
+                "Failed to get related merge requests")
+            .doOnComplete(() -> log.debug("Retrieved related MRs for issue: project={}, iid={}", projectId, issueIid))
             .onErrorResume(e -> {
                 log.error("Failed to get related merge requests: {}", e.getMessage());
-                return Mono.just(java.util.List.of());
+                return Flux.empty();
             });
     }
 
-    public Mono<Map<String, Object>> getMergeRequestDiffs(Long projectId, Long mrIid) {
+    /**
+     * MR 변경 파일 diff 목록
+     *
+     * 응답 캐시를 거치지 않고 각 페이지를 DataBuffer 단위로 받으면서 항목마다 디코딩하므로 전체 diff를 한 번에 메모리에 올리지 않습니다.
+     * 필요한 파일을 찾으면 구독을 끝내(next, take 등) 페이지의 나머지와 다음 페이지는 받지 않을 수 있습니다.
+     */
+    public Flux<GitLabDiffEntry> getMergeRequestDiffs(Long projectId, Long mrIid) {
         String uri = String.format("/api/v4/projects/%d/merge_requests/%d/diffs", projectId, mrIid);
 
-        return gitLabWebClient.get()
-            .uri(uri)
-            .retrieve()
-            .onStatus(
-                status -> status.is4xxClientError() || status.is5xxServerError(),
-                response -> response.bodyToMono(String.class)
-                    .flatMap(body -> {
-                        log.error("GitLab API error: status={}, body={}", response.statusCode(), body);
-                        return Mono.error(new GitLabApiException(
-                            "Failed to get merge request diffs: " + response.statusCode()
-                        ));
-                    })
-            )
-            .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-            .doOnSuccess(v -> log.debug("Retrieved MR diffs: project={}, iid={}", projectId, mrIid))
+        return paginator.stream("merge_request_diffs", uri, GitLabDiffEntry.class, "Failed to get merge request diffs")
+            .doOnComplete(() -> log.debug("Retrieved MR diffs: project={}, iid={}", projectId, mrIid))
             .onErrorResume(e -> {
                 log.error("Failed to get merge request diffs: {}", e.getMessage());
-                return Mono.just(Map.of());
+                return Flux.empty();
+            });
+    }
+
+    /**
+     * 이슈 코멘트 목록 (오래된 것부터)
+     * 빈 목록과 조회 실패를 구분해야 하므로 에러는 호출자에게 그대로 전달합니다.
+     */
+    public Flux<GitLabNote> listIssueNotes(Long projectId, Long issueIid) {
+        String uri = String.format("/api/v4/projects/%d/issues/%d/notes?sort=asc&order_by=created_at",
+            projectId, issueIid);
+
+        return paginator.list("issue_notes", uri, GitLabNote.class, "Failed to list issue notes");
+    }
+
+    /**
+     * MR 코멘트 목록 (오래된 것부터)
+     */
+    public Flux<GitLabNote> listMergeRequestNotes(Long projectId, Long mrIid) {
+        String uri = String.format("/api/v4/projects/%d/merge_requests/%d/notes?sort=asc&order_by=created_at",
+            projectId, mrIid);
+
+        return paginator.list("merge_request_notes", uri, GitLabNote.class, "Failed to list merge request notes")
+            .onErrorResume(e -> {
+                log.error("Failed to list merge request notes: {}", e.getMessage());
+                return Flux.empty();
             });
     }
 }
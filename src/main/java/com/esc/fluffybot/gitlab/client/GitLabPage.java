@@ -0,0 +1,9 @@
+package com.esc.fluffybot.gitlab.client;
+
+import java.util.List;
+
+/**
+ * 목록 API 한 페이지와 응답의 Link 헤더
+ */
+record GitLabPage<T>(List<T> items, String link) {
+}
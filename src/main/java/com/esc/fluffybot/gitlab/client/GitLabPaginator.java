@@ -0,0 +1,152 @@
+package com.esc.fluffybot.gitlab.client;
+
+import com.esc.fluffybot.config.GitLabProperties;
+import com.esc.fluffybot.gitlab.exception.GitLabApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * GitLab 목록 API 페이지 순회
+ *
+ * 응답의 Link 헤더(rel="next")를 따라가므로 offset 방식과 keyset 방식(pagination=keyset) 모두 처리합니다.
+ * 구독자가 요청한 만큼만 페이지를 받고, 현재 페이지를 처리하는 동안 다음 페이지를 미리 받아 둡니다.
+ * 구독을 끝내면 남은 페이지는 요청하지 않습니다.
+ * 각 페이지는 GitLabResponseCache를 거치므로 캐시, 재검증, 동시 요청 합치기가 그대로 적용됩니다.
+ * 항목이 큰 목록(MR diff 등)은 stream()으로 캐시를 거치지 않고 페이지 안에서도 항목 단위로 디코딩합니다.
+ * max-pages에서 끊긴 목록은 경고 로그와 fluffybot.gitlab.pagination.truncated 메트릭으로 남깁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GitLabPaginator {
+
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>\\s*;\\s*rel=\"next\"");
+
+    private final WebClient gitLabWebClient;
+    private final GitLabResponseCache responseCache;
+    private final GitLabProperties gitLabProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param endpoint     메트릭 태그 (예: issue_notes)
+     * @param uri          첫 페이지 URI (쿼리 포함 가능, per_page는 자동으로 붙임)
+     * @param itemType     항목 타입
+     * @param errorMessage 4xx/5xx일 때 GitLabApiException 메시지 앞부분
+     */
+    public <T> Flux<T> list(String endpoint, String uri, Class<T> itemType, String errorMessage) {
+        GitLabProperties.Pagination pagination = gitLabProperties.getPagination();
+        String first = uri + (uri.contains("?") ? "&" : "?") + "per_page=" + pagination.getPageSize();
+
+        return Flux.defer(() -> {
+            AtomicInteger fetched = new AtomicInteger(1);
+            return responseCache.getPage(endpoint, first, null, itemType, errorMessage)
+                .expand(page -> {
+                    URI next = nextPage(page.link());
+                    if (next == null) {
+                        return Mono.empty();
+                    }
+                    if (fetched.getAndIncrement() >= pagination.getMaxPages()) {
+                        truncated(endpoint, uri);
+                        return Mono.empty();
+                    }
+                    return responseCache.getPage(endpoint, cacheKey(next), next, itemType, errorMessage);
+                });
+        })
+            .concatMapIterable(GitLabPage::items, pagination.getPrefetch() + 1);
+    }
+
+    /**
+     * 캐시를 거치지 않고 응답 배열을 DataBuffer 단위로 받으면서 항목마다 디코딩
+     *
+     * 페이지 전체를 메모리에 올리지 않으며, 구독을 끝내면(next, take 등) 현재 페이지의 나머지와 다음 페이지는 받지 않습니다.
+     * 다음 페이지는 현재 페이지를 다 읽은 뒤에 요청합니다.
+     */
+    public <T> Flux<T> stream(String endpoint, String uri, Class<T> itemType, String errorMessage) {
+        GitLabProperties.Pagination pagination = gitLabProperties.getPagination();
+        String first = uri + (uri.contains("?") ? "&" : "?") + "per_page=" + pagination.getPageSize();
+        return streamPage(endpoint, uri, gitLabWebClient.get().uri(first), 1, itemType, errorMessage);
+    }
+
+    private <T> Flux<T> streamPage(String endpoint, String uri, WebClient.RequestHeadersSpec<?> request, int page,
+                                   Class<T> itemType, String errorMessage) {
+        AtomicReference<URI> next = new AtomicReference<>();
+        return request
+            .exchangeToFlux(response -> {
+                if (response.statusCode().is4xxClientError() || response.statusCode().is5xxServerError()) {
+                    return response.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .flatMapMany(body -> {
+                            log.error("GitLab API error: status={}, body={}", response.statusCode(), body);
+                            return Flux.error(new GitLabApiException(errorMessage + ": " + response.statusCode()));
+                        });
+                }
+                next.set(nextPage(response.headers().asHttpHeaders().getFirst(HttpHeaders.LINK)));
+                return response.bodyToFlux(itemType);
+            })
+            .concatWith(Flux.defer(() -> {
+                URI target = next.get();
+                if (target == null) {
+                    return Flux.empty();
+                }
+                if (page >= gitLabProperties.getPagination().getMaxPages()) {
+                    truncated(endpoint, uri);
+                    return Flux.empty();
+                }
+                return streamPage(endpoint, uri, gitLabWebClient.get().uri(target), page + 1, itemType, errorMessage);
+            }));
+    }
+
+    private void truncated(String endpoint, String uri) {
+        log.warn("GitLab list truncated at {} pages: endpoint={}, uri={}",
+            gitLabProperties.getPagination().getMaxPages(), endpoint, uri);
+        meterRegistry.counter("fluffybot.gitlab.pagination.truncated", "endpoint", endpoint).increment();
+    }
+
+    /**
+     * Link 헤더의 다음 페이지 주소, GitLab 호스트가 아니면 따라가지 않음 (토큰이 함께 전송되므로)
+     */
+    private URI nextPage(String link) {
+        if (link == null) {
+            return null;
+        }
+        Matcher matcher = NEXT_LINK.matcher(link);
+        if (!matcher.find()) {
+            return null;
+        }
+
+        URI next = URI.create(matcher.group(1));
+        URI base = URI.create(gitLabProperties.getUrl());
+        if (next.getAuthority() != null && !next.getAuthority().equals(base.getAuthority())) {
+            log.warn("Ignoring GitLab next page link to another host: {}", next.getAuthority());
+            return null;
+        }
+        return next.isAbsolute() ? next : base.resolve(next);
+    }
+
+    /**
+     * 캐시 키는 다른 조회와 같이 기본 URL 경로를 뺀 /api/v4/... 형태 (웹훅 무효화의 경로 비교용)
+     */
+    private String cacheKey(URI next) {
+        String basePath = URI.create(gitLabProperties.getUrl()).getRawPath();
+        String path = next.getRawPath();
+        if (basePath != null && !basePath.isEmpty() && !basePath.equals("/")) {
+            String prefix = basePath.endsWith("/") ? basePath.substring(0, basePath.length() - 1) : basePath;
+            if (path.startsWith(prefix + "/")) {
+                path = path.substring(prefix.length());
+            }
+        }
+        return next.getRawQuery() != null ? path + "?" + next.getRawQuery() : path;
+    }
+}
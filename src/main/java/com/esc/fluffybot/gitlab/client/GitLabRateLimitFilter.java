@@ -0,0 +1,335 @@
+package com.esc.fluffybot.gitlab.client;
+
+import com.esc.fluffybot.config.GitLabProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * GitLab API 호출 제한 필터
+ *
+ * GitLab 호스트마다 동시 요청 수를 AIMD로 조절합니다(성공하면 조금씩 늘리고, 429/503이면 절반으로 줄임).
+ * 응답의 RateLimit-Remaining이 바닥나면 RateLimit-Reset까지, Retry-After를 받으면 그 시간까지 새 요청을 멈춥니다.
+ * 멱등 요청(GET/HEAD/PUT/DELETE)은 429/502/503/504와 연결 오류에서 jitter를 넣은 지수 백오프로 재시도하며,
+ * Retry-After가 있으면 그 값을 따릅니다. 재시도를 다 쓰면 마지막 응답을 그대로 돌려줍니다.
+ * 동시 요청 수는 응답 헤더를 받을 때까지만 셉니다.
+ */
+@Slf4j
+@Component
+public class GitLabRateLimitFilter implements ExchangeFilterFunction {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS =
+        Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.PUT, HttpMethod.DELETE);
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 502, 503, 504);
+    // 동시에 받은 429 여러 개로 한도가 연달아 줄지 않도록 감소 사이 최소 간격
+    private static final Duration DECREASE_COOLDOWN = Duration.ofSeconds(1);
+
+    private final GitLabProperties gitLabProperties;
+    private final MeterRegistry meterRegistry;
+
+    // host -> 호스트별 한도
+    private final Map<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+
+    public GitLabRateLimitFilter(GitLabProperties gitLabProperties, MeterRegistry meterRegistry) {
+        this.gitLabProperties = gitLabProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!gitLabProperties.getRateLimit().isEnabled()) {
+            return next.exchange(request);
+        }
+
+        HostLimiter limiter = limiters.computeIfAbsent(request.url().getAuthority(), this::createLimiter);
+        return exchange(request, next, limiter, 0);
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next, HostLimiter limiter, int attempt) {
+        GitLabProperties.RateLimit rateLimit = gitLabProperties.getRateLimit();
+        boolean idempotent = IDEMPOTENT_METHODS.contains(request.method());
+
+        Mono<ClientResponse> call = Mono.defer(() -> {
+                Duration pause = limiter.pauseRemaining();
+                Mono<ClientResponse> limited = Mono.usingWhen(
+                    limiter.acquire(),
+                    permit -> next.exchange(request),
+                    permit -> Mono.fromRunnable(permit::release),
+                    (permit, e) -> Mono.fromRunnable(() -> {
+                        limiter.onFailure();
+                        permit.release();
+                    }),
+                    permit -> Mono.fromRunnable(permit::release));
+                return pause.isZero() ? limited : Mono.delay(pause).then(limited);
+            })
+            .doOnNext(limiter::onResponse);
+
+        if (!idempotent || attempt >= rateLimit.getMaxRetries()) {
+            return call;
+        }
+
+        return call
+            .flatMap(response -> {
+                if (!RETRYABLE_STATUSES.contains(response.statusCode().value())) {
+                    return Mono.just(response);
+                }
+                Duration retryAfter = retryAfter(response.headers().asHttpHeaders());
+                if (retryAfter != null && retryAfter.compareTo(rateLimit.getMaxRetryAfter()) > 0) {
+                    // 너무 오래 기다려야 하면 재시도하지 않고 호출자에게 넘김
+                    return Mono.just(response);
+                }
+                Duration delay = retryAfter != null ? retryAfter : backoff(attempt);
+                return response.releaseBody()
+                    .then(retry(request, next, limiter, attempt, delay, response.statusCode().toString()));
+            })
+            .onErrorResume(WebClientRequestException.class,
+                e -> retry(request, next, limiter, attempt, backoff(attempt), e.getMessage()));
+    }
+
+    private Mono<ClientResponse> retry(ClientRequest request, ExchangeFunction next, HostLimiter limiter,
+                                       int attempt, Duration delay, String reason) {
+        meterRegistry.counter("fluffybot.gitlab.api.retries",
+            "host", limiter.host, "method", request.method().name()).increment();
+        log.debug("Retrying GitLab API call {} {} in {} (attempt {}): {}",
+            request.method(), request.url().getPath(), delay, attempt + 1, reason);
+        return Mono.delay(delay).then(exchange(request, next, limiter, attempt + 1));
+    }
+
+    /**
+     * 지수 백오프, 0.5~1배 사이 jitter
+     */
+    private Duration backoff(int attempt) {
+        GitLabProperties.RateLimit rateLimit = gitLabProperties.getRateLimit();
+        long base = rateLimit.getMinBackoff().toMillis() << Math.min(attempt, 20);
+        long capped = Math.min(base, rateLimit.getMaxBackoff().toMillis());
+        return Duration.ofMillis((long) (capped * ThreadLocalRandom.current().nextDouble(0.5, 1.0)));
+    }
+
+    private HostLimiter createLimiter(String host) {
+        HostLimiter limiter = new HostLimiter(host, gitLabProperties.getRateLimit());
+        Gauge.builder("fluffybot.gitlab.api.concurrency.limit", limiter, HostLimiter::currentLimit)
+            .description("Current adaptive concurrency limit for GitLab API calls")
+            .tag("host", host)
+            .register(meterRegistry);
+        Gauge.builder("fluffybot.gitlab.api.inflight", limiter, HostLimiter::inFlight)
+            .description("GitLab API calls waiting for response headers")
+            .tag("host", host)
+            .register(meterRegistry);
+        return limiter;
+    }
+
+    private void throttled(String host, String reason) {
+        meterRegistry.counter("fluffybot.gitlab.api.throttled", "host", host, "reason", reason).increment();
+    }
+
+    /**
+     * Retry-After (초 또는 HTTP 날짜)
+     */
+    private static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Instant at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                Duration wait = Duration.between(Instant.now(), at);
+                return wait.isNegative() ? Duration.ZERO : wait;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private static Long headerLong(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 호스트별 AIMD 동시성 한도와 헤더 기반 일시 정지
+     */
+    private class HostLimiter {
+        private final String host;
+        private final GitLabProperties.RateLimit rateLimit;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private double limit;
+        private int inFlight;
+        private Instant pausedUntil = Instant.EPOCH;
+        private Instant decreasedAt = Instant.EPOCH;
+
+        HostLimiter(String host, GitLabProperties.RateLimit rateLimit) {
+            this.host = host;
+            this.rateLimit = rateLimit;
+            this.limit = Math.max(rateLimit.getMinLimit(), Math.min(rateLimit.getInitialLimit(), rateLimit.getMaxLimit()));
+        }
+
+        /**
+         * 자리가 나면 permit 발급, 없으면 대기열에서 기다림 (취소하면 대기열에서 빠지고, 이미 받은 permit은 반납)
+         */
+        Mono<Permit> acquire() {
+            return Mono.create(sink -> {
+                Permit permit = new Permit(this);
+                Waiter waiter = new Waiter(permit, sink);
+                sink.onCancel(() -> {
+                    synchronized (this) {
+                        permit.cancelled = true;
+                        waiters.remove(waiter);
+                    }
+                    permit.release();
+                });
+
+                synchronized (this) {
+                    if (permit.cancelled) {
+                        return;
+                    }
+                    if (!waiters.isEmpty() || inFlight >= (int) limit) {
+                        waiters.add(waiter);
+                        return;
+                    }
+                    inFlight++;
+                    permit.granted = true;
+                }
+                sink.success(permit);
+            });
+        }
+
+        void release() {
+            List<Waiter> granted = new ArrayList<>();
+            synchronized (this) {
+                inFlight--;
+                while (!waiters.isEmpty() && inFlight < (int) limit) {
+                    Waiter waiter = waiters.poll();
+                    inFlight++;
+                    waiter.permit().granted = true;
+                    granted.add(waiter);
+                }
+            }
+            granted.forEach(waiter -> waiter.sink().success(waiter.permit()));
+        }
+
+        synchronized Duration pauseRemaining() {
+            Duration remaining = Duration.between(Instant.now(), pausedUntil);
+            return remaining.isNegative() ? Duration.ZERO : remaining;
+        }
+
+        void onResponse(ClientResponse response) {
+            HttpStatusCode status = response.statusCode();
+            HttpHeaders headers = response.headers().asHttpHeaders();
+
+            if (status.value() == 429 || status.value() == 503) {
+                throttled(host, String.valueOf(status.value()));
+                decrease();
+                Duration retryAfter = retryAfter(headers);
+                if (retryAfter != null) {
+                    pauseFor(retryAfter);
+                }
+            } else {
+                increase();
+            }
+
+            Long remaining = headerLong(headers, "RateLimit-Remaining");
+            Long reset = headerLong(headers, "RateLimit-Reset");
+            if (remaining != null && reset != null && remaining <= rateLimit.getMinRemaining()) {
+                Duration untilReset = Duration.between(Instant.now(), Instant.ofEpochSecond(reset));
+                if (!untilReset.isNegative()) {
+                    throttled(host, "remaining");
+                    log.warn("GitLab rate limit nearly exhausted: host={}, remaining={}, pausing {}",
+                        host, remaining, untilReset);
+                    pauseFor(untilReset);
+                }
+            }
+        }
+
+        void onFailure() {
+            decrease();
+        }
+
+        private synchronized void pauseFor(Duration duration) {
+            Instant until = Instant.now().plus(duration);
+            if (until.isAfter(pausedUntil)) {
+                pausedUntil = until;
+            }
+        }
+
+        private synchronized void increase() {
+            limit = Math.min(rateLimit.getMaxLimit(), limit + 1 / limit);
+        }
+
+        private synchronized void decrease() {
+            Instant now = Instant.now();
+            if (decreasedAt.plus(DECREASE_COOLDOWN).isAfter(now)) {
+                return;
+            }
+            decreasedAt = now;
+            limit = Math.max(rateLimit.getMinLimit(), limit / 2);
+            log.debug("Decreased GitLab concurrency limit: host={}, limit={}", host, (int) limit);
+        }
+
+        synchronized double currentLimit() {
+            return limit;
+        }
+
+        synchronized int inFlight() {
+            return inFlight;
+        }
+    }
+
+    /**
+     * 한 번만 반납되는 동시 요청 자리 (완료와 취소가 겹쳐도 두 번 반납하지 않음)
+     * granted/cancelled는 HostLimiter 잠금 안에서 바뀜
+     */
+    private static class Permit {
+        private final HostLimiter limiter;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean granted;
+        private boolean cancelled;
+
+        Permit(HostLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        void release() {
+            if (granted && released.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        }
+    }
+
+    private record Waiter(Permit permit, MonoSink<Permit> sink) {
+    }
+}
@@ -0,0 +1,301 @@
+package com.esc.fluffybot.gitlab.client;
+
+import com.esc.fluffybot.config.GitLabProperties;
+import com.esc.fluffybot.gitlab.exception.GitLabApiException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * GitLab 조회 응답 캐시
+ *
+ * 응답 본문을 ETag/Last-Modified(목록이면 Link도)와 함께 보관하고, TTL 안에서는 요청 없이 돌려줍니다.
+ * TTL이 지나면 If-None-Match(If-Modified-Since)로 재검증하여 304면 본문을 다시 받지 않습니다.
+ * 총 본문 크기가 상한을 넘으면 가장 오래 쓰지 않은 응답부터 제거하고,
+ * 웹훅으로 이슈/MR/위키 변경을 받으면 해당 객체의 응답을 바로 버립니다.
+ * 호출자가 결과를 바꿔도 캐시가 오염되지 않도록 매번 본문을 새로 역직렬화합니다.
+ * 같은 URI를 동시에 조회하면 요청은 하나만 보내고 본문을 함께 받습니다(single-flight).
+ * 무효화 이후의 조회는 무효화 전에 보낸 요청에 합류하지 않고 새로 요청합니다.
+ * 한 구독자가 취소해도 다른 구독자가 남아 있으면 요청은 계속되고, 모두 취소하면 요청도 취소됩니다.
+ */
+@Slf4j
+@Component
+public class GitLabResponseCache {
+
+    private final WebClient gitLabWebClient;
+    private final GitLabProperties gitLabProperties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // URI -> 응답 (접근 순서, 가장 오래 쓰지 않은 것이 앞)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+    // 무효화마다 증가, 요청 중에 무효화된 응답은 저장하지 않음
+    private final AtomicLong generation = new AtomicLong();
+
+    // 진행 중인 요청 (URI -> 공유 응답)
+    private final Map<String, Mono<Entry>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public GitLabResponseCache(WebClient gitLabWebClient,
+                               GitLabProperties gitLabProperties,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.gitLabWebClient = gitLabWebClient;
+        this.gitLabProperties = gitLabProperties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("fluffybot.gitlab.cache.bytes", this, GitLabResponseCache::size)
+            .description("Response bytes held by the GitLab response cache")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("fluffybot.gitlab.singleflight.ratio", this, GitLabResponseCache::coalescingRatio)
+            .description("Share of GitLab reads served by joining an identical in-flight request")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 캐시를 거쳐 GET 조회
+     *
+     * @param endpoint     메트릭 태그 (예: issue, wiki_page)
+     * @param uri          요청 URI (캐시 키)
+     * @param type         응답 타입
+     * @param errorMessage 4xx/5xx일 때 GitLabApiException 메시지 앞부분
+     */
+    public <T> Mono<T> get(String endpoint, String uri, ParameterizedTypeReference<T> type, String errorMessage) {
+        JavaType javaType = objectMapper.getTypeFactory().constructType(type.getType());
+        return fetch(endpoint, uri, null, errorMessage)
+            .map(Entry::body)
+            .filter(body -> body.length > 0)
+            .map(body -> decode(body, javaType));
+    }
+
+    /**
+     * 목록 한 페이지 조회, 다음 페이지를 찾을 수 있도록 Link 헤더를 함께 돌려줌
+     *
+     * @param uri    캐시 키 (기본 URL을 뺀 경로와 쿼리)
+     * @param target 요청할 절대 URI (Link 헤더에서 받은 다음 페이지 주소처럼 이미 인코딩된 경우), 없으면 uri로 요청
+     */
+    <T> Mono<GitLabPage<T>> getPage(String endpoint, String uri, URI target, Class<T> itemType, String errorMessage) {
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, itemType);
+        return fetch(endpoint, uri, target, errorMessage)
+            .map(entry -> new GitLabPage<T>(
+                entry.body().length > 0 ? decode(entry.body(), listType) : List.of(),
+                entry.link()));
+    }
+
+    public void invalidateIssue(Long projectId, Long issueIid) {
+        invalidate(String.format("/api/v4/projects/%d/issues/%d", projectId, issueIid));
+    }
+
+    /**
+     * MR 본문과 하위 목록
+     */
+    public void invalidateMergeRequest(Long projectId, Long mrIid) {
+        invalidate(String.format("/api/v4/projects/%d/merge_requests/%d", projectId, mrIid));
+    }
+
+    /**
+     * 위키 목록과 모든 페이지
+     */
+    public void invalidateWiki(Long projectId) {
+        invalidate(String.format("/api/v4/projects/%d/wikis", projectId));
+    }
+
+    public void invalidateIssueNotes(Long projectId, Long issueIid) {
+        invalidate(String.format("/api/v4/projects/%d/issues/%d/notes", projectId, issueIid));
+    }
+
+    public void invalidateMergeRequestNotes(Long projectId, Long mrIid) {
+        invalidate(String.format("/api/v4/projects/%d/merge_requests/%d/notes", projectId, mrIid));
+    }
+
+    private Mono<Entry> fetch(String endpoint, String uri, URI target, String errorMessage) {
+        GitLabProperties.Cache cache = gitLabProperties.getCache();
+        return Mono.defer(() -> {
+            Entry cached = cache.isEnabled() ? lookup(uri) : null;
+            if (cached != null && cached.storedAt().plus(cache.getTtl()).isAfter(Instant.now())) {
+                count(endpoint, "hit");
+                return Mono.just(cached);
+            }
+            return singleFlight(endpoint, uri, () -> request(endpoint, uri, target, cached, errorMessage));
+        });
+    }
+
+    /**
+     * 같은 URI의 요청이 진행 중이면 그 결과를 함께 받음
+     * share()는 구독자가 모두 취소할 때만 원본 요청을 취소하고, 끝나면(취소 포함) 맵에서 제거됨
+     */
+    private Mono<Entry> singleFlight(String endpoint, String uri, Supplier<Mono<Entry>> request) {
+        AtomicReference<Mono<Entry>> created = new AtomicReference<>();
+        Mono<Entry> flight = inFlight.computeIfAbsent(uri, key -> {
+            Mono<Entry> shared = request.get()
+                .doFinally(signal -> inFlight.remove(key, created.get()))
+                .share();
+            created.set(shared);
+            return shared;
+        });
+
+        boolean leader = flight == created.get();
+        (leader ? issued : coalesced).incrementAndGet();
+        meterRegistry.counter("fluffybot.gitlab.singleflight", "endpoint", endpoint,
+            "result", leader ? "issued" : "coalesced").increment();
+        return flight;
+    }
+
+    private Mono<Entry> request(String endpoint, String uri, URI target, Entry cached, String errorMessage) {
+        long requestedAt = generation.get();
+        WebClient.RequestHeadersSpec<?> spec = target != null
+            ? gitLabWebClient.get().uri(target)
+            : gitLabWebClient.get().uri(uri);
+
+        return spec
+            .headers(headers -> {
+                if (cached == null) {
+                    return;
+                }
+                if (cached.etag() != null) {
+                    headers.set(HttpHeaders.IF_NONE_MATCH, cached.etag());
+                } else if (cached.lastModified() != null) {
+                    headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+                }
+            })
+            .exchangeToMono(response -> {
+                if (response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && cached != null) {
+                    count(endpoint, "revalidated");
+                    return response.releaseBody()
+                        .then(Mono.fromSupplier(() -> {
+                            Entry refreshed = cached.refreshed();
+                            store(uri, refreshed, requestedAt);
+                            return refreshed;
+                        }));
+                }
+
+                if (response.statusCode().is4xxClientError() || response.statusCode().is5xxServerError()) {
+                    return response.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .flatMap(body -> {
+                            log.error("GitLab API error: status={}, body={}", response.statusCode(), body);
+                            return Mono.error(new GitLabApiException(errorMessage + ": " + response.statusCode()));
+                        });
+                }
+
+                count(endpoint, "miss");
+                HttpHeaders headers = response.headers().asHttpHeaders();
+                return response.bodyToMono(byte[].class)
+                    .defaultIfEmpty(new byte[0])
+                    .map(body -> new Entry(body, headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED),
+                        headers.getFirst(HttpHeaders.LINK), Instant.now()))
+                    .doOnNext(entry -> {
+                        if (gitLabProperties.getCache().isEnabled()) {
+                            store(uri, entry, requestedAt);
+                        }
+                    });
+            });
+    }
+
+    private synchronized Entry lookup(String uri) {
+        return entries.get(uri);
+    }
+
+    private synchronized void store(String uri, Entry entry, long requestedAt) {
+        if (generation.get() != requestedAt) {
+            // 요청하는 동안 무효화됨, 이미 바뀌었을 수 있는 응답이므로 다음 조회에서 다시 받음
+            return;
+        }
+
+        long maxBytes = gitLabProperties.getCache().getMaxSize().toBytes();
+        if (entry.body().length > maxBytes) {
+            return;
+        }
+
+        Entry previous = entries.put(uri, entry);
+        if (previous != null) {
+            totalBytes -= previous.body().length;
+        }
+        totalBytes += entry.body().length;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().body().length;
+            eldest.remove();
+            meterRegistry.counter("fluffybot.gitlab.cache.evictions").increment();
+        }
+    }
+
+    /**
+     * prefix와 같거나 prefix 하위 경로인 응답 제거
+     * 진행 중인 요청도 맵에서 빼서, 이미 합류한 구독자는 그대로 받고 이후 조회는 새로 요청하게 함
+     */
+    private synchronized void invalidate(String prefix) {
+        generation.incrementAndGet();
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> entry = iterator.next();
+            String uri = entry.getKey();
+            if (matches(uri, prefix)) {
+                totalBytes -= entry.getValue().body().length;
+                iterator.remove();
+                log.debug("Invalidated cached GitLab response {}", uri);
+            }
+        }
+        inFlight.keySet().removeIf(uri -> matches(uri, prefix));
+    }
+
+    /**
+     * /issues/1이 /issues/12에 맞지 않도록 경계 확인
+     */
+    private static boolean matches(String uri, String prefix) {
+        return uri.equals(prefix) || uri.startsWith(prefix + "/") || uri.startsWith(prefix + "?");
+    }
+
+    private synchronized long size() {
+        return totalBytes;
+    }
+
+    private double coalescingRatio() {
+        long total = issued.get() + coalesced.get();
+        return total > 0 ? (double) coalesced.get() / total : 0;
+    }
+
+    private void count(String endpoint, String result) {
+        meterRegistry.counter("fluffybot.gitlab.cache.requests", "endpoint", endpoint, "result", result).increment();
+    }
+
+    private <T> T decode(byte[] body, JavaType type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode GitLab response: " + e.getMessage(), e);
+        }
+    }
+
+    private record Entry(byte[] body, String etag, String lastModified, String link, Instant storedAt) {
+
+        Entry refreshed() {
+            return new Entry(body, etag, lastModified, link, Instant.now());
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.esc.fluffybot.gitlab.client;
 
+import com.esc.fluffybot.config.GitLabProperties;
+import com.esc.fluffybot.gitlab.dto.GitLabWikiPage;
 import com.esc.fluffybot.gitlab.exception.GitLabApiException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -22,35 +25,24 @@ import java.util.Map;
 public class GitLabWikiClient {
 
     private final WebClient gitLabWebClient;
+    private final GitLabResponseCache responseCache;
+    private final GitLabPaginator paginator;
+    private final GitLabProperties gitLabProperties;
 
     /**
-     * 프로젝트의 모든 위키 페이지 목록 조회
+     * 프로젝트의 모든 위키 페이지 목록 조회 (페이지 순회)
      *
      * @param projectId GitLab 프로젝트 ID
      * @return 위키 페이지 목록 (slug, title 포함)
      */
-    public Mono<List<Map<String, Object>>> listWikiPages(Long projectId) {
+    public Flux<GitLabWikiPage> listWikiPages(Long projectId) {
         String uri = String.format("/api/v4/projects/%d/wikis", projectId);
 
-        return gitLabWebClient.get()
-            .uri(uri)
-            .retrieve()
-            .onStatus(
-                status -> status.is4xxClientError() || status.is5xxServerError(),
-                response -> response.bodyToMono(String.class)
-                    .flatMap(body -> {
-                        log.error("GitLab API error: status={}, body={}", response.statusCode(), body);
-                        return Mono.error(new GitLabApiException(
-                            "Failed to list wiki pages: " + response.statusCode()
-                        ));
-                    })
-            )
-            .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
-            .doOnSuccess(pages -> log.debug("Retrieved {} wiki pages for project={}",
-                pages != null ? pages.size() : 0, projectId))
+        return paginator.list("wiki_list", uri, GitLabWikiPage.class, "Failed to list wiki pages")
+            .doOnComplete(() -> log.debug("Retrieved wiki pages for project={}", projectId))
             .onErrorResume(e -> {
                 log.error("Failed to list wiki pages: {}", e.getMessage());
-                return Mono.just(List.of());
+                return Flux.empty();
             });
     }
 
@@ -61,23 +53,11 @@ public class GitLabWikiClient {
      * @param slug 위키 페이지 slug (URL-safe 제목)
      * @return 위키 페이지 정보 (content, title, format 포함)
      */
-    public Mono<Map<String, Object>> getWikiPage(Long projectId, String slug) {
+    public Mono<GitLabWikiPage> getWikiPage(Long projectId, String slug) {
         String uri = String.format("/api/v4/projects/%d/wikis/%s", projectId, slug);
 
-        return gitLabWebClient.get()
-            .uri(uri)
-            .retrieve()
-            .onStatus(
-                status -> status.is4xxClientError() || status.is5xxServerError(),
-                response -> response.bodyToMono(String.class)
-                    .flatMap(body -> {
-                        log.error("GitLab API error: status={}, body={}", response.statusCode(), body);
-                        return Mono.error(new GitLabApiException(
-                            "Failed to get wiki page: " + response.statusCode()
-                        ));
-                    })
-            )
-            .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+        return responseCache.get("wiki_page", uri, new ParameterizedTypeReference<GitLabWikiPage>() {},
+                "Failed to get wiki page")
             .doOnSuccess(page -> log.debug("Retrieved wiki page: project={}, slug={}", projectId, slug))
             .onErrorResume(e -> {
                 log.warn("Failed to get wiki page {}: {}", slug, e.getMessage());
@@ -94,7 +74,7 @@ public class GitLabWikiClient {
      * @param format 내용 형식 (기본값: markdown)
      * @return 생성된 위키 페이지 정보
      */
-    public Mono<Map<String, Object>> createWikiPage(
+    public Mono<GitLabWikiPage> createWikiPage(
             Long projectId,
             String title,
             String content,
@@ -122,8 +102,11 @@ public class GitLabWikiClient {
                         ));
                     })
             )
-            .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-            .doOnSuccess(page -> log.info("Created wiki page: project={}, title={}", projectId, title))
+            .bodyToMono(GitLabWikiPage.class)
+            .doOnSuccess(page -> {
+                responseCache.invalidateWiki(projectId);
+                log.info("Created wiki page: project={}, title={}", projectId, title);
+            })
             .onErrorResume(e -> {
                 log.error("Failed to create wiki page: {}", e.getMessage());
                 return Mono.empty();
@@ -140,7 +123,7 @@ public class GitLabWikiClient {
      * @param format 내용 형식 (기본값: markdown)
      * @return 수정된 위키 페이지 정보
      */
-    public Mono<Map<String, Object>> updateWikiPage(
+    public Mono<GitLabWikiPage> updateWikiPage(
             Long projectId,
             String slug,
             String title,
@@ -177,8 +160,11 @@ public class GitLabWikiClient {
                         ));
                     })
             )
-            .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-            .doOnSuccess(page -> log.info("Updated wiki page: project={}, slug={}", projectId, slug))
+            .bodyToMono(GitLabWikiPage.class)
+            .doOnSuccess(page -> {
+                responseCache.invalidateWiki(projectId);
+                log.info("Updated wiki page: project={}, slug={}", projectId, slug);
+            })
             .onErrorResume(e -> {
                 log.error("Failed to update wiki page: {}", e.getMessage());
                 return Mono.empty();
@@ -194,6 +180,7 @@ public class GitLabWikiClient {
      */
     public Mono<String> getWikiContext(Long projectId) {
         return listWikiPages(projectId)
+            .collectList()
             .flatMap(pages -> {
                 if (pages.isEmpty()) {
                     log.warn("No wiki pages found for project={}", projectId);
@@ -202,7 +189,7 @@ public class GitLabWikiClient {
 
                 // 각 페이지의 slug 추출
                 List<String> slugs = pages.stream()
-                    .map(page -> (String) page.get("slug"))
+                    .map(GitLabWikiPage::getSlug)
                     .filter(slug -> slug != null && !slug.isEmpty())
                     .toList();
 
@@ -213,36 +200,36 @@ public class GitLabWikiClient {
 
     /**
      * 여러 위키 페이지의 내용을 병렬로 조회하여 하나의 문자열로 결합
+     * 페이지가 많아도 한 번에 wikiFanOut개까지만 조회하고, 결과는 목록 순서대로 붙입니다.
      */
     private Mono<String> fetchAllPageContents(Long projectId, List<String> slugs) {
         if (slugs.isEmpty()) {
             return Mono.just("");
         }
 
-        return Mono.zip(
-            slugs.stream()
-                .map(slug -> getWikiPage(projectId, slug)
+        return Flux.fromIterable(slugs)
+            .flatMapSequential(slug -> getWikiPage(projectId, slug)
                     .map(page -> formatWikiPageForContext(page))
-                    .defaultIfEmpty(""))
-                .toList(),
-            results -> {
+                    .defaultIfEmpty(""),
+                Math.max(1, gitLabProperties.getRateLimit().getWikiFanOut()))
+            .collectList()
+            .map(results -> {
                 StringBuilder context = new StringBuilder("# 프로젝트 위키\n\n");
-                for (Object result : results) {
-                    if (result != null && !result.toString().isEmpty()) {
-                        context.append(result.toString()).append("\n---\n\n");
+                for (String result : results) {
+                    if (!result.isEmpty()) {
+                        context.append(result).append("\n---\n\n");
                     }
                 }
                 return context.toString();
-            }
-        );
+            });
     }
 
     /**
      * 위키 페이지 정보를 컨텍스트용 포맷으로 변환
      */
-    private String formatWikiPageForContext(Map<String, Object> page) {
-        String title = (String) page.get("title");
-        String content = (String) page.get("content");
+    private String formatWikiPageForContext(GitLabWikiPage page) {
+        String title = page.getTitle();
+        String content = page.getContent();
 
         if (title == null || content == null) {
             return "";
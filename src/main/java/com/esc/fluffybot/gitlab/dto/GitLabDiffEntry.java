@@ -0,0 +1,37 @@
+package com.esc.fluffybot.gitlab.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * MR 변경 파일 하나의 diff
+ */
+@Data
+@NoArgsConstructor
+public class GitLabDiffEntry {
+
+    @JsonProperty("old_path")
+    private String oldPath;
+
+    @JsonProperty("new_path")
+    private String newPath;
+
+    private String diff;
+
+    @JsonProperty("new_file")
+    private boolean newFile;
+
+    @JsonProperty("renamed_file")
+    private boolean renamedFile;
+
+    @JsonProperty("deleted_file")
+    private boolean deletedFile;
+
+    /**
+     * 변경 전후 어느 쪽 경로든 일치하면 true
+     */
+    public boolean touches(String path) {
+        return path != null && (path.equals(newPath) || path.equals(oldPath));
+    }
+}
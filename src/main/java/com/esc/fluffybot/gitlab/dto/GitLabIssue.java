@@ -0,0 +1,28 @@
+package com.esc.fluffybot.gitlab.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * GitLab 이슈 조회 응답 (사용하는 필드만)
+ */
+@Data
+@NoArgsConstructor
+public class GitLabIssue {
+    private Long id;
+    private Long iid;
+
+    @JsonProperty("project_id")
+    private Long projectId;
+
+    private String title;
+    private String description;
+    private String state;
+    private List<String> labels;
+
+    @JsonProperty("web_url")
+    private String webUrl;
+}
@@ -0,0 +1,31 @@
+package com.esc.fluffybot.gitlab.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * GitLab MR 조회/생성 응답 (사용하는 필드만)
+ */
+@Data
+@NoArgsConstructor
+public class GitLabMergeRequest {
+    private Long id;
+    private Long iid;
+
+    @JsonProperty("project_id")
+    private Long projectId;
+
+    private String title;
+    private String description;
+    private String state;
+
+    @JsonProperty("source_branch")
+    private String sourceBranch;
+
+    @JsonProperty("target_branch")
+    private String targetBranch;
+
+    @JsonProperty("web_url")
+    private String webUrl;
+}
@@ -0,0 +1,31 @@
+package com.esc.fluffybot.gitlab.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * GitLab 코멘트(note) 조회/생성 응답
+ */
+@Data
+@NoArgsConstructor
+public class GitLabNote {
+    private Long id;
+    private String body;
+    private boolean system;
+    private Author author;
+
+    @JsonProperty("noteable_type")
+    private String noteableType;
+
+    @JsonProperty("created_at")
+    private String createdAt;
+
+    @Data
+    @NoArgsConstructor
+    public static class Author {
+        private Long id;
+        private String username;
+        private String name;
+    }
+}
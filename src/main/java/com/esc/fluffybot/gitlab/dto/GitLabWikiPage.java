@@ -0,0 +1,16 @@
+package com.esc.fluffybot.gitlab.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * GitLab 위키 페이지 (목록 조회에서는 content가 없음)
+ */
+@Data
+@NoArgsConstructor
+public class GitLabWikiPage {
+    private String slug;
+    private String title;
+    private String format;
+    private String content;
+}
@@ -1,22 +1,35 @@
 package com.esc.fluffybot.webhook.controller;
 
 import com.esc.fluffybot.config.GitLabProperties;
+import com.esc.fluffybot.gitlab.client.GitLabResponseCache;
 import com.esc.fluffybot.webhook.dto.GitLabWebhookPayload;
 import com.esc.fluffybot.webhook.dto.MergeRequestHookPayload;
 import com.esc.fluffybot.webhook.dto.MergeRequestNotePayload;
 import com.esc.fluffybot.webhook.dto.NoteHookPayload;
+import com.esc.fluffybot.webhook.dto.PushHookPayload;
+import com.esc.fluffybot.webhook.dto.WebhookEnvelope;
 import com.esc.fluffybot.webhook.dto.WebhookResponse;
-import com.esc.fluffybot.webhook.handler.MergeRequestEventHandler;
-import com.esc.fluffybot.webhook.handler.MergeRequestNoteHandler;
-import com.esc.fluffybot.webhook.handler.NoteHookHandler;
+import com.esc.fluffybot.webhook.exception.AdmissionRejectedException;
+import com.esc.fluffybot.webhook.exception.WebhookPayloadException;
+import com.esc.fluffybot.webhook.journal.IngestJournal;
+import com.esc.fluffybot.webhook.journal.JournalEntry;
+import com.esc.fluffybot.webhook.model.WebhookEventKind;
+import com.esc.fluffybot.webhook.service.WebhookAdmissionService;
+import com.esc.fluffybot.webhook.service.WebhookDeduplicationService;
+import com.esc.fluffybot.webhook.service.WebhookDispatcher;
+import com.esc.fluffybot.webhook.service.WebhookPayloadDecoder;
 import com.esc.fluffybot.webhook.service.WebhookValidationService;
-import com.esc.fluffybot.worker.service.WorkerService;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.esc.fluffybot.worker.service.GitMirrorService;
+import com.esc.fluffybot.worker.service.WorkspaceClaimService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -27,26 +40,51 @@ import reactor.core.scheduler.Schedulers;
 public class GitLabWebhookController {
 
     private final WebhookValidationService validationService;
-    private final WorkerService workerService;
-    private final NoteHookHandler noteHookHandler;
-    private final MergeRequestNoteHandler mrNoteHandler;
-    private final MergeRequestEventHandler mrEventHandler;
     private final GitLabProperties gitLabProperties;
-    private final ObjectMapper objectMapper;
+    private final WebhookPayloadDecoder payloadDecoder;
+    private final IngestJournal journal;
+    private final WebhookDispatcher dispatcher;
+    private final WebhookAdmissionService admissionService;
+    private final WebhookDeduplicationService deduplicationService;
+    private final GitMirrorService gitMirrorService;
+    private final WorkspaceClaimService workspaceClaimService;
+    private final GitLabResponseCache responseCache;
 
     @PostMapping("/gitlab")
     public Mono<ResponseEntity<WebhookResponse>> handleGitLabWebhook(
-            @RequestBody JsonNode payload) {
+            @RequestHeader(value = "X-Gitlab-Event-UUID", required = false) String eventUuid,
+            @RequestBody Flux<DataBuffer> body) {
+
+        return payloadDecoder.decode(body)
+            .doOnNext(envelope -> envelope.setEventUuid(eventUuid))
+            .flatMap(this::route)
+            .switchIfEmpty(Mono.fromSupplier(() -> ResponseEntity.ok(
+                WebhookResponse.ignored("Empty payload")
+            )))
+            .onErrorResume(DataBufferLimitException.class, e -> {
+                log.warn("Rejected oversized webhook payload: {}", e.getMessage());
+                return Mono.just(ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(
+                    WebhookResponse.ignored("Payload too large")
+                ));
+            })
+            .onErrorResume(WebhookPayloadException.class, e -> {
+                log.error("Failed to parse webhook payload: {}", e.getMessage());
+                return Mono.just(ResponseEntity.ok(
+                    WebhookResponse.ignored("Failed to parse payload")
+                ));
+            });
+    }
 
-        String objectKind = payload.has("object_kind") ? payload.get("object_kind").asText() : "";
+    private Mono<ResponseEntity<WebhookResponse>> route(WebhookEnvelope envelope) {
+        String objectKind = envelope.getObjectKind() != null ? envelope.getObjectKind() : "";
 
         log.debug("Received webhook: objectKind={}", objectKind);
 
+        // 봇 자신의 변경도 캐시된 응답을 바꾸므로 무시 여부와 관계없이 무효화
+        invalidateCachedResponses(objectKind, envelope);
+
         // Check if event is from fluffybot itself (prevent infinite loops)
-        String username = payload.has("user") && payload.get("user").has("username")
-            ? payload.get("user").get("username").asText()
-            : "";
-        if (gitLabProperties.getBotUsername().equals(username)) {
+        if (gitLabProperties.getBotUsername().equals(envelope.getUsername())) {
             log.debug("Ignoring event from fluffybot itself");
             return Mono.just(ResponseEntity.ok(
                 WebhookResponse.ignored("Event from bot itself")
@@ -55,11 +93,13 @@ public class GitLabWebhookController {
 
         // Route to appropriate handler based on object_kind
         if ("note".equals(objectKind)) {
-            return handleNoteHook(payload);
+            return handleNoteHook(envelope);
         } else if ("issue".equals(objectKind)) {
-            return handleIssueHook(payload);
+            return handleIssueHook(envelope);
         } else if ("merge_request".equals(objectKind)) {
-            return handleMergeRequestHook(payload);
+            return handleMergeRequestHook(envelope);
+        } else if ("push".equals(objectKind) || "tag_push".equals(objectKind)) {
+            return handlePushHook(envelope);
         } else {
             log.debug("Unsupported webhook type: {}", objectKind);
             return Mono.just(ResponseEntity.ok(
@@ -68,47 +108,62 @@ public class GitLabWebhookController {
         }
     }
 
-    private Mono<ResponseEntity<WebhookResponse>> handleNoteHook(JsonNode payload) {
+    private void invalidateCachedResponses(String objectKind, WebhookEnvelope envelope) {
+        Long projectId = envelope.getProjectId();
+        if (projectId == null) {
+            return;
+        }
+        switch (objectKind) {
+            case "issue" -> {
+                if (envelope.getObjectIid() != null) {
+                    responseCache.invalidateIssue(projectId, envelope.getObjectIid());
+                }
+            }
+            case "merge_request" -> {
+                if (envelope.getObjectIid() != null) {
+                    responseCache.invalidateMergeRequest(projectId, envelope.getObjectIid());
+                }
+            }
+            case "wiki_page" -> responseCache.invalidateWiki(projectId);
+            case "note" -> {
+                if (envelope.getNoteableIid() == null) {
+                    return;
+                }
+                if ("Issue".equals(envelope.getNoteableType())) {
+                    responseCache.invalidateIssueNotes(projectId, envelope.getNoteableIid());
+                } else if ("MergeRequest".equals(envelope.getNoteableType())) {
+                    responseCache.invalidateMergeRequestNotes(projectId, envelope.getNoteableIid());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private Mono<ResponseEntity<WebhookResponse>> handleNoteHook(WebhookEnvelope envelope) {
         try {
             // Check noteable_type to determine if it's an issue or MR comment
-            String noteableType = payload.has("object_attributes") &&
-                                  payload.get("object_attributes").has("noteable_type")
-                ? payload.get("object_attributes").get("noteable_type").asText()
-                : "";
+            String noteableType = envelope.getNoteableType() != null ? envelope.getNoteableType() : "";
 
             if ("Issue".equals(noteableType)) {
                 // Handle issue comment
-                NoteHookPayload notePayload = objectMapper.treeToValue(payload, NoteHookPayload.class);
+                NoteHookPayload notePayload = payloadDecoder.bind(envelope, NoteHookPayload.class);
 
                 log.info("Processing issue note hook for project={}, issue={}",
                     notePayload.getProject().getId(),
                     notePayload.getIssue().getIid());
 
-                noteHookHandler.handleComment(notePayload)
-                    .subscribeOn(Schedulers.boundedElastic())
-                    .doOnError(error -> log.error("Failed to handle comment: {}", error.getMessage()))
-                    .subscribe();
-
-                return Mono.just(ResponseEntity.ok(
-                    WebhookResponse.accepted("Issue comment processing started")
-                ));
+                return accept(WebhookEventKind.NOTE, envelope, notePayload, "Issue comment processing started");
 
             } else if ("MergeRequest".equals(noteableType)) {
                 // Handle MR comment (including line comments)
-                MergeRequestNotePayload mrPayload = objectMapper.treeToValue(payload, MergeRequestNotePayload.class);
+                MergeRequestNotePayload mrPayload = payloadDecoder.bind(envelope, MergeRequestNotePayload.class);
 
                 log.info("Processing MR note hook for project={}, MR={}",
                     mrPayload.getProject().getId(),
                     mrPayload.getMergeRequest().getIid());
 
-                mrNoteHandler.handleLineComment(mrPayload)
-                    .subscribeOn(Schedulers.boundedElastic())
-                    .doOnError(error -> log.error("Failed to handle MR comment: {}", error.getMessage()))
-                    .subscribe();
-
-                return Mono.just(ResponseEntity.ok(
-                    WebhookResponse.accepted("MR comment processing started")
-                ));
+                return accept(WebhookEventKind.MR_NOTE, envelope, mrPayload, "MR comment processing started");
 
             } else {
                 log.debug("Unsupported noteable type: {}", noteableType);
@@ -125,13 +180,22 @@ public class GitLabWebhookController {
         }
     }
 
-    private Mono<ResponseEntity<WebhookResponse>> handleIssueHook(JsonNode payload) {
+    private Mono<ResponseEntity<WebhookResponse>> handleIssueHook(WebhookEnvelope envelope) {
         try {
-            GitLabWebhookPayload issuePayload = objectMapper.treeToValue(payload, GitLabWebhookPayload.class);
+            GitLabWebhookPayload issuePayload = payloadDecoder.bind(envelope, GitLabWebhookPayload.class);
 
             log.debug("Issue action={}",
                 issuePayload.getObjectAttributes() != null ? issuePayload.getObjectAttributes().getAction() : "null");
 
+            // 닫힌 이슈의 영구 작업 공간은 봇 할당 여부와 관계없이 정리
+            if (issuePayload.isCloseAction() && issuePayload.getProject() != null) {
+                Long closedProjectId = issuePayload.getProject().getId();
+                Long closedIssueIid = issuePayload.getIssueIid();
+                Mono.fromRunnable(() -> workspaceClaimService.release(closedProjectId, closedIssueIid, "closed"))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .subscribe();
+            }
+
             String validationError = validationService.validate(issuePayload);
             if (validationError != null) {
                 log.debug("Webhook ignored: {}", validationError);
@@ -147,21 +211,13 @@ public class GitLabWebhookController {
                 ));
             }
 
-            String taskDescription = issuePayload.getTaskDescription();
             Long projectId = issuePayload.getProject().getId();
             Long issueIid = issuePayload.getIssueIid();
 
             log.info("Processing task for project={}, issue={}", projectId, issueIid);
 
-            workerService.createWorkerPod(issuePayload, taskDescription)
-                .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(podName -> log.info("Worker pod created: {}", podName))
-                .doOnError(error -> log.error("Failed to create worker pod: {}", error.getMessage()))
-                .subscribe();
-
-            return Mono.just(ResponseEntity.ok(
-                WebhookResponse.accepted("Task accepted and worker pod is being created")
-            ));
+            return accept(WebhookEventKind.ISSUE, envelope, issuePayload,
+                "Task accepted and worker pod is being created");
 
         } catch (Exception e) {
             log.error("Failed to parse issue hook payload: {}", e.getMessage());
@@ -171,9 +227,9 @@ public class GitLabWebhookController {
         }
     }
 
-    private Mono<ResponseEntity<WebhookResponse>> handleMergeRequestHook(JsonNode payload) {
+    private Mono<ResponseEntity<WebhookResponse>> handleMergeRequestHook(WebhookEnvelope envelope) {
         try {
-            MergeRequestHookPayload mrPayload = objectMapper.treeToValue(payload, MergeRequestHookPayload.class);
+            MergeRequestHookPayload mrPayload = payloadDecoder.bind(envelope, MergeRequestHookPayload.class);
 
             log.debug("MR state={}, action={}",
                 mrPayload.getObjectAttributes() != null ? mrPayload.getObjectAttributes().getState() : "null",
@@ -192,24 +248,100 @@ public class GitLabWebhookController {
 
             log.info("Processing MR merge event for project={}, MR={}", projectId, mrIid);
 
-            mrEventHandler.handleMergeEvent(mrPayload)
-                .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(v -> log.info("MR merge event processed successfully"))
-                .doOnError(error -> log.error("Failed to handle MR merge event: {}", error.getMessage()))
-                .subscribe();
+            if (mrPayload.getProject() != null) {
+                gitMirrorService.refresh(projectId, mrPayload.getProject().getPathWithNamespace());
+            }
+
+            return accept(WebhookEventKind.MERGE, envelope, mrPayload, "MR merge event processing started");
+
+        } catch (Exception e) {
+            log.error("Failed to parse MR hook payload: {}", e.getMessage());
+            return Mono.just(ResponseEntity.ok(
+                WebhookResponse.ignored("Failed to parse payload")
+            ));
+        }
+    }
+
+    /**
+     * push 이벤트는 mirror 갱신만 요청 (저널/디스패처를 거치지 않음)
+     * 갱신이 누락되어도 Worker가 clone 시 원격에서 나머지를 받으므로 다음 push 때 따라잡으면 됨
+     */
+    private Mono<ResponseEntity<WebhookResponse>> handlePushHook(WebhookEnvelope envelope) {
+        if (!gitMirrorService.isEnabled()) {
+            return Mono.just(ResponseEntity.ok(
+                WebhookResponse.ignored("Git mirror disabled")
+            ));
+        }
+
+        try {
+            PushHookPayload pushPayload = payloadDecoder.bind(envelope, PushHookPayload.class);
+            if (pushPayload.getProject() == null) {
+                return Mono.just(ResponseEntity.ok(
+                    WebhookResponse.ignored("Missing project")
+                ));
+            }
 
+            log.debug("Push to {} on project={}", pushPayload.getRef(), pushPayload.getProjectId());
+            gitMirrorService.refresh(pushPayload.getProjectId(), pushPayload.getProject().getPathWithNamespace());
             return Mono.just(ResponseEntity.ok(
-                WebhookResponse.accepted("MR merge event processing started")
+                WebhookResponse.accepted("Mirror refresh scheduled")
             ));
 
         } catch (Exception e) {
-            log.error("Failed to parse MR hook payload: {}", e.getMessage());
+            log.error("Failed to parse push hook payload: {}", e.getMessage());
             return Mono.just(ResponseEntity.ok(
                 WebhookResponse.ignored("Failed to parse payload")
             ));
         }
     }
 
+    /**
+     * 중복이 아니면 처리 슬롯을 얻은 뒤 이벤트를 저널에 기록하고 디스패처에 넘김
+     * 슬롯을 얻지 못하면 429 + Retry-After로, 저널 기록 또는 대기열 추가에 실패하면 503으로 응답하여
+     * GitLab이 재전송하도록 함 (이 경우 재전송이 중복으로 걸러지지 않도록 키를 해제)
+     */
+    private Mono<ResponseEntity<WebhookResponse>> accept(
+            WebhookEventKind kind, WebhookEnvelope envelope, Object payload, String message) {
+
+        String idempotencyKey = envelope.getIdempotencyKey();
+        if (!deduplicationService.claim(idempotencyKey)) {
+            return Mono.just(ResponseEntity.ok(
+                WebhookResponse.ignored("Duplicate event")
+            ));
+        }
+
+        return admissionService.acquire(kind, envelope.getProjectId())
+            .map(permit -> {
+                JournalEntry entry;
+                try {
+                    entry = journal.append(kind, envelope.getBody());
+                } catch (Exception e) {
+                    permit.release();
+                    deduplicationService.release(idempotencyKey);
+                    log.error("Failed to journal {} webhook: {}", kind, e.getMessage());
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(
+                        WebhookResponse.rejected("Failed to persist webhook")
+                    );
+                }
+
+                if (!dispatcher.submit(entry, payload, permit)) {
+                    deduplicationService.release(idempotencyKey);
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(
+                        WebhookResponse.rejected("Webhook queue is full")
+                    );
+                }
+
+                return ResponseEntity.ok(WebhookResponse.accepted(message));
+            })
+            .onErrorResume(AdmissionRejectedException.class, e -> {
+                deduplicationService.release(idempotencyKey);
+                return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(admissionService.getRetryAfterSeconds()))
+                    .body(WebhookResponse.rejected(e.getMessage())));
+            })
+            .doOnCancel(() -> deduplicationService.release(idempotencyKey));
+    }
+
     @GetMapping("/health")
     public Mono<String> health() {
         return Mono.just("OK");
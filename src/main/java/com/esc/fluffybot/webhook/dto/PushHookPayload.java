@@ -0,0 +1,24 @@
+package com.esc.fluffybot.webhook.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+/**
+ * GitLab Push / Tag Push Hook Payload
+ * mirror 갱신에 필요한 필드만 바인딩
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PushHookPayload {
+
+    @JsonProperty("object_kind")
+    private String objectKind;
+
+    @JsonProperty("project_id")
+    private Long projectId;
+
+    private String ref;
+
+    private ProjectInfo project;
+}
@@ -0,0 +1,43 @@
+package com.esc.fluffybot.webhook.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 웹훅 라우팅에 필요한 필드만 스트리밍으로 읽어낸 결과
+ * 원본 본문은 핸들러용 DTO 바인딩을 위해 그대로 보관
+ */
+@Data
+@Builder
+public class WebhookEnvelope {
+    private String objectKind;
+    private String username;
+    private Long projectId;
+    private String noteableType;
+
+    // 중복 판별용 필드 (object_attributes.iid/id/action, issue.iid 또는 merge_request.iid)
+    private Long objectIid;
+    private Long objectId;
+    private String action;
+    private Long noteableIid;
+
+    // object_attributes.description 또는 note 본문의 해시
+    private long contentHash;
+
+    // X-Gitlab-Event-UUID 헤더, GitLab 재전송 시 동일한 값이 옴
+    private String eventUuid;
+
+    private byte[] body;
+
+    /**
+     * 같은 이벤트의 재전송/중복 저장을 식별하는 키
+     * 이벤트 UUID가 있으면 그대로 쓰고, 없으면 (kind, project, iid, action, 본문 해시)로 구성
+     */
+    public String getIdempotencyKey() {
+        if (eventUuid != null && !eventUuid.isBlank()) {
+            return "uuid:" + eventUuid;
+        }
+        return String.format("content:%s:%s:%s:%s:%s:%s:%016x",
+            objectKind, projectId, objectIid != null ? objectIid : noteableIid, objectId, action, noteableType, contentHash);
+    }
+}
@@ -16,4 +16,8 @@ public class WebhookResponse {
     public static WebhookResponse ignored(String message) {
         return new WebhookResponse("ignored", message);
     }
+
+    public static WebhookResponse rejected(String message) {
+        return new WebhookResponse("rejected", message);
+    }
 }
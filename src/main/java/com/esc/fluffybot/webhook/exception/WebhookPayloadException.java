@@ -0,0 +1,7 @@
+package com.esc.fluffybot.webhook.exception;
+
+public class WebhookPayloadException extends RuntimeException {
+    public WebhookPayloadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
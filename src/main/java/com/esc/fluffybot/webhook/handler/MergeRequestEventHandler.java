@@ -1,10 +1,12 @@
 package com.esc.fluffybot.webhook.handler;
 
 import com.esc.fluffybot.gitlab.client.GitLabApiClient;
+import com.esc.fluffybot.gitlab.dto.GitLabIssue;
 import com.esc.fluffybot.webhook.dto.GitLabWebhookPayload;
 import com.esc.fluffybot.webhook.dto.MergeRequestHookPayload;
 import com.esc.fluffybot.webhook.dto.ObjectAttributes;
 import com.esc.fluffybot.worker.service.WorkerService;
+import com.esc.fluffybot.worker.service.WorkspaceClaimService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -19,6 +21,7 @@ import reactor.core.publisher.Mono;
 public class MergeRequestEventHandler {
 
     private final WorkerService workerService;
+    private final WorkspaceClaimService workspaceClaimService;
     private final GitLabApiClient gitLabApiClient;
 
     /**
@@ -39,6 +42,9 @@ public class MergeRequestEventHandler {
             return Mono.empty();
         }
 
+        // 이슈 작업이 끝났으므로 영구 작업 공간 정리 (wiki 작업은 사용하지 않음)
+        workspaceClaimService.release(projectId, issueIid, "merged");
+
         // GitLabWebhookPayload 형식으로 변환하여 Worker 생성
         // (WorkerService가 GitLabWebhookPayload를 받도록 설계되어 있음)
         return gitLabApiClient.getIssue(projectId, issueIid)
@@ -47,7 +53,7 @@ public class MergeRequestEventHandler {
                 String taskDescription = String.format("Wiki update after MR !%d merge", mrIid);
 
                 return workerService.createWorkerPod(webhookPayload, taskDescription, "wiki", mrIid)
-                    .doOnSuccess(jobName -> log.info("Created wiki update worker: {}", jobName))
+                    .doOnSuccess(jobName -> log.info("Scheduled wiki update worker: {}", jobName))
                     .then();
             })
             .onErrorResume(error -> {
@@ -94,7 +100,7 @@ public class MergeRequestEventHandler {
      */
     private GitLabWebhookPayload createWebhookPayloadFromIssue(
             MergeRequestHookPayload mrPayload,
-            Object issueData,
+            GitLabIssue issue,
             Long issueIid) {
 
         GitLabWebhookPayload webhookPayload = new GitLabWebhookPayload();
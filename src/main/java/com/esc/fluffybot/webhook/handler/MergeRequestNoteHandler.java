@@ -3,6 +3,7 @@ package com.esc.fluffybot.webhook.handler;
 import com.esc.fluffybot.anthropic.client.AnthropicApiClient;
 import com.esc.fluffybot.config.GitLabProperties;
 import com.esc.fluffybot.gitlab.client.GitLabApiClient;
+import com.esc.fluffybot.gitlab.dto.GitLabDiffEntry;
 import com.esc.fluffybot.webhook.dto.MergeRequestNotePayload;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +11,9 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * Merge Request 라인 코멘트 핸들러
  * 다른 사용자의 라인 코멘트에 AI가 응답
@@ -19,6 +23,11 @@ import reactor.core.scheduler.Schedulers;
 @RequiredArgsConstructor
 public class MergeRequestNoteHandler {
 
+    // 프롬프트에 넣을 diff 범위: 코멘트 라인 전후 줄 수, 최대 길이
+    private static final int CONTEXT_LINES = 20;
+    private static final int MAX_CONTEXT_CHARS = 8000;
+    private static final Pattern HUNK_HEADER = Pattern.compile("^@@ -(\\d+)(?:,\\d+)? \\+(\\d+)");
+
     private final AnthropicApiClient anthropicClient;
     private final GitLabApiClient gitLabClient;
     private final GitLabProperties gitLabProperties;
@@ -55,14 +64,17 @@ public class MergeRequestNoteHandler {
         Integer lineNumber = position.getNewLine() != null ? position.getNewLine() : position.getOldLine();
 
         return gitLabClient.getMergeRequest(projectId, mrIid)
-            .flatMap(mrData -> {
-                String mrTitle = (String) mrData.get("title");
-                String mrDescription = (String) mrData.getOrDefault("description", "");
-
-                // 코드 변경사항 가져오기
-                return gitLabClient.getMergeRequestChanges(projectId, mrIid)
-                    .flatMap(changes -> {
-                        String codeContext = extractCodeContext(changes, filePath, lineNumber);
+            .flatMap(mergeRequest -> {
+                String mrTitle = mergeRequest.getTitle();
+                String mrDescription = mergeRequest.getDescription() != null ? mergeRequest.getDescription() : "";
+
+                // 코멘트가 달린 파일의 diff만 필요하므로 찾으면 나머지 diff는 받지 않음
+                return gitLabClient.getMergeRequestDiffs(projectId, mrIid)
+                    .filter(entry -> entry.touches(filePath))
+                    .next()
+                    .map(entry -> extractCodeContext(entry, filePath, lineNumber))
+                    .defaultIfEmpty(extractCodeContext(null, filePath, lineNumber))
+                    .flatMap(codeContext -> {
 
                         String prompt = buildLineCommentPrompt(
                             comment,
@@ -134,9 +146,69 @@ public class MergeRequestNoteHandler {
         );
     }
 
-    private String extractCodeContext(Object changes, String filePath, Integer lineNumber) {
-        // TODO: 실제 diff에서 해당 라인 주변 코드 추출
-        // 지금은 간단히 파일명과 라인 정보만 반환
-        return String.format("File: %s, Line: %d", filePath, lineNumber);
+    private String extractCodeContext(GitLabDiffEntry diffEntry, String filePath, Integer lineNumber) {
+        String location = String.format("File: %s, Line: %d", filePath, lineNumber);
+        if (diffEntry == null || diffEntry.getDiff() == null || diffEntry.getDiff().isEmpty()) {
+            return location;
+        }
+
+        // 큰 diff가 프롬프트를 채우지 않도록 코멘트 라인 주변만, 그래도 길면 잘라서 전달
+        String hunk = lineNumber != null ? hunkAround(diffEntry.getDiff(), lineNumber) : "";
+        return location + "\n\n" + truncate(hunk.isEmpty() ? diffEntry.getDiff() : hunk);
+    }
+
+    /**
+     * 코멘트 라인 전후 CONTEXT_LINES 줄의 diff (hunk 헤더 포함), 해당 라인이 diff에 없으면 빈 문자열
+     * 삭제된 줄은 변경 전 번호, 나머지는 변경 후 번호로 비교
+     */
+    private static String hunkAround(String diff, int lineNumber) {
+        int from = lineNumber - CONTEXT_LINES;
+        int to = lineNumber + CONTEXT_LINES;
+        StringBuilder context = new StringBuilder();
+        String header = null;
+        int oldLine = 0;
+        int newLine = 0;
+
+        for (String line : diff.split("\n")) {
+            if (line.startsWith("@@")) {
+                Matcher matcher = HUNK_HEADER.matcher(line);
+                if (matcher.find()) {
+                    oldLine = Integer.parseInt(matcher.group(1));
+                    newLine = Integer.parseInt(matcher.group(2));
+                }
+                header = line;
+                continue;
+            }
+            if (line.startsWith("\\")) {
+                // "\ No newline at end of file"
+                continue;
+            }
+
+            boolean removed = line.startsWith("-");
+            boolean added = line.startsWith("+");
+            int current = removed ? oldLine : newLine;
+            if (current >= from && current <= to) {
+                if (header != null) {
+                    context.append(header).append('\n');
+                    header = null;
+                }
+                context.append(line).append('\n');
+            }
+            if (!added) {
+                oldLine++;
+            }
+            if (!removed) {
+                newLine++;
+            }
+        }
+        return context.toString();
+    }
+
+    private static String truncate(String text) {
+        if (text.length() <= MAX_CONTEXT_CHARS) {
+            return text;
+        }
+        return text.substring(0, MAX_CONTEXT_CHARS)
+            + "\n... (truncated, " + (text.length() - MAX_CONTEXT_CHARS) + " more characters)";
     }
 }
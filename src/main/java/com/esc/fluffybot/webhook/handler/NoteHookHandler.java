@@ -54,9 +54,9 @@ public class NoteHookHandler {
         log.info("Processing comment on project={}, issue={}", projectId, issueIid);
 
         return gitLabClient.getIssue(projectId, issueIid)
-            .flatMap(issueData -> {
-                String issueTitle = (String) issueData.get("title");
-                String issueDescription = (String) issueData.getOrDefault("description", "");
+            .flatMap(issue -> {
+                String issueTitle = issue.getTitle();
+                String issueDescription = issue.getDescription() != null ? issue.getDescription() : "";
 
                 // Fetch wiki context
                 return wikiClient.getWikiContext(projectId)
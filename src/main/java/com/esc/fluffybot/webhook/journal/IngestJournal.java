@@ -0,0 +1,272 @@
+package com.esc.fluffybot.webhook.journal;
+
+import com.esc.fluffybot.config.WebhookProperties;
+import com.esc.fluffybot.webhook.model.WebhookEventKind;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 수락된 웹훅을 로컬 디스크에 남기는 append-only 저널
+ *
+ * 세그먼트 파일을 메모리 매핑하여 기록하고, 처리가 끝난 엔트리는 상태 바이트만 바꿔 완료로 표시합니다.
+ * 모든 엔트리가 완료된 세그먼트는 삭제되며, 시작 시 완료되지 않은 엔트리를 복구해 재처리할 수 있게 합니다.
+ *
+ * 레코드 형식: [int length][byte state][byte kind][long id][length bytes body]
+ * length를 마지막에 기록하므로 중간에 죽은 레코드는 length가 0으로 남아 무시됩니다.
+ */
+@Slf4j
+@Component
+public class IngestJournal {
+
+    private static final int HEADER_SIZE = Integer.BYTES + 2 + Long.BYTES;
+    private static final byte STATE_PENDING = 1;
+    private static final byte STATE_COMPLETED = 2;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final WebhookProperties.Journal properties;
+    private final Timer appendTimer;
+
+    private final TreeMap<Long, JournalSegment> segments = new TreeMap<>();
+    private final List<JournalEntry> recovered = new ArrayList<>();
+    private JournalSegment active;
+    private long nextSequence = 1;
+    private long nextId = 1;
+    private int backlog;
+
+    public IngestJournal(WebhookProperties webhookProperties, MeterRegistry meterRegistry) {
+        this.properties = webhookProperties.getJournal();
+        this.appendTimer = Timer.builder("fluffybot.webhook.journal.append")
+            .description("Time to append an accepted webhook to the ingest journal")
+            .register(meterRegistry);
+        Gauge.builder("fluffybot.webhook.journal.backlog", this, IngestJournal::getBacklog)
+            .description("Journaled webhooks not yet completed")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!properties.isEnabled()) {
+            log.info("Ingest journal disabled, accepted webhooks will not survive restarts");
+            return;
+        }
+
+        Path directory = Paths.get(properties.getDirectory());
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(this::isSegmentFile)
+                    .sorted()
+                    .forEach(this::recoverSegment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open ingest journal at " + directory, e);
+        }
+
+        active = createSegment(nextSequence++);
+
+        log.info("Ingest journal opened at {}: {} unfinished entries recovered", directory, recovered.size());
+    }
+
+    /**
+     * 이벤트를 저널에 기록
+     * 반환 시점에는 프로세스가 죽어도 엔트리가 남아 있음이 보장됩니다.
+     */
+    public JournalEntry append(WebhookEventKind kind, byte[] body) {
+        long start = System.nanoTime();
+        try {
+            synchronized (this) {
+                return properties.isEnabled() ? appendToSegment(kind, body) : appendInMemory(kind, body);
+            }
+        } finally {
+            appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 엔트리를 완료로 표시, 이미 완료된 엔트리는 무시
+     */
+    public synchronized void complete(JournalEntry entry) {
+        if (entry.completed) {
+            return;
+        }
+        entry.completed = true;
+        backlog--;
+
+        JournalSegment segment = entry.segment;
+        if (segment == null) {
+            return;
+        }
+
+        segment.buffer.put(entry.offset + Integer.BYTES, STATE_COMPLETED);
+        segment.pending--;
+
+        if (segment.pending == 0 && segment != active) {
+            deleteSegment(segment);
+        }
+    }
+
+    /**
+     * 시작 시 복구된 미완료 엔트리를 꺼내감 (한 번만 반환)
+     */
+    public synchronized List<JournalEntry> takeRecovered() {
+        List<JournalEntry> entries = new ArrayList<>(recovered);
+        recovered.clear();
+        return entries;
+    }
+
+    public synchronized int getBacklog() {
+        return backlog;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (JournalSegment segment : segments.values()) {
+            segment.buffer.force();
+        }
+        log.info("Ingest journal closed with {} unfinished entries", backlog);
+    }
+
+    private JournalEntry appendInMemory(WebhookEventKind kind, byte[] body) {
+        backlog++;
+        return new JournalEntry(nextId++, kind, body, null, -1);
+    }
+
+    private JournalEntry appendToSegment(WebhookEventKind kind, byte[] body) {
+        int recordSize = HEADER_SIZE + body.length;
+        // 다음 레코드의 length 자리(0)가 항상 남도록 여유를 둠
+        if (recordSize + Integer.BYTES > active.capacity()) {
+            throw new IllegalStateException(String.format(
+                "Webhook payload of %d bytes exceeds journal segment size %d", body.length, active.capacity()));
+        }
+        if (active.writePosition + recordSize + Integer.BYTES > active.capacity()) {
+            rollSegment();
+        }
+
+        JournalSegment segment = active;
+        int offset = segment.writePosition;
+        long id = nextId++;
+
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.put(offset + Integer.BYTES, STATE_PENDING);
+        buffer.put(offset + Integer.BYTES + 1, kind.getCode());
+        buffer.putLong(offset + Integer.BYTES + 2, id);
+        buffer.put(offset + HEADER_SIZE, body);
+        buffer.putInt(offset, body.length);
+
+        if (properties.isForceOnAppend()) {
+            buffer.force(offset, recordSize);
+        }
+
+        segment.writePosition += recordSize;
+        segment.pending++;
+        backlog++;
+
+        return new JournalEntry(id, kind, body, segment, offset);
+    }
+
+    private void rollSegment() {
+        JournalSegment previous = active;
+        active = createSegment(nextSequence++);
+        if (previous.pending == 0) {
+            deleteSegment(previous);
+        }
+    }
+
+    private JournalSegment createSegment(long sequence) {
+        Path path = Paths.get(properties.getDirectory(), String.format("%s%019d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        JournalSegment segment = new JournalSegment(sequence, path, map(path, properties.getSegmentSize().toBytes()));
+        segments.put(sequence, segment);
+        return segment;
+    }
+
+    private void recoverSegment(Path path) {
+        String fileName = path.getFileName().toString();
+        long sequence = Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+
+        JournalSegment segment;
+        try {
+            segment = new JournalSegment(sequence, path, map(path, Files.size(path)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read journal segment " + path, e);
+        }
+
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + HEADER_SIZE <= segment.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > segment.capacity()) {
+                break;
+            }
+
+            byte state = buffer.get(position + Integer.BYTES);
+            long id = buffer.getLong(position + Integer.BYTES + 2);
+            nextId = Math.max(nextId, id + 1);
+
+            if (state == STATE_PENDING) {
+                byte[] body = new byte[length];
+                buffer.get(position + HEADER_SIZE, body);
+                WebhookEventKind kind = WebhookEventKind.fromCode(buffer.get(position + Integer.BYTES + 1));
+                recovered.add(new JournalEntry(id, kind, body, segment, position));
+                segment.pending++;
+                backlog++;
+            }
+            position += HEADER_SIZE + length;
+        }
+        segment.writePosition = position;
+        nextSequence = Math.max(nextSequence, sequence + 1);
+
+        if (segment.pending == 0) {
+            deleteFile(path);
+        } else {
+            segments.put(sequence, segment);
+        }
+    }
+
+    private void deleteSegment(JournalSegment segment) {
+        segments.remove(segment.sequence);
+        deleteFile(segment.path);
+    }
+
+    private void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete journal segment {}: {}", path, e.getMessage());
+        }
+    }
+
+    private boolean isSegmentFile(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path path, long size) {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // 매핑은 채널을 닫은 뒤에도 유효함
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map journal segment " + path, e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.esc.fluffybot.webhook.journal;
+
+import com.esc.fluffybot.webhook.model.WebhookEventKind;
+import lombok.Getter;
+
+/**
+ * 저널에 기록된 웹훅 한 건
+ */
+@Getter
+public class JournalEntry {
+    private final long id;
+    private final WebhookEventKind kind;
+    private final byte[] body;
+
+    // 엔트리가 기록된 세그먼트와 오프셋 (저널 비활성화 시 null / -1)
+    final JournalSegment segment;
+    final int offset;
+
+    boolean completed;
+
+    JournalEntry(long id, WebhookEventKind kind, byte[] body, JournalSegment segment, int offset) {
+        this.id = id;
+        this.kind = kind;
+        this.body = body;
+        this.segment = segment;
+        this.offset = offset;
+    }
+}
@@ -0,0 +1,59 @@
+package com.esc.fluffybot.webhook.journal;
+
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 저널 엔트리 완료를 뒤로 미루는 참조 카운트
+ *
+ * 디스패처가 엔트리를 처리하는 동안 하나를 잡고, 처리 중에 Worker 작업을 대기열에 넣으면 작업이 실행(또는 폐기)될 때까지
+ * 하나를 더 잡습니다. 모든 hold가 풀려야 완료되므로, 대기열에 있는 작업은 재시작 후 저널 재처리로 다시 등록됩니다.
+ * Reactor Context(CONTEXT_KEY)로 전달됩니다.
+ */
+public final class JournalHold {
+
+    public static final String CONTEXT_KEY = JournalHold.class.getName();
+
+    private static final Runnable NONE = () -> {
+    };
+
+    private final AtomicInteger holds = new AtomicInteger(1);
+    private final Runnable onReleased;
+
+    /**
+     * 처음 하나가 잡힌 상태로 생성, 만든 쪽이 release 해야 함
+     */
+    public JournalHold(Runnable onReleased) {
+        this.onReleased = onReleased;
+    }
+
+    /**
+     * hold를 하나 더 잡고, 한 번만 동작하는 해제 함수 반환
+     */
+    public Runnable hold() {
+        holds.incrementAndGet();
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                release();
+            }
+        };
+    }
+
+    public void release() {
+        if (holds.decrementAndGet() == 0) {
+            onReleased.run();
+        }
+    }
+
+    /**
+     * Context에 hold가 있으면 하나 더 잡고 해제 함수 반환, 없으면 아무것도 하지 않는 함수
+     */
+    public static Runnable holdFrom(ContextView context) {
+        return context.<JournalHold>getOrEmpty(CONTEXT_KEY)
+            .map(JournalHold::hold)
+            .orElse(NONE);
+    }
+}
@@ -0,0 +1,27 @@
+package com.esc.fluffybot.webhook.journal;
+
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * 메모리 매핑된 저널 세그먼트 파일 하나
+ * 모든 접근은 IngestJournal의 락 안에서만 이루어집니다.
+ */
+class JournalSegment {
+    final long sequence;
+    final Path path;
+    final MappedByteBuffer buffer;
+
+    int writePosition;
+    int pending;
+
+    JournalSegment(long sequence, Path path, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+}
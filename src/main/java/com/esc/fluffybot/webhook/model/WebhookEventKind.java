@@ -0,0 +1,33 @@
+package com.esc.fluffybot.webhook.model;
+
+import com.esc.fluffybot.webhook.dto.GitLabWebhookPayload;
+import com.esc.fluffybot.webhook.dto.MergeRequestHookPayload;
+import com.esc.fluffybot.webhook.dto.MergeRequestNotePayload;
+import com.esc.fluffybot.webhook.dto.NoteHookPayload;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 수락되어 핸들러로 전달되는 웹훅 이벤트 종류
+ * 저널에는 code 값이 기록되므로 기존 값을 바꾸지 말 것
+ */
+@Getter
+@RequiredArgsConstructor
+public enum WebhookEventKind {
+    ISSUE((byte) 1, GitLabWebhookPayload.class),
+    NOTE((byte) 2, NoteHookPayload.class),
+    MR_NOTE((byte) 3, MergeRequestNotePayload.class),
+    MERGE((byte) 4, MergeRequestHookPayload.class);
+
+    private final byte code;
+    private final Class<?> payloadType;
+
+    public static WebhookEventKind fromCode(byte code) {
+        for (WebhookEventKind kind : values()) {
+            if (kind.code == code) {
+                return kind;
+            }
+        }
+        throw new IllegalArgumentException("Unknown webhook event kind code: " + code);
+    }
+}
@@ -0,0 +1,192 @@
+package com.esc.fluffybot.webhook.service;
+
+import com.esc.fluffybot.config.WebhookProperties;
+import com.esc.fluffybot.webhook.dto.DescriptionChange;
+import com.esc.fluffybot.webhook.dto.GitLabWebhookPayload;
+import com.esc.fluffybot.webhook.journal.JournalHold;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 같은 이슈에 연달아 들어오는 이슈 이벤트를 하나의 Worker 작업으로 합치는 단계
+ *
+ * (projectId, issueIid)별로 quiet window 동안 추가 이벤트를 기다리며, 합칠 때는
+ * 가장 이른 descriptionPrevious와 가장 최근 descriptionCurrent를 유지합니다.
+ * submit은 이벤트를 맡기는 즉시 완료되고, 합쳐진 dispatch는 별도 타이머에서 실행됩니다.
+ * 각 이벤트의 저널 hold는 합쳐진 dispatch로 넘겨져, 그 dispatch(와 대기열에 넣은 작업)가 끝날 때 함께 풀리므로
+ * 대기 중에 재시작되어도 이벤트가 사라지지 않습니다.
+ * 같은 이슈의 댓글이 먼저 처리되지 않도록, 댓글 dispatch 전에 flush로 대기 중인 이벤트를 먼저 내보냅니다.
+ */
+@Slf4j
+@Service
+public class IssueUpdateCoalescer {
+
+    private final WebhookProperties.Coalesce properties;
+    private final ObjectMapper objectMapper;
+    private final Counter coalescedCounter;
+    private final Map<String, PendingIssue> pending = new HashMap<>();
+
+    public IssueUpdateCoalescer(WebhookProperties webhookProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = webhookProperties.getCoalesce();
+        this.objectMapper = objectMapper;
+        this.coalescedCounter = meterRegistry.counter("fluffybot.webhook.issue.coalesced");
+    }
+
+    /**
+     * 이벤트를 대기 중인 작업에 합치고 바로 완료 (dispatch는 quiet window가 지나면 실행)
+     */
+    public Mono<Void> submit(GitLabWebhookPayload payload, Function<GitLabWebhookPayload, Mono<Void>> dispatch) {
+        if (properties.getQuietWindow().isZero()) {
+            return dispatch.apply(payload);
+        }
+
+        return Mono.deferContextual(context -> {
+            String key = payload.getProject().getId() + ":" + payload.getIssueIid();
+            PendingIssue issue;
+
+            synchronized (pending) {
+                issue = pending.get(key);
+                if (issue == null) {
+                    issue = new PendingIssue(key, payload);
+                    pending.put(key, issue);
+                } else {
+                    issue.merge(payload);
+                    coalescedCounter.increment();
+                    log.debug("Coalesced issue event for {} ({} events pending)", key, issue.count);
+                }
+                issue.dispatch = dispatch;
+                issue.holds.add(JournalHold.holdFrom(context));
+                schedule(issue);
+            }
+
+            return Mono.empty();
+        });
+    }
+
+    /**
+     * 이슈에 대기 중인 이벤트가 있으면 quiet window를 기다리지 않고 바로 dispatch
+     * dispatch는 호출한 스레드에서 구독되므로, 이후 같은 순서 키로 제출되는 작업보다 먼저 대기열에 들어감
+     */
+    public void flush(Long projectId, Long issueIid) {
+        PendingIssue issue;
+        synchronized (pending) {
+            issue = pending.get(projectId + ":" + issueIid);
+        }
+        if (issue != null) {
+            log.debug("Flushing pending issue event for {} ahead of a new comment", issue.key);
+            fire(issue);
+        }
+    }
+
+    private void schedule(PendingIssue issue) {
+        if (issue.timer != null) {
+            issue.timer.dispose();
+        }
+
+        long sinceFirst = System.nanoTime() - issue.firstSeenAt;
+        Duration untilMaxDelay = properties.getMaxDelay().minusNanos(sinceFirst);
+        Duration delay = untilMaxDelay.compareTo(properties.getQuietWindow()) < 0 ? untilMaxDelay : properties.getQuietWindow();
+        if (delay.isNegative()) {
+            delay = Duration.ZERO;
+        }
+
+        issue.timer = Mono.delay(delay).subscribe(tick -> fire(issue));
+    }
+
+    private void fire(PendingIssue issue) {
+        synchronized (pending) {
+            if (pending.get(issue.key) != issue) {
+                return;
+            }
+            pending.remove(issue.key);
+            issue.timer.dispose();
+        }
+
+        GitLabWebhookPayload merged = issue.merged();
+        if (merged == null) {
+            log.info("Description of issue {} ended up unchanged after {} edits, skipping worker", issue.key, issue.count);
+            issue.holds.forEach(Runnable::run);
+            return;
+        }
+
+        if (issue.count > 1) {
+            log.info("Dispatching issue {} once for {} coalesced events", issue.key, issue.count);
+        }
+
+        JournalHold hold = new JournalHold(() -> issue.holds.forEach(Runnable::run));
+        issue.dispatch.apply(merged)
+            .doFinally(signal -> hold.release())
+            .contextWrite(context -> context.put(JournalHold.CONTEXT_KEY, hold))
+            .subscribe(
+                null,
+                error -> log.error("Failed to dispatch coalesced issue event for {}: {}", issue.key, error.getMessage()));
+    }
+
+    private final class PendingIssue {
+        final String key;
+        final long firstSeenAt = System.nanoTime();
+        // 합쳐진 이벤트들의 저널 hold 해제 함수
+        final List<Runnable> holds = new ArrayList<>();
+        final DescriptionChange firstChange;
+        GitLabWebhookPayload latest;
+        Function<GitLabWebhookPayload, Mono<Void>> dispatch;
+        Disposable timer;
+        int count = 1;
+
+        PendingIssue(String key, GitLabWebhookPayload first) {
+            this.key = key;
+            this.latest = first;
+            this.firstChange = first.hasDescriptionChange() ? first.getDescriptionChange() : null;
+        }
+
+        void merge(GitLabWebhookPayload next) {
+            latest = next;
+            count++;
+        }
+
+        /**
+         * 합쳐진 이벤트, 결과적으로 설명이 바뀌지 않았으면 null
+         */
+        GitLabWebhookPayload merged() {
+            if (count == 1) {
+                return latest;
+            }
+
+            // 첫 이벤트가 open 등 설명 변경 정보가 없는 경우에는 전체 작업으로 처리
+            if (firstChange == null || firstChange.getPrevious() == null) {
+                latest.setChanges(null);
+                return latest;
+            }
+
+            DescriptionChange latestChange = latest.hasDescriptionChange() ? latest.getDescriptionChange() : null;
+            String current = latestChange != null && latestChange.getCurrent() != null
+                ? latestChange.getCurrent()
+                : latest.getIssueDescription();
+
+            if (Objects.equals(firstChange.getPrevious(), current)) {
+                return null;
+            }
+
+            ObjectNode changes = objectMapper.createObjectNode();
+            ObjectNode description = changes.putObject("description");
+            description.put("previous", firstChange.getPrevious());
+            description.put("current", current);
+            latest.setChanges(changes);
+            return latest;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.esc.fluffybot.webhook.service;
+
+import com.esc.fluffybot.config.WebhookProperties;
+import com.esc.fluffybot.webhook.journal.JournalHold;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 키별 순차 실행기
+ *
+ * 같은 키(예: 프로젝트 + 이슈)의 작업은 들어온 순서대로 하나씩 실행하고, 다른 키는 병렬로 실행합니다.
+ * 키는 해시로 고정 개수의 스트라이프에 나뉘며, 스트라이프마다 대기열 길이가 제한됩니다.
+ * 대기열이 가득 찬 스트라이프의 이벤트는 수락 단계(hasCapacity)에서 거절해 GitLab이 재시도하도록 합니다.
+ * 작업은 스레드를 점유하지 않는 Mono이므로 스트라이프는 실행 순서만 보장합니다.
+ * submit은 작업을 대기열에 넣으면 바로 완료되므로, 호출자는 같은 키나 같은 스트라이프의 앞선 작업을 기다리지 않습니다.
+ * 작업은 따로 구독되지만 submit을 구독한 쪽의 Context를 그대로 전달받고, Context의 JournalHold는 작업이 끝날 때까지 잡아 둡니다.
+ */
+@Slf4j
+@Component
+public class StripedExecutor {
+
+    private final Stripe[] stripes;
+    private final int maxQueuePerStripe;
+    private final Counter contentionCounter;
+    private final Counter serializedCounter;
+    private final Counter rejectedCounter;
+    private final Counter admissionRejectedCounter;
+
+    public StripedExecutor(WebhookProperties webhookProperties, MeterRegistry meterRegistry) {
+        WebhookProperties.Ordering properties = webhookProperties.getOrdering();
+        this.stripes = new Stripe[Math.max(1, properties.getStripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxQueuePerStripe = properties.getMaxQueuePerStripe();
+
+        // 다른 키 때문에 기다린 작업(스트라이프 충돌)과 같은 키 때문에 기다린 작업(의도한 직렬화)을 구분
+        this.contentionCounter = meterRegistry.counter("fluffybot.webhook.stripe.waits", "cause", "contention");
+        this.serializedCounter = meterRegistry.counter("fluffybot.webhook.stripe.waits", "cause", "same_key");
+        // admission: 수락 전에 거절(503, GitLab 재시도), dispatch: 수락 후 가득 차서 버려짐
+        this.rejectedCounter = meterRegistry.counter("fluffybot.webhook.stripe.rejected", "stage", "dispatch");
+        this.admissionRejectedCounter = meterRegistry.counter("fluffybot.webhook.stripe.rejected", "stage", "admission");
+        Gauge.builder("fluffybot.webhook.stripe.queue.depth", this, StripedExecutor::totalQueueDepth)
+            .register(meterRegistry);
+        Gauge.builder("fluffybot.webhook.stripe.queue.depth.max", this, StripedExecutor::maxQueueDepth)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 키의 스트라이프 대기열에 자리가 있는지, 없으면 수락 단계 거절로 집계
+     */
+    public boolean hasCapacity(String key) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            if (stripe.running == null || stripe.queue.size() < maxQueuePerStripe) {
+                return true;
+            }
+        }
+        admissionRejectedCounter.increment();
+        return false;
+    }
+
+    /**
+     * 키의 이전 작업이 모두 끝난 뒤 work를 실행, 대기열에 넣거나 바로 시작하면 완료 (작업 결과는 기다리지 않음)
+     * 작업이 끝나면(성공/실패) settled를 호출합니다. 작업의 에러는 work 쪽에서 처리해야 합니다.
+     * 스트라이프 대기열이 가득 차면 settled를 호출하고 RejectedExecutionException
+     */
+    public Mono<Void> submit(String key, Supplier<Mono<Void>> work, Runnable settled) {
+        return Mono.deferContextual(context -> {
+            Stripe stripe = stripeOf(key);
+            Runnable hold = JournalHold.holdFrom(context);
+            Runnable done = () -> {
+                hold.run();
+                settled.run();
+            };
+            Task task = new Task(key, () -> Mono.defer(work)
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> {
+                    done.run();
+                    next(stripe);
+                })
+                .contextWrite(context)
+                .subscribe(null, error -> log.debug("Ordered task for key {} failed: {}", key, error.getMessage())));
+
+            boolean rejected = false;
+            synchronized (stripe) {
+                if (stripe.running == null) {
+                    stripe.running = key;
+                } else if (stripe.queue.size() >= maxQueuePerStripe) {
+                    rejected = true;
+                } else {
+                    (stripe.running.equals(key) || stripe.containsKey(key) ? serializedCounter : contentionCounter).increment();
+                    stripe.queue.addLast(task);
+                    return Mono.empty();
+                }
+            }
+
+            if (rejected) {
+                rejectedCounter.increment();
+                done.run();
+                return Mono.error(new RejectedExecutionException(
+                    "Ordering queue full for key " + key + " (" + maxQueuePerStripe + " waiting)"));
+            }
+            task.start.run();
+            return Mono.empty();
+        });
+    }
+
+    private Stripe stripeOf(String key) {
+        return stripes[Math.floorMod(spread(key.hashCode()), stripes.length)];
+    }
+
+    private void next(Stripe stripe) {
+        Task task;
+        synchronized (stripe) {
+            task = stripe.queue.pollFirst();
+            stripe.running = task != null ? task.key : null;
+        }
+        if (task != null) {
+            task.start.run();
+        }
+    }
+
+    private double totalQueueDepth() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.queue.size();
+            }
+        }
+        return total;
+    }
+
+    private double maxQueueDepth() {
+        int max = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                max = Math.max(max, stripe.queue.size());
+            }
+        }
+        return max;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private record Task(String key, Runnable start) {
+    }
+
+    private static final class Stripe {
+        final Deque<Task> queue = new ArrayDeque<>();
+        // 실행 중인 작업의 키, 비어 있으면 null
+        String running;
+
+        boolean containsKey(String key) {
+            for (Task task : queue) {
+                if (task.key().equals(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
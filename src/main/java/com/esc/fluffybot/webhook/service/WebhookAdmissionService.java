@@ -0,0 +1,199 @@
+package com.esc.fluffybot.webhook.service;
+
+import com.esc.fluffybot.config.WebhookProperties;
+import com.esc.fluffybot.webhook.exception.AdmissionRejectedException;
+import com.esc.fluffybot.webhook.model.WebhookEventKind;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 웹훅 수락 단계의 동시 처리 제한
+ *
+ * 이벤트 종류별로 전체/프로젝트별 동시 처리 한도를 두고, 한도에 걸린 요청은 제한된 대기열에서 잠시 기다립니다.
+ * 대기열이 가득 차거나 대기 시간이 지나면 AdmissionRejectedException으로 거절하여
+ * 컨트롤러가 429 + Retry-After로 응답하도록 합니다.
+ */
+@Slf4j
+@Service
+public class WebhookAdmissionService {
+
+    private static final Permit NOOP_PERMIT = new Permit(null, null);
+
+    private final WebhookProperties.Admission properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<WebhookEventKind, Lane> lanes = new EnumMap<>(WebhookEventKind.class);
+
+    public WebhookAdmissionService(WebhookProperties webhookProperties, MeterRegistry meterRegistry) {
+        this.properties = webhookProperties.getAdmission();
+        this.meterRegistry = meterRegistry;
+        for (WebhookEventKind kind : WebhookEventKind.values()) {
+            lanes.put(kind, new Lane(kind, properties.limitsFor(kind)));
+        }
+    }
+
+    /**
+     * 처리 슬롯 획득, 처리가 끝나면 반드시 Permit.release() 호출
+     */
+    public Mono<Permit> acquire(WebhookEventKind kind, Long projectId) {
+        if (!properties.isEnabled()) {
+            return Mono.just(NOOP_PERMIT);
+        }
+        String project = projectId != null ? String.valueOf(projectId) : "unknown";
+        return Mono.defer(() -> lanes.get(kind).acquire(project));
+    }
+
+    public long getRetryAfterSeconds() {
+        return properties.getRetryAfter().toSeconds();
+    }
+
+    /**
+     * 획득한 처리 슬롯, 여러 번 release해도 한 번만 반납됨
+     */
+    public static final class Permit {
+        private final Lane lane;
+        private final String project;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Lane lane, String project) {
+            this.lane = lane;
+            this.project = project;
+        }
+
+        public void release() {
+            if (lane != null && released.compareAndSet(false, true)) {
+                lane.release(project);
+            }
+        }
+    }
+
+    private static final class Waiter {
+        final String project;
+        final long enqueuedAt;
+        final Sinks.One<Permit> sink = Sinks.one();
+        Permit permit;
+
+        Waiter(String project, long enqueuedAt) {
+            this.project = project;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private final class Lane {
+        private final WebhookEventKind kind;
+        private final WebhookProperties.Limits limits;
+        private final Map<String, Integer> inFlightByProject = new HashMap<>();
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private int inFlight;
+
+        Lane(WebhookEventKind kind, WebhookProperties.Limits limits) {
+            this.kind = kind;
+            this.limits = limits;
+        }
+
+        Mono<Permit> acquire(String project) {
+            long start = System.nanoTime();
+            Waiter waiter;
+
+            synchronized (this) {
+                if (canRun(project)) {
+                    return Mono.just(grant(project, start));
+                }
+                if (waiters.size() >= limits.getQueueCapacity()) {
+                    return Mono.error(reject(project, "queue_full"));
+                }
+                waiter = new Waiter(project, start);
+                waiters.addLast(waiter);
+            }
+
+            return waiter.sink.asMono()
+                .timeout(limits.getMaxQueueWait(), Mono.defer(() -> expire(waiter)))
+                .doOnCancel(() -> abandon(waiter));
+        }
+
+        void release(String project) {
+            List<Waiter> granted = new ArrayList<>();
+
+            synchronized (this) {
+                inFlight--;
+                inFlightByProject.computeIfPresent(project, (key, count) -> count > 1 ? count - 1 : null);
+
+                Iterator<Waiter> iterator = waiters.iterator();
+                while (iterator.hasNext() && inFlight < limits.getMaxInFlight()) {
+                    Waiter waiter = iterator.next();
+                    if (canRun(waiter.project)) {
+                        iterator.remove();
+                        waiter.permit = grant(waiter.project, waiter.enqueuedAt);
+                        granted.add(waiter);
+                    }
+                }
+            }
+
+            // 구독자 코드가 락 안에서 실행되지 않도록 락 밖에서 전달
+            for (Waiter waiter : granted) {
+                waiter.sink.tryEmitValue(waiter.permit);
+            }
+        }
+
+        private Mono<Permit> expire(Waiter waiter) {
+            synchronized (this) {
+                // 타임아웃 직전에 슬롯을 받은 경우 그대로 사용
+                if (waiter.permit != null) {
+                    return Mono.just(waiter.permit);
+                }
+                waiters.remove(waiter);
+            }
+            return Mono.error(reject(waiter.project, "wait_timeout"));
+        }
+
+        private void abandon(Waiter waiter) {
+            Permit permit;
+            synchronized (this) {
+                permit = waiter.permit;
+                if (permit == null) {
+                    waiters.remove(waiter);
+                }
+            }
+            // 클라이언트가 끊긴 뒤 받은 슬롯은 바로 반납
+            if (permit != null) {
+                permit.release();
+            }
+        }
+
+        private boolean canRun(String project) {
+            return inFlight < limits.getMaxInFlight()
+                && inFlightByProject.getOrDefault(project, 0) < limits.getMaxInFlightPerProject();
+        }
+
+        private Permit grant(String project, long enqueuedAt) {
+            inFlight++;
+            inFlightByProject.merge(project, 1, Integer::sum);
+            meterRegistry.timer("fluffybot.webhook.admission.wait",
+                    "kind", kind.name().toLowerCase(), "project", project)
+                .record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            return new Permit(this, project);
+        }
+
+        private AdmissionRejectedException reject(String project, String reason) {
+            meterRegistry.counter("fluffybot.webhook.admission.rejected",
+                    "kind", kind.name().toLowerCase(), "project", project, "reason", reason)
+                .increment();
+            log.warn("Rejected {} webhook for project={}: {}", kind, project, reason);
+            return new AdmissionRejectedException(String.format(
+                "Too many %s webhooks in flight for project %s (%s)", kind.name().toLowerCase(), project, reason));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.esc.fluffybot.webhook.service;
+
+import com.esc.fluffybot.config.WebhookProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 웹훅 재전송/중복 저장 판별
+ *
+ * 이벤트 키를 일정 시간 동안 기억하는 크기 제한 캐시입니다.
+ * 모든 키의 유효 시간이 같으므로 삽입 순서가 곧 만료 순서이고, 만료된 키는 앞에서부터 제거됩니다.
+ */
+@Slf4j
+@Service
+public class WebhookDeduplicationService {
+
+    private final WebhookProperties.Idempotency properties;
+    private final Map<String, Long> seen = new LinkedHashMap<>();
+    private final Counter uuidDuplicates;
+    private final Counter contentDuplicates;
+
+    public WebhookDeduplicationService(WebhookProperties webhookProperties, MeterRegistry meterRegistry) {
+        this.properties = webhookProperties.getIdempotency();
+        this.uuidDuplicates = meterRegistry.counter("fluffybot.webhook.duplicates", "key", "uuid");
+        this.contentDuplicates = meterRegistry.counter("fluffybot.webhook.duplicates", "key", "content");
+        Gauge.builder("fluffybot.webhook.idempotency.keys", this, WebhookDeduplicationService::size)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 처음 보는 키면 기록하고 true, 유효 시간 내에 이미 본 키면 false
+     */
+    public synchronized boolean claim(String key) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        evictExpired(now);
+
+        if (seen.containsKey(key)) {
+            (key.startsWith("uuid:") ? uuidDuplicates : contentDuplicates).increment();
+            log.info("Duplicate webhook ignored: {}", key);
+            return false;
+        }
+
+        seen.put(key, now + properties.getWindow().toNanos());
+        if (seen.size() > properties.getMaxEntries()) {
+            Iterator<String> eldest = seen.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+        return true;
+    }
+
+    /**
+     * 수락하지 못한 이벤트의 키를 지워 GitLab 재전송이 중복으로 걸러지지 않게 함
+     */
+    public synchronized void release(String key) {
+        seen.remove(key);
+    }
+
+    private synchronized int size() {
+        return seen.size();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Long> iterator = seen.values().iterator();
+        while (iterator.hasNext() && iterator.next() - now <= 0) {
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.esc.fluffybot.webhook.service;
+
+import com.esc.fluffybot.config.WebhookProperties;
+import com.esc.fluffybot.webhook.dto.GitLabWebhookPayload;
+import com.esc.fluffybot.webhook.dto.MergeRequestHookPayload;
+import com.esc.fluffybot.webhook.dto.MergeRequestNotePayload;
+import com.esc.fluffybot.webhook.dto.NoteHookPayload;
+import com.esc.fluffybot.webhook.handler.MergeRequestEventHandler;
+import com.esc.fluffybot.webhook.handler.MergeRequestNoteHandler;
+import com.esc.fluffybot.webhook.handler.NoteHookHandler;
+import com.esc.fluffybot.webhook.journal.IngestJournal;
+import com.esc.fluffybot.webhook.journal.JournalEntry;
+import com.esc.fluffybot.webhook.journal.JournalHold;
+import com.esc.fluffybot.worker.service.WorkerService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저널에 기록된 웹훅을 핸들러로 전달하는 디스패처
+ *
+ * 동시 실행 수와 대기열 크기가 제한되어 있으며, 처리가 끝난(성공/실패 모두) 엔트리만 저널에서 완료 처리합니다.
+ * 핸들러 작업은 순서 키의 스트라이프에 넣는 즉시 슬롯을 비우고, 엔트리와 permit은 그 작업이 끝날 때 정리됩니다.
+ * 따라서 한 이슈에 몰린 이벤트가 디스패처 슬롯을 차지해 다른 키의 처리를 막지 않습니다.
+ * 처리 중 Worker 작업을 대기열에 넣었다면 그 작업이 실행(또는 폐기)될 때까지 완료를 미룹니다. (JournalHold)
+ * 시작 시에는 이전 프로세스가 끝내지 못한 엔트리를 먼저 재처리합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WebhookDispatcher {
+
+    private static final Runnable NO_PERMIT = () -> {
+    };
+
+    private final IngestJournal journal;
+    private final WebhookPayloadDecoder payloadDecoder;
+    private final WorkerService workerService;
+    private final IssueUpdateCoalescer issueCoalescer;
+    private final StripedExecutor stripedExecutor;
+    private final NoteHookHandler noteHookHandler;
+    private final MergeRequestNoteHandler mrNoteHandler;
+    private final MergeRequestEventHandler mrEventHandler;
+    private final WebhookProperties webhookProperties;
+
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private Sinks.Many<Dispatch> queue;
+    private Disposable drain;
+    private boolean accepting = true;
+
+    /**
+     * 새로 수락된 이벤트를 대기열에 추가, 처리가 끝나면 permit을 반납
+     * 대기열이나 이벤트의 순서 키 스트라이프가 가득 찼거나 종료 중이면 false를 반환하고 엔트리와 permit을 정리합니다.
+     */
+    public synchronized boolean submit(JournalEntry entry, Object payload, WebhookAdmissionService.Permit permit) {
+        Sinks.EmitResult result;
+        if (!accepting) {
+            result = Sinks.EmitResult.FAIL_TERMINATED;
+        } else if (!stripedExecutor.hasCapacity(orderingKey(entry, payload))) {
+            result = Sinks.EmitResult.FAIL_OVERFLOW;
+        } else {
+            result = queue().tryEmitNext(new Dispatch(entry, payload, permit));
+        }
+
+        if (result.isFailure()) {
+            log.warn("Webhook dispatcher rejected entry {} ({}): {}", entry.getId(), entry.getKind(), result);
+            journal.complete(entry);
+            permit.release();
+            return false;
+        }
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<JournalEntry> recovered = journal.takeRecovered();
+        if (!recovered.isEmpty()) {
+            log.info("Replaying {} unfinished webhook(s) from ingest journal", recovered.size());
+        }
+
+        drain = Flux.concat(
+                Flux.fromIterable(recovered).map(entry -> new Dispatch(entry, null, null)),
+                queue().asFlux())
+            .flatMap(this::process, webhookProperties.getDispatcher().getConcurrency())
+            .subscribe(
+                null,
+                error -> {
+                    log.error("Webhook dispatcher stopped: {}", error.getMessage(), error);
+                    drained.countDown();
+                },
+                drained::countDown);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        synchronized (this) {
+            accepting = false;
+            queue().tryEmitComplete();
+        }
+        if (drain == null) {
+            return;
+        }
+
+        long timeoutMillis = webhookProperties.getDispatcher().getShutdownTimeout().toMillis();
+        if (!drained.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            log.warn("Webhook dispatcher did not drain within {}ms, remaining entries will be replayed on restart",
+                timeoutMillis);
+            drain.dispose();
+        }
+    }
+
+    private synchronized Sinks.Many<Dispatch> queue() {
+        if (queue == null) {
+            queue = Sinks.many().unicast().onBackpressureBuffer(
+                Queues.<Dispatch>get(webhookProperties.getDispatcher().getQueueCapacity()).get());
+        }
+        return queue;
+    }
+
+    private Mono<Void> process(Dispatch dispatch) {
+        JournalEntry entry = dispatch.entry();
+        JournalHold hold = new JournalHold(() -> journal.complete(entry));
+        Runnable releasePermit = dispatch.permit() != null ? dispatch.permit()::release : NO_PERMIT;
+
+        return Mono.defer(() -> {
+                Object payload = dispatch.payload() != null
+                    ? dispatch.payload()
+                    : payloadDecoder.bind(entry.getBody(), entry.getKind().getPayloadType());
+                return handle(dispatch, payload, releasePermit);
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .doOnError(error -> {
+                log.error("Failed to handle {} webhook (entry {}): {}", entry.getKind(), entry.getId(), error.getMessage());
+                releasePermit.run();
+            })
+            .onErrorResume(error -> Mono.empty())
+            .doFinally(signal -> {
+                // 종료 중 취소된 엔트리는 다음 시작 시 재처리되도록 남겨둠
+                if (signal != SignalType.CANCEL) {
+                    hold.release();
+                } else {
+                    releasePermit.run();
+                }
+            })
+            .contextWrite(context -> context.put(JournalHold.CONTEXT_KEY, hold));
+    }
+
+    /**
+     * 이벤트를 순서 키의 스트라이프에 넣고 완료 (핸들러 실행은 기다리지 않음)
+     * permit은 스트라이프 작업이 끝날 때 반납됩니다.
+     */
+    private Mono<Void> handle(Dispatch dispatch, Object payload, Runnable releasePermit) {
+        JournalEntry entry = dispatch.entry();
+        return switch (entry.getKind()) {
+            // 이슈 이벤트는 coalescer에 맡기고 바로 완료, 저널 엔트리는 합쳐진 작업이 끝날 때 완료됨 (JournalHold)
+            // 합쳐진 작업은 여러 이벤트의 것이므로 permit은 넘기지 않고 바로 반납
+            case ISSUE -> issueCoalescer.submit((GitLabWebhookPayload) payload, merged ->
+                    stripedExecutor.submit(orderingKey(entry, merged), () -> logged(entry,
+                        workerService.createWorkerPod(merged, merged.getTaskDescription())
+                            .doOnSuccess(podName -> log.info("Worker task scheduled: {}", podName))
+                            .then()), NO_PERMIT))
+                .doFinally(signal -> releasePermit.run());
+            case NOTE -> {
+                NoteHookPayload notePayload = (NoteHookPayload) payload;
+                Long projectId = notePayload.getProject().getId();
+                Long issueIid = notePayload.getIssue().getIid();
+                // 대기 중인 이슈 수정이 이 댓글보다 늦게 처리되지 않도록 먼저 내보냄
+                yield Mono.defer(() -> {
+                    issueCoalescer.flush(projectId, issueIid);
+                    return stripedExecutor.submit(orderingKey(entry, notePayload),
+                        () -> logged(entry, noteHookHandler.handleComment(notePayload)), releasePermit);
+                });
+            }
+            case MR_NOTE -> {
+                MergeRequestNotePayload mrNotePayload = (MergeRequestNotePayload) payload;
+                yield stripedExecutor.submit(orderingKey(entry, mrNotePayload),
+                    () -> logged(entry, mrNoteHandler.handleLineComment(mrNotePayload)), releasePermit);
+            }
+            case MERGE -> {
+                MergeRequestHookPayload mergePayload = (MergeRequestHookPayload) payload;
+                yield stripedExecutor.submit(orderingKey(entry, mergePayload),
+                    () -> logged(entry, mrEventHandler.handleMergeEvent(mergePayload)
+                        .doOnSuccess(v -> log.info("MR merge event processed successfully"))), releasePermit);
+            }
+        };
+    }
+
+    private static Mono<Void> logged(JournalEntry entry, Mono<Void> work) {
+        return work.doOnError(error -> log.error("Failed to handle {} webhook (entry {}): {}",
+            entry.getKind(), entry.getId(), error.getMessage()));
+    }
+
+    /**
+     * 같은 noteable(이슈 또는 MR)에 대한 이벤트는 같은 키로 순서대로 처리
+     */
+    private static String orderingKey(JournalEntry entry, Object payload) {
+        return switch (entry.getKind()) {
+            case ISSUE -> {
+                GitLabWebhookPayload issuePayload = (GitLabWebhookPayload) payload;
+                yield orderingKey(issuePayload.getProject().getId(), "Issue", issuePayload.getIssueIid());
+            }
+            case NOTE -> {
+                NoteHookPayload notePayload = (NoteHookPayload) payload;
+                yield orderingKey(notePayload.getProject().getId(), "Issue", notePayload.getIssue().getIid());
+            }
+            case MR_NOTE -> {
+                MergeRequestNotePayload mrNotePayload = (MergeRequestNotePayload) payload;
+                yield orderingKey(mrNotePayload.getProject().getId(), "MergeRequest",
+                    mrNotePayload.getMergeRequest().getIid());
+            }
+            case MERGE -> {
+                MergeRequestHookPayload mergePayload = (MergeRequestHookPayload) payload;
+                yield orderingKey(mergePayload.getProjectId(), "MergeRequest", mergePayload.getMrIid());
+            }
+        };
+    }
+
+    private static String orderingKey(Long projectId, String noteableType, Long iid) {
+        return projectId + ":" + noteableType + ":" + iid;
+    }
+
+    // 재처리 엔트리는 payload와 permit 없이 전달됨
+    private record Dispatch(JournalEntry entry, Object payload, WebhookAdmissionService.Permit permit) {
+    }
+}
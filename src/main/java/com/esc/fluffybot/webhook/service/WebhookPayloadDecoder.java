@@ -0,0 +1,164 @@
+package com.esc.fluffybot.webhook.service;
+
+import com.esc.fluffybot.config.WebhookProperties;
+import com.esc.fluffybot.webhook.dto.WebhookEnvelope;
+import com.esc.fluffybot.webhook.exception.WebhookPayloadException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+/**
+ * GitLab 웹훅 본문 디코더
+ *
+ * JsonNode 트리를 만들지 않고 스트리밍 파서로 라우팅/중복 판별 필드(object_kind, user.username,
+ * project.id, object_attributes의 noteable_type/iid/action 등)만 읽은 뒤, 실제로 처리할 이벤트만
+ * 원본 바이트에서 핸들러 DTO로 직접 바인딩합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebhookPayloadDecoder {
+
+    private final ObjectMapper objectMapper;
+    private final WebhookProperties webhookProperties;
+
+    /**
+     * 요청 본문을 최대 크기 제한 내에서 모아 라우팅 필드를 추출
+     * 제한을 넘으면 DataBufferLimitException으로 종료됩니다.
+     */
+    public Mono<WebhookEnvelope> decode(Flux<DataBuffer> body) {
+        int maxBytes = (int) Math.min(Integer.MAX_VALUE, webhookProperties.getMaxPayloadSize().toBytes());
+
+        return DataBufferUtils.join(body, maxBytes)
+            .map(buffer -> {
+                try {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    return bytes;
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+            })
+            .map(this::scan);
+    }
+
+    /**
+     * 원본 본문을 핸들러 DTO로 바인딩
+     */
+    public <T> T bind(WebhookEnvelope envelope, Class<T> type) {
+        return bind(envelope.getBody(), type);
+    }
+
+    /**
+     * 저널에서 복구한 원본 본문을 핸들러 DTO로 바인딩
+     */
+    public <T> T bind(byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new WebhookPayloadException("Failed to bind webhook payload to " + type.getSimpleName(), e);
+        }
+    }
+
+    private WebhookEnvelope scan(byte[] body) {
+        WebhookEnvelope.WebhookEnvelopeBuilder envelope = WebhookEnvelope.builder().body(body);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new WebhookPayloadException("Webhook payload is not a JSON object", null);
+            }
+
+            scanObject(parser, (field, p) -> {
+                switch (field) {
+                    case "object_kind" -> envelope.objectKind(p.getValueAsString());
+                    case "user" -> scanObject(p, (child, c) -> {
+                        if ("username".equals(child)) {
+                            envelope.username(c.getValueAsString());
+                        }
+                    });
+                    case "project" -> scanObject(p, (child, c) -> {
+                        if ("id".equals(child)) {
+                            envelope.projectId(readLong(c));
+                        }
+                    });
+                    case "object_attributes" -> scanObject(p, (child, c) -> {
+                        switch (child) {
+                            case "noteable_type" -> envelope.noteableType(c.getValueAsString());
+                            case "iid" -> envelope.objectIid(readLong(c));
+                            case "id" -> envelope.objectId(readLong(c));
+                            case "action" -> envelope.action(c.getValueAsString());
+                            case "description", "note" -> envelope.contentHash(hashText(c));
+                            default -> {
+                            }
+                        }
+                    });
+                    case "issue", "merge_request" -> scanObject(p, (child, c) -> {
+                        if ("iid".equals(child)) {
+                            envelope.noteableIid(readLong(c));
+                        }
+                    });
+                    default -> {
+                        // 라우팅에 필요 없는 필드는 scanObject에서 통째로 건너뜀
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new WebhookPayloadException("Malformed webhook payload: " + e.getMessage(), e);
+        }
+
+        return envelope.build();
+    }
+
+    /**
+     * parser가 START_OBJECT에 위치할 때 직속 필드를 순회
+     * visitor가 소비하지 않은 하위 객체/배열은 토큰 단위로 건너뜁니다.
+     */
+    private void scanObject(JsonParser parser, FieldVisitor visitor) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            visitor.visit(field, parser);
+            parser.skipChildren();
+        }
+    }
+
+    private static Long readLong(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+    }
+
+    /**
+     * 문자열 값의 64bit FNV-1a 해시, 파서 내부 버퍼를 직접 읽어 문자열을 만들지 않음
+     */
+    private static long hashText(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return 0L;
+        }
+        char[] text = parser.getTextCharacters();
+        int end = parser.getTextOffset() + parser.getTextLength();
+        long hash = 0xcbf29ce484222325L;
+        for (int i = parser.getTextOffset(); i < end; i++) {
+            hash ^= text[i];
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    @FunctionalInterface
+    private interface FieldVisitor {
+        void visit(String field, JsonParser parser) throws IOException;
+    }
+}
@@ -0,0 +1,180 @@
+package com.esc.fluffybot.worker.client;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Kubernetes API 호출 계층
+ *
+ * fabric8 호출(블로킹)을 전용 bounded 스케줄러에서 실행하고, token bucket으로 초당 요청 수를 제한합니다.
+ * 429/5xx는 jitter를 넣은 지수 백오프로 재시도하며(쓰기는 서버가 처리하지 않은 429만),
+ * 같은 조회가 이미 진행 중이면 새로 호출하지 않고 그 결과를 함께 받습니다.
+ * 호출 결과가 null(없는 리소스)이면 empty로 끝납니다.
+ */
+@Slf4j
+@Service
+public class KubernetesApiClient {
+
+    private final WorkerProperties workerProperties;
+    private final MeterRegistry meterRegistry;
+    private final Scheduler scheduler;
+    private final TokenBucket tokenBucket;
+    private final Timer throttleWait;
+
+    // 진행 중인 조회 (operation:key -> 공유 결과)
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    public KubernetesApiClient(WorkerProperties workerProperties, MeterRegistry meterRegistry) {
+        this.workerProperties = workerProperties;
+        this.meterRegistry = meterRegistry;
+        WorkerProperties.Api api = workerProperties.getApi();
+        this.scheduler = Schedulers.newBoundedElastic(api.getThreads(), api.getQueueSize(), "k8s-api");
+        this.tokenBucket = new TokenBucket(api.getQps(), api.getBurst());
+        this.throttleWait = Timer.builder("fluffybot.kubernetes.api.throttle")
+            .description("Time Kubernetes API calls waited for the client-side rate limiter")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder("fluffybot.kubernetes.api.inflight", inFlight, Map::size)
+            .description("Distinct Kubernetes API reads in flight")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.dispose();
+    }
+
+    /**
+     * 조회 (get/list), 같은 operation과 key의 조회가 진행 중이면 합침
+     *
+     * @param operation 메트릭 태그 (예: job.list)
+     * @param key       같은 결과를 돌려주는 호출을 구분하는 값 (이름, 라벨 셀렉터 등)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> read(String operation, String key, Callable<T> call) {
+        String flightKey = operation + ":" + key;
+        return Mono.defer(() -> {
+            AtomicReference<Mono<T>> created = new AtomicReference<>();
+            Mono<?> flight = inFlight.computeIfAbsent(flightKey, k -> {
+                Mono<T> shared = execute(operation, call, true)
+                    .doFinally(signal -> inFlight.remove(k, created.get()))
+                    .share();
+                created.set(shared);
+                return shared;
+            });
+            if (flight != created.get()) {
+                meterRegistry.counter("fluffybot.kubernetes.api.coalesced", "operation", operation).increment();
+            }
+            return (Mono<T>) flight;
+        });
+    }
+
+    /**
+     * 변경 (create/edit/delete), 합치지 않고 서버가 처리하지 않은 429만 재시도
+     */
+    public <T> Mono<T> write(String operation, Callable<T> call) {
+        return execute(operation, call, false);
+    }
+
+    private <T> Mono<T> execute(String operation, Callable<T> call, boolean idempotent) {
+        WorkerProperties.Api api = workerProperties.getApi();
+        return Mono.defer(() -> {
+                long startedAt = System.nanoTime();
+                Mono<T> attempt = Mono.fromCallable(call)
+                    .subscribeOn(scheduler)
+                    .doOnSuccess(result -> record(operation, "success", startedAt))
+                    .doOnError(e -> record(operation, resultOf(e), startedAt));
+
+                long waitNanos = tokenBucket.reserve();
+                if (waitNanos <= 0) {
+                    return attempt;
+                }
+                throttleWait.record(waitNanos, TimeUnit.NANOSECONDS);
+                return Mono.delay(Duration.ofNanos(waitNanos), scheduler).then(attempt);
+            })
+            .retryWhen(Retry.backoff(api.getMaxRetries(), api.getMinBackoff())
+                .maxBackoff(api.getMaxBackoff())
+                .jitter(0.5)
+                .filter(e -> retryable(e, idempotent))
+                .doBeforeRetry(signal -> {
+                    meterRegistry.counter("fluffybot.kubernetes.api.retries", "operation", operation).increment();
+                    log.debug("Retrying Kubernetes API call {} (attempt {}): {}",
+                        operation, signal.totalRetries() + 1, signal.failure().getMessage());
+                })
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private void record(String operation, String result, long startedAt) {
+        Timer.builder("fluffybot.kubernetes.api.requests")
+            .description("Kubernetes API calls made through the rate-limited client")
+            .tag("operation", operation)
+            .tag("result", result)
+            .register(meterRegistry)
+            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private static boolean retryable(Throwable e, boolean idempotent) {
+        if (!(e instanceof KubernetesClientException clientException)) {
+            return false;
+        }
+        int code = clientException.getCode();
+        if (code == 429) {
+            return true;
+        }
+        return idempotent && (code >= HttpURLConnection.HTTP_INTERNAL_ERROR || e.getCause() instanceof IOException);
+    }
+
+    private static String resultOf(Throwable e) {
+        if (e instanceof KubernetesClientException clientException && clientException.getCode() > 0) {
+            return String.valueOf(clientException.getCode());
+        }
+        return "error";
+    }
+
+    /**
+     * 예약 방식 token bucket
+     * 토큰이 모자라면 음수로 빌려 쓰고 그만큼 기다리게 하므로 요청 순서대로 간격이 벌어짐
+     */
+    private static class TokenBucket {
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(double qps, int burst) {
+            this.ratePerNano = qps / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, burst);
+            this.tokens = capacity;
+        }
+
+        /**
+         * 토큰 하나를 예약하고 기다려야 하는 시간(ns) 반환
+         */
+        synchronized long reserve() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * ratePerNano);
+            refilledAt = now;
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) (-tokens / ratePerNano);
+        }
+    }
+}
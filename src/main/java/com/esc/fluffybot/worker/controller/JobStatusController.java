@@ -1,47 +1,157 @@
 package com.esc.fluffybot.worker.controller;
 
+import com.esc.fluffybot.worker.dto.JobLogOptions;
 import com.esc.fluffybot.worker.dto.JobStatusResponse;
-import com.esc.fluffybot.worker.service.JobStatusService;
+import com.esc.fluffybot.worker.dto.QueuedTaskResponse;
+import com.esc.fluffybot.worker.service.WorkerExecutor;
+import com.esc.fluffybot.worker.service.WorkerScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @RestController
 @RequestMapping("/jobs")
 @RequiredArgsConstructor
 public class JobStatusController {
 
-    private final JobStatusService jobStatusService;
+    private final WorkerExecutor workerExecutor;
+    private final WorkerScheduler workerScheduler;
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType("text", "plain", StandardCharsets.UTF_8);
+    private static final StringDecoder LINE_DECODER = StringDecoder.textPlainOnly();
 
+    /**
+     * Job 목록 (필터: projectId, issueIid, status / 페이지: page, size)
+     * 전체 건수는 X-Total-Count 헤더로 전달
+     */
     @GetMapping
-    public Flux<JobStatusResponse> listJobs() {
-        log.debug("Listing all jobs");
-        return jobStatusService.listJobs();
+    public Mono<ResponseEntity<List<JobStatusResponse>>> listJobs(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long issueIid,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        log.debug("Listing jobs: projectId={}, issueIid={}, status={}, page={}, size={}",
+            projectId, issueIid, status, page, size);
+
+        if (page < 0 || size < 1) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return workerExecutor.listJobs(projectId, issueIid, status, page, Math.min(size, MAX_PAGE_SIZE))
+            .map(result -> ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.total()))
+                .body(result.items()));
+    }
+
+    /**
+     * 실행 대기 중인 작업 (실행 순서, 예상 시작 시각)
+     */
+    @GetMapping("/queue")
+    public Mono<List<QueuedTaskResponse>> getQueue() {
+        return Mono.fromCallable(workerScheduler::getQueue);
     }
 
     @GetMapping("/{name}")
     public Mono<ResponseEntity<JobStatusResponse>> getJobStatus(@PathVariable String name) {
         log.debug("Getting job status: {}", name);
-        return jobStatusService.getJobStatus(name)
+        return workerExecutor.getJobStatus(name)
             .map(ResponseEntity::ok)
             .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Job 로그 (chunked 스트리밍)
+     * follow=true면 Pod가 끝날 때까지 이어서 전송, offset/limitBytes로 바이트 범위 지정
+     */
     @GetMapping("/{name}/logs")
-    public Mono<ResponseEntity<String>> getJobLogs(@PathVariable String name) {
-        log.debug("Getting job logs: {}", name);
-        return jobStatusService.getJobLogs(name)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getJobLogs(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "false") boolean follow,
+            @RequestParam(required = false) Integer tailLines,
+            @RequestParam(required = false) Integer sinceSeconds,
+            @RequestParam(defaultValue = "0") long offset,
+            @RequestParam(required = false) Long limitBytes) {
+        log.debug("Streaming job logs: {} (follow={})", name, follow);
+
+        JobLogOptions options = logOptions(follow, tailLines, sinceSeconds, offset, limitBytes);
+        if (options == null) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return workerExecutor.streamJobLogs(name, options)
             .map(logs -> ResponseEntity.ok()
-                .header("Content-Type", "text/plain; charset=utf-8")
+                .contentType(TEXT_PLAIN_UTF8)
                 .body(logs))
+            .defaultIfEmpty(ResponseEntity.ok()
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(textBody("No pods found for job: " + name)))
             .onErrorResume(e -> {
                 log.error("Failed to get job logs: {}", e.getMessage());
                 return Mono.just(ResponseEntity.internalServerError()
-                    .body("Failed to get job logs: " + e.getMessage()));
+                    .contentType(TEXT_PLAIN_UTF8)
+                    .body(textBody("Failed to get job logs: " + e.getMessage())));
             });
     }
+
+    /**
+     * Job 로그 (SSE, 한 줄당 이벤트 하나)
+     */
+    @GetMapping(value = "/{name}/logs", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamJobLogEvents(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "true") boolean follow,
+            @RequestParam(required = false) Integer tailLines,
+            @RequestParam(required = false) Integer sinceSeconds) {
+        log.debug("Streaming job log events: {} (follow={})", name, follow);
+
+        JobLogOptions options = logOptions(follow, tailLines, sinceSeconds, 0, null);
+        if (options == null) {
+            return Flux.just(ServerSentEvent.<String>builder().event("error").data("Invalid log parameters").build());
+        }
+
+        return workerExecutor.streamJobLogs(name, options)
+            .flatMapMany(logs -> LINE_DECODER.decode(logs, ResolvableType.forClass(String.class), null, Map.of()))
+            .map(line -> ServerSentEvent.builder(line).build())
+            .switchIfEmpty(Flux.defer(() -> Flux.just(
+                ServerSentEvent.<String>builder().event("error").data("No pods found for job: " + name).build())))
+            .onErrorResume(e -> {
+                log.error("Failed to stream job logs: {}", e.getMessage());
+                return Flux.just(ServerSentEvent.<String>builder().event("error").data(e.getMessage()).build());
+            });
+    }
+
+    private JobLogOptions logOptions(boolean follow, Integer tailLines, Integer sinceSeconds, long offset, Long limitBytes) {
+        if ((tailLines != null && tailLines < 0) || (sinceSeconds != null && sinceSeconds <= 0)
+                || offset < 0 || (limitBytes != null && limitBytes <= 0)) {
+            return null;
+        }
+
+        return JobLogOptions.builder()
+            .follow(follow)
+            .tailLines(tailLines)
+            .sinceSeconds(sinceSeconds)
+            .offset(offset)
+            .limitBytes(limitBytes)
+            .build();
+    }
+
+    private static Flux<DataBuffer> textBody(String text) {
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
 }
@@ -0,0 +1,27 @@
+package com.esc.fluffybot.worker.controller;
+
+import com.esc.fluffybot.worker.dto.ResourceProfileResponse;
+import com.esc.fluffybot.worker.service.ResourceProfileService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 학습된 Worker 리소스 프로필 조회
+ */
+@RestController
+@RequestMapping("/workers/profiles")
+@RequiredArgsConstructor
+public class ResourceProfileController {
+
+    private final ResourceProfileService resourceProfileService;
+
+    @GetMapping
+    public Mono<List<ResourceProfileResponse>> listProfiles() {
+        return Mono.fromSupplier(resourceProfileService::listProfiles);
+    }
+}
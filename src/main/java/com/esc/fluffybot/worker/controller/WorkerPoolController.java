@@ -0,0 +1,88 @@
+package com.esc.fluffybot.worker.controller;
+
+import com.esc.fluffybot.worker.dto.CloneReport;
+import com.esc.fluffybot.worker.dto.MirrorStatusResponse;
+import com.esc.fluffybot.worker.exception.PoolWorkerNotFoundException;
+import com.esc.fluffybot.worker.service.GitMirrorService;
+import com.esc.fluffybot.worker.service.WorkerCallbackTokens;
+import com.esc.fluffybot.worker.service.WorkerDispatchTracker;
+import com.esc.fluffybot.worker.service.WorkerPoolService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Worker Pod 콜백 엔드포인트 (풀 작업 할당, 시작/clone 보고)
+ * 시작/clone 보고는 Job 환경 변수로 전달한 토큰(X-Worker-Token)이 맞아야 받음
+ */
+@Slf4j
+@RestController
+@RequestMapping("/workers")
+@RequiredArgsConstructor
+public class WorkerPoolController {
+
+    private final WorkerPoolService workerPoolService;
+    private final WorkerDispatchTracker dispatchTracker;
+    private final GitMirrorService gitMirrorService;
+    private final WorkerCallbackTokens callbackTokens;
+
+    /**
+     * 풀 Pod의 작업 조회 (long-poll)
+     * 200: 작업 환경 변수, 204: 아직 할당 없음(재조회), 410: 알 수 없는 Pod(종료)
+     */
+    @GetMapping("/pool/{jobName}/task")
+    public Mono<ResponseEntity<Map<String, String>>> awaitTask(
+            @PathVariable String jobName,
+            @RequestHeader(value = "X-Pool-Token", required = false) String token) {
+        return workerPoolService.awaitAssignment(jobName, token)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.noContent().build())
+            .onErrorResume(PoolWorkerNotFoundException.class, e -> {
+                log.warn("Rejected pool poll: {}", e.getMessage());
+                return Mono.just(ResponseEntity.status(HttpStatus.GONE).build());
+            });
+    }
+
+    @PostMapping("/{jobName}/started")
+    public Mono<ResponseEntity<Void>> started(
+            @PathVariable String jobName,
+            @RequestHeader(value = "X-Worker-Token", required = false) String token) {
+        if (!callbackTokens.verify(jobName, token)) {
+            return unauthorized(jobName, "started");
+        }
+        workerPoolService.markStarted(jobName);
+        dispatchTracker.started(jobName);
+        return Mono.just(ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/{jobName}/clone")
+    public Mono<ResponseEntity<Void>> cloned(
+            @PathVariable String jobName,
+            @RequestHeader(value = "X-Worker-Token", required = false) String token,
+            @RequestBody CloneReport report) {
+        if (!callbackTokens.verify(jobName, token)) {
+            return unauthorized(jobName, "clone");
+        }
+        gitMirrorService.recordClone(jobName, report);
+        return Mono.just(ResponseEntity.noContent().build());
+    }
+
+    /**
+     * 프로젝트별 mirror 상태와 clone 적중률, 절약 시간
+     */
+    @GetMapping("/mirrors")
+    public Mono<List<MirrorStatusResponse>> listMirrors() {
+        return Mono.fromSupplier(gitMirrorService::listMirrors);
+    }
+
+    private static Mono<ResponseEntity<Void>> unauthorized(String jobName, String callback) {
+        log.warn("Rejected {} callback for {}: invalid worker token", callback, jobName);
+        return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+}
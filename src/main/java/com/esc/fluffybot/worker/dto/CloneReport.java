@@ -0,0 +1,16 @@
+package com.esc.fluffybot.worker.dto;
+
+import lombok.Data;
+
+/**
+ * Worker가 보고하는 저장소 clone 결과
+ */
+@Data
+public class CloneReport {
+    private Long projectId;
+
+    // mirror: 로컬 mirror 참조, remote: 원격에서 전체 clone
+    private String source;
+
+    private long durationMillis;
+}
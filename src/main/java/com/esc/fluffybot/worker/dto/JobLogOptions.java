@@ -0,0 +1,19 @@
+package com.esc.fluffybot.worker.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Job 로그 조회 옵션
+ */
+@Data
+@Builder
+public class JobLogOptions {
+    private boolean follow;
+    private Integer tailLines;
+    private Integer sinceSeconds;
+    // 앞에서 건너뛸 바이트 수
+    private long offset;
+    // 최대 전송 바이트 수
+    private Long limitBytes;
+}
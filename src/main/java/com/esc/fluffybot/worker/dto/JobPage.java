@@ -0,0 +1,9 @@
+package com.esc.fluffybot.worker.dto;
+
+import java.util.List;
+
+/**
+ * Job 목록 한 페이지와 조건에 맞는 전체 건수
+ */
+public record JobPage(List<JobStatusResponse> items, int total) {
+}
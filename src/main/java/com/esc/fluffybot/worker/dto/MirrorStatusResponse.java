@@ -0,0 +1,20 @@
+package com.esc.fluffybot.worker.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class MirrorStatusResponse {
+    private Long projectId;
+    private String projectPath;
+    private boolean present;
+    private Instant lastSyncedAt;
+    private String lastError;
+    private long cloneHits;
+    private long cloneMisses;
+    private double hitRate;
+    private double savedSeconds;
+}
@@ -0,0 +1,18 @@
+package com.esc.fluffybot.worker.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class QueuedTaskResponse {
+    private String id;
+    private Long projectId;
+    private Long issueIid;
+    private String taskMode;
+    private int position;
+    private Instant enqueuedAt;
+    private Instant estimatedStartTime;
+}
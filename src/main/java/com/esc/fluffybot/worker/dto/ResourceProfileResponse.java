@@ -0,0 +1,19 @@
+package com.esc.fluffybot.worker.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ResourceProfileResponse {
+    private Long projectId;
+    private String taskMode;
+    private int samples;
+    private boolean applied;
+    private String peakCpu;
+    private String peakMemory;
+    private String cpuRequest;
+    private String memoryRequest;
+    private String cpuLimit;
+    private String memoryLimit;
+}
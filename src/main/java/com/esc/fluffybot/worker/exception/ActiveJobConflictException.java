@@ -0,0 +1,7 @@
+package com.esc.fluffybot.worker.exception;
+
+public class ActiveJobConflictException extends RuntimeException {
+    public ActiveJobConflictException(String message) {
+        super(message);
+    }
+}
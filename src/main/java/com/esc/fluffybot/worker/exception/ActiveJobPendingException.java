@@ -0,0 +1,18 @@
+package com.esc.fluffybot.worker.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * QUEUE 정책에서 같은 이슈의 Job이 아직 실행 중이어서 실행을 미룸 (스케줄러가 Job이 끝날 때까지 보류)
+ */
+@Getter
+public class ActiveJobPendingException extends RuntimeException {
+    private final List<String> activeJobs;
+
+    public ActiveJobPendingException(List<String> activeJobs) {
+        super("Waiting for active job(s) " + activeJobs);
+        this.activeJobs = activeJobs;
+    }
+}
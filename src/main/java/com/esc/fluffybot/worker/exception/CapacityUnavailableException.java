@@ -0,0 +1,7 @@
+package com.esc.fluffybot.worker.exception;
+
+public class CapacityUnavailableException extends RuntimeException {
+    public CapacityUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.esc.fluffybot.worker.exception;
+
+public class PoolWorkerNotFoundException extends RuntimeException {
+    public PoolWorkerNotFoundException(String message) {
+        super(message);
+    }
+}
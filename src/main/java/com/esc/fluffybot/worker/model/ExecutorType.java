@@ -0,0 +1,11 @@
+package com.esc.fluffybot.worker.model;
+
+/**
+ * Worker 작업 실행 방식
+ */
+public enum ExecutorType {
+    // namespace에 Job을 생성 (기본값)
+    KUBERNETES,
+    // webhook 서비스 호스트에서 entrypoint.sh를 자식 프로세스로 실행 (소규모 설치, 통합 테스트용)
+    LOCAL
+}
@@ -0,0 +1,26 @@
+package com.esc.fluffybot.worker.model;
+
+/**
+ * Worker Job 종료 결과
+ */
+public enum JobOutcome {
+    SUCCEEDED("succeeded"),
+    // 스크립트가 0이 아닌 코드로 종료
+    FAILED("failed"),
+    // 메모리 제한 초과로 컨테이너가 강제 종료
+    OOM_KILLED("oom_killed"),
+    // activeDeadlineSeconds 초과
+    DEADLINE_EXCEEDED("deadline_exceeded"),
+    // 노드 자원 부족 등으로 Pod가 축출됨
+    EVICTED("evicted");
+
+    private final String tag;
+
+    JobOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
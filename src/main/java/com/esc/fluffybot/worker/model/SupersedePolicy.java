@@ -0,0 +1,15 @@
+package com.esc.fluffybot.worker.model;
+
+/**
+ * 같은 이슈(같은 모드)에 실행 중인 Job이 있을 때 새 작업을 처리하는 방식
+ */
+public enum SupersedePolicy {
+    // 기존 Job과 상관없이 새 Job을 함께 실행 (도입 전 동작, 같은 브랜치에서 경쟁할 수 있음)
+    PARALLEL,
+    // 새 작업을 건너뛰고 이슈에 안내 코멘트
+    REJECT,
+    // 기존 Job이 끝날 때까지 기다린 뒤 생성 (기본값)
+    QUEUE,
+    // 기존 Job을 foreground 삭제로 취소하고 새로 생성
+    REPLACE
+}
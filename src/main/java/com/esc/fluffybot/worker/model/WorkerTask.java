@@ -19,4 +19,6 @@ public class WorkerTask {
     private Long mrIid;  // Used only for wiki mode
     private String descriptionPrevious;  // Previous issue description (for incremental work)
     private String descriptionCurrent;   // Current issue description (for incremental work)
+    private String workspaceClaim;  // Persistent per-issue workspace PVC (optional, issue mode)
+    private String commentBranches;  // Branches from bot comments, one per line (null: worker fetches them itself)
 }
@@ -0,0 +1,80 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.worker.client.KubernetesApiClient;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 공유 빌드 캐시 용량 정리
+ *
+ * 캐시 PVC는 webhook에 마운트되어 있지 않으므로, 주기마다 캐시를 마운트한 정리 Job(cache-evict 모드)을 실행합니다.
+ * Job은 캐시별 상한을 넘으면 마지막 수정 시각이 오래된 파일부터 지웁니다.
+ * Worker가 작업 동안 캐시 루트에 공유 락을 잡으므로, 정리 Job은 배타 락을 잡았을 때만 전체를 대상으로 하고
+ * 못 잡으면 실행 중인 Job이 시작되기 전부터 바뀌지 않은 파일만 지웁니다.
+ * 이전 정리 Job이 아직 실행 중이면(다른 replica가 만든 것 포함) 건너뜁니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheEvictionService {
+
+    private final KubernetesClient kubernetesClient;
+    private final KubernetesApiClient kubernetesApiClient;
+    private final WorkerProperties workerProperties;
+    private final WorkerJobFactory jobFactory;
+
+    private volatile Instant lastRun = Instant.EPOCH;
+
+    @Scheduled(fixedDelayString = "PT10M")
+    public void evict() {
+        WorkerProperties.Caches caches = workerProperties.getCaches();
+        if (!caches.isEnabled() || caches.getVolumes().isEmpty() || !workerProperties.runsOnKubernetes()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        if (now.isBefore(lastRun.plus(caches.getEvictionInterval()))) {
+            return;
+        }
+
+        try {
+            List<Job> running = kubernetesApiClient.read("job.list", "cache-evict", () -> kubernetesClient.batch().v1().jobs()
+                    .inNamespace(workerProperties.getNamespace())
+                    .withLabel("app", WorkerJobFactory.MAINTENANCE_APP)
+                    .withLabel("task-mode", "cache-evict")
+                    .list()
+                    .getItems())
+                .blockOptional()
+                .orElse(List.of())
+                .stream()
+                .filter(job -> job.getStatus() == null
+                    || (job.getStatus().getSucceeded() == null && job.getStatus().getFailed() == null))
+                .toList();
+            if (!running.isEmpty()) {
+                log.debug("Cache eviction job {} still running, skipping", running.get(0).getMetadata().getName());
+                lastRun = now;
+                return;
+            }
+
+            String jobName = "fluffybot-cache-evict-" + now.getEpochSecond();
+            Job job = jobFactory.buildCacheEvictJob(jobName);
+            kubernetesApiClient.write("job.create", () -> kubernetesClient.batch().v1().jobs()
+                    .inNamespace(workerProperties.getNamespace())
+                    .resource(job)
+                    .create())
+                .block();
+            lastRun = now;
+            log.info("Started cache eviction job {}", jobName);
+        } catch (Exception e) {
+            log.warn("Failed to start cache eviction job: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import io.fabric8.kubernetes.api.model.Node;
+import io.fabric8.kubernetes.api.model.NodeCondition;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceQuota;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Worker namespace 용량 추적
+ *
+ * ResourceQuota(그리고 설정 시 노드 allocatable)를 informer로 지켜보며 작업 하나가 들어갈 여유가 있는지 판단합니다.
+ * 스케줄러는 여유가 없으면 Job을 만들지 않고 대기열에 두며, 용량이 바뀔 때 등록된 리스너로 다시 시도합니다.
+ * 막 생성한 Job은 quota의 used에 반영되기까지 시간이 걸리므로 잠시 예약분으로 더해서 계산합니다.
+ */
+@Slf4j
+@Component
+public class CapacityTracker {
+
+    private static final Duration RESERVATION_TTL = Duration.ofSeconds(30);
+
+    private final KubernetesClient kubernetesClient;
+    private final WorkerProperties workerProperties;
+    private final MeterRegistry meterRegistry;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+
+    private SharedIndexInformer<ResourceQuota> quotaInformer;
+    private SharedIndexInformer<Node> nodeInformer;
+    private SharedIndexInformer<Pod> scheduledPodInformer;
+
+    public CapacityTracker(KubernetesClient kubernetesClient, WorkerProperties workerProperties, MeterRegistry meterRegistry) {
+        this.kubernetesClient = kubernetesClient;
+        this.workerProperties = workerProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        WorkerProperties.Capacity capacity = workerProperties.getCapacity();
+        if (!capacity.isEnabled() || !workerProperties.runsOnKubernetes()) {
+            return;
+        }
+
+        quotaInformer = kubernetesClient.resourceQuotas()
+            .inNamespace(workerProperties.getNamespace())
+            .runnableInformer(0);
+        quotaInformer.addEventHandler(new ChangeNotifier<>(false));
+        quotaInformer.start();
+        registerHeadroomGauge("cpu", "quota", () -> quotaHeadroom("cpu"));
+        registerHeadroomGauge("memory", "quota", () -> quotaHeadroom("memory"));
+
+        if (capacity.isTrackNodes()) {
+            // 노드 단위 여유는 클러스터 전체 Pod 요청량이 필요하므로 ClusterRole 권한이 있어야 함
+            nodeInformer = kubernetesClient.nodes().runnableInformer(0);
+            nodeInformer.addEventHandler(new ChangeNotifier<>(false));
+            scheduledPodInformer = kubernetesClient.pods().inAnyNamespace()
+                .withoutField("spec.nodeName", "")
+                .runnableInformer(0);
+            // 클러스터 전체 Pod 이벤트는 많으므로 자원이 풀리는 삭제만 알림
+            scheduledPodInformer.addEventHandler(new ChangeNotifier<>(true));
+            nodeInformer.start();
+            scheduledPodInformer.start();
+            registerHeadroomGauge("cpu", "nodes", () -> largestNodeHeadroom("cpu"));
+            registerHeadroomGauge("memory", "nodes", () -> largestNodeHeadroom("memory"));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (quotaInformer != null) {
+            quotaInformer.stop();
+        }
+        if (nodeInformer != null) {
+            nodeInformer.stop();
+        }
+        if (scheduledPodInformer != null) {
+            scheduledPodInformer.stop();
+        }
+    }
+
+    /**
+     * 용량이 늘어날 수 있는 변화(quota 사용량, 노드, Pod 종료)가 있을 때 호출될 리스너 등록
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 주어진 리소스의 Pod 하나를 지금 만들 수 있는지
+     * 추적 정보가 아직 없으면(비활성, 동기화 전) 막지 않음
+     */
+    public boolean fits(ResourceRequirements resources) {
+        if (quotaInformer == null || !quotaInformer.hasSynced()) {
+            return true;
+        }
+
+        Map<String, BigDecimal> demand = quotaDemand(resources);
+        Map<String, BigDecimal> reserved = reservedDemand();
+
+        for (ResourceQuota quota : quotaInformer.getStore().list()) {
+            if (quota.getStatus() == null || quota.getStatus().getHard() == null) {
+                continue;
+            }
+            Map<String, Quantity> hard = quota.getStatus().getHard();
+            Map<String, Quantity> used = quota.getStatus().getUsed() != null ? quota.getStatus().getUsed() : Map.of();
+
+            for (Map.Entry<String, BigDecimal> entry : demand.entrySet()) {
+                Quantity limit = hard.get(entry.getKey());
+                if (limit == null) {
+                    continue;
+                }
+                BigDecimal total = amount(used.get(entry.getKey()))
+                    .add(reserved.getOrDefault(entry.getKey(), BigDecimal.ZERO))
+                    .add(entry.getValue());
+                if (total.compareTo(limit.getNumericalAmount()) > 0) {
+                    log.debug("Quota {} has no room for {} (needs {}, limit {})",
+                        quota.getMetadata().getName(), entry.getKey(), total, limit);
+                    return false;
+                }
+            }
+        }
+
+        return nodeInformer == null || !nodeInformer.hasSynced() || !scheduledPodInformer.hasSynced()
+            || fitsOnSomeNode(resources);
+    }
+
+    /**
+     * 방금 생성한 Job의 리소스를 quota에 반영될 때까지 예약
+     */
+    public void reserve(String jobName, ResourceRequirements resources) {
+        reservations.put(jobName, new Reservation(quotaDemand(resources), Instant.now().plus(RESERVATION_TTL)));
+    }
+
+    private boolean fitsOnSomeNode(ResourceRequirements resources) {
+        BigDecimal cpu = amount(requests(resources).get("cpu"));
+        BigDecimal memory = amount(requests(resources).get("memory"));
+        Map<String, Map<String, BigDecimal>> free = freeByNode();
+        return free.values().stream().anyMatch(node ->
+            node.getOrDefault("cpu", BigDecimal.ZERO).compareTo(cpu) >= 0
+                && node.getOrDefault("memory", BigDecimal.ZERO).compareTo(memory) >= 0);
+    }
+
+    /**
+     * 스케줄 가능한 노드별 남은 cpu/memory (allocatable - 실행 중인 Pod 요청량 합)
+     */
+    private Map<String, Map<String, BigDecimal>> freeByNode() {
+        Map<String, Map<String, BigDecimal>> free = new HashMap<>();
+        for (Node node : nodeInformer.getStore().list()) {
+            if (!isSchedulable(node) || node.getStatus() == null || node.getStatus().getAllocatable() == null) {
+                continue;
+            }
+            Map<String, BigDecimal> allocatable = new HashMap<>();
+            allocatable.put("cpu", amount(node.getStatus().getAllocatable().get("cpu")));
+            allocatable.put("memory", amount(node.getStatus().getAllocatable().get("memory")));
+            free.put(node.getMetadata().getName(), allocatable);
+        }
+
+        for (Pod pod : scheduledPodInformer.getStore().list()) {
+            String phase = pod.getStatus() != null ? pod.getStatus().getPhase() : null;
+            Map<String, BigDecimal> node = free.get(pod.getSpec().getNodeName());
+            if (node == null || "Succeeded".equals(phase) || "Failed".equals(phase)) {
+                continue;
+            }
+            pod.getSpec().getContainers().forEach(container -> {
+                Map<String, Quantity> podRequests = requests(container.getResources());
+                node.merge("cpu", amount(podRequests.get("cpu")).negate(), BigDecimal::add);
+                node.merge("memory", amount(podRequests.get("memory")).negate(), BigDecimal::add);
+            });
+        }
+        return free;
+    }
+
+    private double quotaHeadroom(String resource) {
+        if (quotaInformer == null || !quotaInformer.hasSynced()) {
+            return Double.NaN;
+        }
+
+        BigDecimal headroom = null;
+        for (ResourceQuota quota : quotaInformer.getStore().list()) {
+            if (quota.getStatus() == null || quota.getStatus().getHard() == null) {
+                continue;
+            }
+            for (String key : List.of("requests." + resource, resource)) {
+                Quantity hard = quota.getStatus().getHard().get(key);
+                if (hard == null) {
+                    continue;
+                }
+                Quantity used = quota.getStatus().getUsed() != null ? quota.getStatus().getUsed().get(key) : null;
+                BigDecimal remaining = hard.getNumericalAmount().subtract(amount(used));
+                headroom = headroom == null ? remaining : headroom.min(remaining);
+            }
+        }
+        // quota가 없으면 제한 없음
+        return headroom != null ? headroom.doubleValue() : Double.POSITIVE_INFINITY;
+    }
+
+    private double largestNodeHeadroom(String resource) {
+        if (nodeInformer == null || !nodeInformer.hasSynced() || !scheduledPodInformer.hasSynced()) {
+            return Double.NaN;
+        }
+        return freeByNode().values().stream()
+            .map(node -> node.getOrDefault(resource, BigDecimal.ZERO))
+            .max(BigDecimal::compareTo)
+            .orElse(BigDecimal.ZERO)
+            .doubleValue();
+    }
+
+    private void registerHeadroomGauge(String resource, String source, Supplier<Number> value) {
+        Gauge.builder("fluffybot.worker.capacity.headroom", value)
+            .description("Remaining worker capacity (cores for cpu, bytes for memory)")
+            .tag("resource", resource)
+            .tag("source", source)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Pod 하나가 quota에서 차지하는 양 (quota 키 기준)
+     */
+    private static Map<String, BigDecimal> quotaDemand(ResourceRequirements resources) {
+        Map<String, Quantity> requests = requests(resources);
+        Map<String, Quantity> limits = resources != null && resources.getLimits() != null ? resources.getLimits() : Map.of();
+
+        Map<String, BigDecimal> demand = new HashMap<>();
+        demand.put("pods", BigDecimal.ONE);
+        demand.put("count/jobs.batch", BigDecimal.ONE);
+        demand.put("cpu", amount(requests.get("cpu")));
+        demand.put("requests.cpu", amount(requests.get("cpu")));
+        demand.put("memory", amount(requests.get("memory")));
+        demand.put("requests.memory", amount(requests.get("memory")));
+        demand.put("limits.cpu", amount(limits.get("cpu")));
+        demand.put("limits.memory", amount(limits.get("memory")));
+        return demand;
+    }
+
+    private Map<String, BigDecimal> reservedDemand() {
+        Instant now = Instant.now();
+        reservations.values().removeIf(reservation -> reservation.expiresAt().isBefore(now));
+
+        Map<String, BigDecimal> reserved = new HashMap<>();
+        reservations.values().forEach(reservation ->
+            reservation.demand().forEach((key, value) -> reserved.merge(key, value, BigDecimal::add)));
+        return reserved;
+    }
+
+    private static Map<String, Quantity> requests(ResourceRequirements resources) {
+        return resources != null && resources.getRequests() != null ? resources.getRequests() : Map.of();
+    }
+
+    private static BigDecimal amount(Quantity quantity) {
+        return quantity != null ? quantity.getNumericalAmount() : BigDecimal.ZERO;
+    }
+
+    private static boolean isSchedulable(Node node) {
+        if (node.getSpec() != null && Boolean.TRUE.equals(node.getSpec().getUnschedulable())) {
+            return false;
+        }
+        List<NodeCondition> conditions = node.getStatus() != null ? node.getStatus().getConditions() : null;
+        return conditions == null || conditions.stream()
+            .noneMatch(condition -> "Ready".equals(condition.getType()) && !"True".equals(condition.getStatus()));
+    }
+
+    private void notifyListeners() {
+        listeners.forEach(listener -> {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                log.warn("Capacity listener failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 용량이 바뀔 수 있는 이벤트마다 리스너 호출
+     */
+    private class ChangeNotifier<T> implements ResourceEventHandler<T> {
+
+        private final boolean deletesOnly;
+
+        private ChangeNotifier(boolean deletesOnly) {
+            this.deletesOnly = deletesOnly;
+        }
+
+        @Override
+        public void onAdd(T resource) {
+            if (!deletesOnly) {
+                notifyListeners();
+            }
+        }
+
+        @Override
+        public void onUpdate(T oldResource, T newResource) {
+            if (!deletesOnly) {
+                notifyListeners();
+            }
+        }
+
+        @Override
+        public void onDelete(T resource, boolean deletedFinalStateUnknown) {
+            notifyListeners();
+        }
+    }
+
+    private record Reservation(Map<String, BigDecimal> demand, Instant expiresAt) {
+    }
+}
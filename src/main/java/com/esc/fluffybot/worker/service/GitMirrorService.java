@@ -0,0 +1,349 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.GitLabProperties;
+import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.worker.dto.CloneReport;
+import com.esc.fluffybot.worker.dto.MirrorStatusResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 프로젝트별 bare mirror 관리
+ *
+ * 작업이 들어온 프로젝트는 공유 볼륨에 bare 저장소로 받아두고, push/merge 웹훅이 올 때마다 증분 fetch합니다.
+ * Worker는 같은 볼륨을 읽기 전용으로 마운트해 {@code git clone --reference --dissociate}로 clone하므로
+ * GitLab에서는 mirror 이후의 변경분만 받습니다.
+ * 같은 프로젝트의 갱신 요청은 합쳐서 실행 중인 동기화가 끝난 뒤 한 번 더 fetch합니다.
+ */
+@Slf4j
+@Service
+public class GitMirrorService {
+
+    public static final String SOURCE_MIRROR = "mirror";
+    public static final String SOURCE_REMOTE = "remote";
+
+    // 프로젝트별 원격 clone 시간 평균의 가중치
+    private static final double BASELINE_WEIGHT = 0.3;
+    private static final int OUTPUT_TAIL = 500;
+
+    private final WorkerProperties workerProperties;
+    private final GitLabProperties gitLabProperties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final Counter savedSeconds;
+
+    private final Map<Long, MirrorState> mirrors = new ConcurrentHashMap<>();
+
+    public GitMirrorService(WorkerProperties workerProperties,
+                            GitLabProperties gitLabProperties,
+                            MeterRegistry meterRegistry) {
+        this.workerProperties = workerProperties;
+        this.gitLabProperties = gitLabProperties;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(
+            Math.max(1, workerProperties.getMirror().getMaxConcurrentSyncs()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "git-mirror-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.savedSeconds = Counter.builder("fluffybot.worker.clone.saved")
+            .description("Estimated clone time saved by cloning with a local mirror reference")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return workerProperties.getMirror().isEnabled();
+    }
+
+    /**
+     * Worker Pod 안에서 볼 mirror 경로
+     */
+    public String workerMirrorPath(Long projectId) {
+        return workerProperties.getMirror().getMountPath() + "/" + projectId + ".git";
+    }
+
+    /**
+     * 작업이 들어온 프로젝트의 mirror가 없으면 백그라운드로 생성
+     * (생성 중이거나 실패해도 Worker는 원격에서 clone)
+     */
+    public void ensure(Long projectId, String projectPath) {
+        if (!isEnabled() || projectId == null || projectPath == null) {
+            return;
+        }
+        // 재시작 후 처음 보는 프로젝트는 기존 mirror도 한 번 갱신
+        MirrorState state = state(projectId, projectPath);
+        if (state.lastSyncedAt == null) {
+            schedule(state);
+        }
+    }
+
+    /**
+     * push/merge 웹훅 수신 시 이미 있는 mirror만 증분 갱신
+     */
+    public void refresh(Long projectId, String projectPath) {
+        if (!isEnabled() || projectId == null || projectPath == null) {
+            return;
+        }
+        if (mirrors.containsKey(projectId) || Files.isDirectory(localPath(projectId))) {
+            schedule(state(projectId, projectPath));
+        }
+    }
+
+    /**
+     * Worker가 보고한 clone 결과 기록
+     * mirror clone은 같은 프로젝트의 최근 원격 clone 시간과 비교해 절약 시간을 추정합니다.
+     */
+    public void recordClone(String jobName, CloneReport report) {
+        String source = SOURCE_MIRROR.equals(report.getSource()) ? SOURCE_MIRROR : SOURCE_REMOTE;
+        Duration duration = Duration.ofMillis(Math.max(0, report.getDurationMillis()));
+
+        Timer.builder("fluffybot.worker.clone.duration")
+            .description("Worker repository clone time")
+            .tag("source", source)
+            .register(meterRegistry)
+            .record(duration);
+
+        if (report.getProjectId() == null) {
+            return;
+        }
+
+        MirrorState state = mirrors.computeIfAbsent(report.getProjectId(), id -> new MirrorState(id, null));
+        if (SOURCE_MIRROR.equals(source)) {
+            state.hits.incrementAndGet();
+            double baseline = state.remoteCloneSeconds;
+            if (baseline > 0) {
+                double saved = Math.max(0, baseline - duration.toMillis() / 1000.0);
+                savedSeconds.increment(saved);
+                state.savedMillis.addAndGet(Math.round(saved * 1000));
+            }
+        } else {
+            state.misses.incrementAndGet();
+            double seconds = duration.toMillis() / 1000.0;
+            state.remoteCloneSeconds = state.remoteCloneSeconds > 0
+                ? BASELINE_WEIGHT * seconds + (1 - BASELINE_WEIGHT) * state.remoteCloneSeconds
+                : seconds;
+        }
+        log.debug("Worker {} cloned project {} from {} in {} ms",
+            jobName, report.getProjectId(), source, duration.toMillis());
+    }
+
+    /**
+     * 프로젝트별 mirror 상태와 clone 적중률
+     */
+    public List<MirrorStatusResponse> listMirrors() {
+        List<MirrorStatusResponse> result = new ArrayList<>();
+        mirrors.forEach((projectId, state) -> {
+            long hits = state.hits.get();
+            long misses = state.misses.get();
+            result.add(MirrorStatusResponse.builder()
+                .projectId(projectId)
+                .projectPath(state.projectPath)
+                .present(Files.isDirectory(localPath(projectId)))
+                .lastSyncedAt(state.lastSyncedAt)
+                .lastError(state.lastError)
+                .cloneHits(hits)
+                .cloneMisses(misses)
+                .hitRate(hits + misses > 0 ? (double) hits / (hits + misses) : 0)
+                .savedSeconds(state.savedMillis.get() / 1000.0)
+                .build());
+        });
+        result.sort(Comparator.comparing(MirrorStatusResponse::getProjectId));
+        return result;
+    }
+
+    private MirrorState state(Long projectId, String projectPath) {
+        MirrorState state = mirrors.computeIfAbsent(projectId, id -> new MirrorState(id, projectPath));
+        state.projectPath = projectPath;
+        return state;
+    }
+
+    private void schedule(MirrorState state) {
+        // 실행 중인 동기화가 있으면 요청 수만 늘려 끝난 뒤 한 번 더 실행되게 함
+        if (state.requests.getAndIncrement() == 0) {
+            executor.execute(() -> drain(state));
+        }
+    }
+
+    private void drain(MirrorState state) {
+        int seen;
+        do {
+            seen = state.requests.get();
+            sync(state);
+        } while (state.requests.addAndGet(-seen) > 0);
+    }
+
+    private void sync(MirrorState state) {
+        Long projectId = state.projectId;
+        if (state.projectPath == null) {
+            return;
+        }
+
+        Path path = localPath(projectId);
+        boolean exists = Files.isDirectory(path);
+        String operation = exists ? "fetch" : "clone";
+        long started = System.nanoTime();
+
+        try {
+            if (exists) {
+                git(path, "fetch", "--prune", "origin");
+            } else {
+                create(path, state.projectPath);
+            }
+            state.lastSyncedAt = Instant.now();
+            state.lastError = null;
+            record(operation, "success", started);
+            log.info("Git mirror for project {} {}ed in {} ms", projectId, operation,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (Exception e) {
+            state.lastError = e.getMessage();
+            record(operation, "failure", started);
+            log.warn("Git mirror {} failed for project {}: {}", operation, projectId, e.getMessage());
+        }
+    }
+
+    /**
+     * 임시 디렉토리에 bare 저장소를 받은 뒤 이름을 바꿔, Worker가 반쯤 받은 mirror를 참조하지 않도록 함
+     * merge-requests 등 GitLab 내부 ref는 받지 않도록 branch와 tag만 fetch합니다.
+     */
+    private void create(Path path, String projectPath) throws IOException, InterruptedException {
+        Files.createDirectories(path.getParent());
+        Path staging = path.resolveSibling(path.getFileName() + ".tmp-" + System.nanoTime());
+        try {
+            run(null, "init", "--bare", staging.toString());
+            git(staging, "remote", "add", "origin", remoteUrl(projectPath));
+            git(staging, "config", "--replace-all", "remote.origin.fetch", "+refs/heads/*:refs/heads/*");
+            git(staging, "config", "--add", "remote.origin.fetch", "+refs/tags/*:refs/tags/*");
+            // 백그라운드 gc가 Worker clone 중에 pack을 지우지 않도록 fetch 안에서 끝냄
+            git(staging, "config", "gc.autoDetach", "false");
+            git(staging, "fetch", "--prune", "origin");
+            Files.move(staging, path, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            deleteRecursively(staging);
+        }
+    }
+
+    private void git(Path gitDir, String... args) throws IOException, InterruptedException {
+        run(gitDir, args);
+    }
+
+    private void run(Path gitDir, String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        if (gitDir != null) {
+            command.add("--git-dir=" + gitDir);
+        }
+        command.addAll(List.of(args));
+
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+        builder.environment().put("GIT_TERMINAL_PROMPT", "0");
+        // 토큰은 환경 변수 설정으로만 전달 (명령 인자는 ps 등으로 노출되고, 저장소 설정에는 남기지 않음)
+        builder.environment().put("GIT_CONFIG_COUNT", "1");
+        builder.environment().put("GIT_CONFIG_KEY_0", "http.extraHeader");
+        builder.environment().put("GIT_CONFIG_VALUE_0", "Authorization: Basic " + Base64.getEncoder().encodeToString(
+            (gitLabProperties.getBotUsername() + ":" + gitLabProperties.getToken()).getBytes(StandardCharsets.UTF_8)));
+        Process process = builder.start();
+
+        // 출력이 파이프 버퍼를 채워 멈추지 않도록 계속 읽어둠
+        StringBuilder output = new StringBuilder();
+        Thread reader = new Thread(() -> {
+            try {
+                output.append(new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException ignored) {
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+
+        Duration timeout = workerProperties.getMirror().getSyncTimeout();
+        if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("git " + args[0] + " timed out after " + timeout.toMinutes() + "m");
+        }
+        reader.join(TimeUnit.SECONDS.toMillis(5));
+
+        if (process.exitValue() != 0) {
+            String text = output.toString().strip();
+            throw new IllegalStateException("git " + args[0] + " exited with " + process.exitValue() + ": "
+                + (text.length() > OUTPUT_TAIL ? text.substring(text.length() - OUTPUT_TAIL) : text));
+        }
+    }
+
+    private void record(String operation, String result, long startedNanos) {
+        Timer.builder("fluffybot.git.mirror.sync")
+            .description("Bare mirror clone/fetch time")
+            .tag("operation", operation)
+            .tag("result", result)
+            .register(meterRegistry)
+            .record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String remoteUrl(String projectPath) {
+        String base = gitLabProperties.getUrl();
+        return (base.endsWith("/") ? base : base + "/") + projectPath + ".git";
+    }
+
+    private Path localPath(Long projectId) {
+        return Path.of(workerProperties.getMirror().getLocalPath(), projectId + ".git");
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static class MirrorState {
+        private final Long projectId;
+        private volatile String projectPath;
+        private volatile Instant lastSyncedAt;
+        private volatile String lastError;
+        // 원격 clone 시간 이동 평균 (초), 0이면 아직 관측 없음
+        private volatile double remoteCloneSeconds;
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong savedMillis = new AtomicLong();
+
+        MirrorState(Long projectId, String projectPath) {
+            this.projectId = projectId;
+            this.projectPath = projectPath;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.gitlab.client.GitLabApiClient;
+import com.esc.fluffybot.worker.model.JobOutcome;
+import io.fabric8.kubernetes.api.model.ContainerStateTerminated;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobCondition;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Worker Job 종료 감지 및 GitLab 결과 보고
+ *
+ * JobIndex의 informer 이벤트로 Job이 성공/실패 상태로 바뀌는 순간을 잡아 원인(OOMKilled, DeadlineExceeded, Evicted)을 판별합니다.
+ * 스크립트가 스스로 보고할 수 없는 종료(강제 종료, 축출 등)도 이슈에 남도록 하는 것이 목적입니다.
+ * 일반 실패는 스크립트의 EXIT trap이 이미 코멘트를 남기므로, 종료 메시지에 그 표시가 없는 경우에만 보고합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobCompletionWatcher implements ResourceEventHandler<Job> {
+
+    private final JobIndex jobIndex;
+    private final WorkerProperties workerProperties;
+    private final GitLabApiClient gitLabApiClient;
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void register() {
+        if (workerProperties.getCompletion().isEnabled()) {
+            jobIndex.addJobHandler(this);
+        }
+    }
+
+    @Override
+    public void onAdd(Job job) {
+        // 이미 끝난 채로 들어온 Job(재시작 후 초기 동기화 등)은 보고하지 않음
+    }
+
+    @Override
+    public void onUpdate(Job oldJob, Job newJob) {
+        if (isFinished(oldJob) || !isFinished(newJob)) {
+            return;
+        }
+
+        try {
+            handleFinished(newJob);
+        } catch (Exception e) {
+            log.error("Failed to handle completion of job {}: {}", newJob.getMetadata().getName(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void onDelete(Job job, boolean deletedFinalStateUnknown) {
+        // 삭제(supersede 취소, TTL 정리)는 종료 보고 대상이 아님
+    }
+
+    private void handleFinished(Job job) {
+        String jobName = job.getMetadata().getName();
+        Map<String, String> labels = job.getMetadata().getLabels();
+        String mode = labels.getOrDefault("task-mode", "unknown");
+
+        Optional<Pod> pod = jobIndex.findPod(jobName);
+        Optional<ContainerStateTerminated> terminated = pod.flatMap(JobCompletionWatcher::terminatedState);
+        JobOutcome outcome = determineOutcome(job, pod, terminated);
+
+        Instant created = parse(job.getMetadata().getCreationTimestamp());
+        Instant started = terminated.map(ContainerStateTerminated::getStartedAt).map(JobCompletionWatcher::parse)
+            .orElse(null);
+        Instant finished = finishTime(job);
+
+        if (created != null && started != null) {
+            durationTimer("fluffybot.worker.job.queue.duration", "Time from job creation until the worker container started",
+                "mode", mode)
+                .record(nonNegative(Duration.between(created, started)));
+        }
+        if (started != null && finished != null) {
+            durationTimer("fluffybot.worker.job.run.duration", "Time from worker container start until the job finished",
+                "mode", mode, "outcome", outcome.getTag())
+                .record(nonNegative(Duration.between(started, finished)));
+        }
+
+        log.info("Worker job {} finished: outcome={}, mode={}", jobName, outcome, mode);
+
+        String projectId = labels.get("project-id");
+        String issueIid = labels.get("issue-iid");
+        if (projectId == null || issueIid == null) {
+            return;
+        }
+        if (outcome == JobOutcome.SUCCEEDED && !workerProperties.getCompletion().isReportSuccess()) {
+            return;
+        }
+        if (outcome == JobOutcome.FAILED && reportedByScript(terminated)) {
+            log.debug("Worker job {} already reported its failure, skipping completion comment", jobName);
+            return;
+        }
+
+        Duration runtime = started != null && finished != null ? Duration.between(started, finished) : null;
+        String comment = buildComment(job, mode, outcome, terminated, runtime);
+
+        gitLabApiClient.postComment(Long.parseLong(projectId), Long.parseLong(issueIid), comment)
+            .doOnError(e -> log.error("Failed to post completion comment for {}: {}", jobName, e.getMessage()))
+            .subscribe();
+    }
+
+    private JobOutcome determineOutcome(Job job, Optional<Pod> pod, Optional<ContainerStateTerminated> terminated) {
+        if ("succeeded".equals(JobIndex.statusOf(job))) {
+            return JobOutcome.SUCCEEDED;
+        }
+
+        boolean deadlineExceeded = failedCondition(job)
+            .map(condition -> "DeadlineExceeded".equals(condition.getReason()))
+            .orElse(false);
+        if (deadlineExceeded || pod.map(p -> "DeadlineExceeded".equals(p.getStatus().getReason())).orElse(false)) {
+            return JobOutcome.DEADLINE_EXCEEDED;
+        }
+
+        if (terminated.map(state -> "OOMKilled".equals(state.getReason())).orElse(false)) {
+            return JobOutcome.OOM_KILLED;
+        }
+
+        if (pod.map(p -> "Evicted".equals(p.getStatus().getReason())).orElse(false)) {
+            return JobOutcome.EVICTED;
+        }
+
+        return JobOutcome.FAILED;
+    }
+
+    private String buildComment(Job job, String mode, JobOutcome outcome,
+                                Optional<ContainerStateTerminated> terminated, Duration runtime) {
+        String jobName = job.getMetadata().getName();
+        String headline = switch (outcome) {
+            case SUCCEEDED -> "✅ 작업이 완료되었습니다.";
+            case OOM_KILLED -> String.format("💥 작업이 메모리 부족(OOMKilled)으로 중단되었습니다. (메모리 제한: %s)",
+                memoryLimitOf(job));
+            case DEADLINE_EXCEEDED -> "⏱️ 작업이 제한 시간을 초과하여 중단되었습니다.";
+            case EVICTED -> "⚠️ 작업 Pod가 노드에서 축출(Evicted)되어 중단되었습니다.";
+            case FAILED -> terminated.map(ContainerStateTerminated::getExitCode)
+                .map(code -> String.format("❌ 작업이 실패했습니다. (exit code %d)", code))
+                .orElse("❌ 작업이 실패했습니다.");
+        };
+
+        StringBuilder comment = new StringBuilder(headline).append("\n\n")
+            .append("- Job: `").append(jobName).append("` (").append(mode).append(")\n");
+        if (runtime != null) {
+            comment.append("- 실행 시간: ").append(formatDuration(runtime)).append('\n');
+        }
+        if (outcome != JobOutcome.SUCCEEDED) {
+            comment.append("\n다시 요청하려면 이슈를 수정하거나 멘션해주세요.");
+        }
+        return comment.toString();
+    }
+
+    private Timer durationTimer(String name, String description, String... tags) {
+        return Timer.builder(name)
+            .description(description)
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static boolean reportedByScript(Optional<ContainerStateTerminated> terminated) {
+        return terminated.map(ContainerStateTerminated::getMessage)
+            .map(message -> message.contains(WorkerJobFactory.FAILURE_REPORTED))
+            .orElse(false);
+    }
+
+    private static boolean isFinished(Job job) {
+        String status = JobIndex.statusOf(job);
+        return "succeeded".equals(status) || "failed".equals(status);
+    }
+
+    private static Optional<JobCondition> failedCondition(Job job) {
+        if (job.getStatus() == null || job.getStatus().getConditions() == null) {
+            return Optional.empty();
+        }
+        return job.getStatus().getConditions().stream()
+            .filter(condition -> "Failed".equals(condition.getType()) && "True".equals(condition.getStatus()))
+            .findFirst();
+    }
+
+    private static Instant finishTime(Job job) {
+        if (job.getStatus() != null && job.getStatus().getCompletionTime() != null) {
+            return parse(job.getStatus().getCompletionTime());
+        }
+        return failedCondition(job)
+            .map(JobCondition::getLastTransitionTime)
+            .map(JobCompletionWatcher::parse)
+            .orElse(null);
+    }
+
+    /**
+     * Job에 실제로 걸린 메모리 제한 (학습된 리소스 프로필이면 기본값과 다름)
+     */
+    private String memoryLimitOf(Job job) {
+        return job.getSpec().getTemplate().getSpec().getContainers().stream()
+            .filter(container -> "worker".equals(container.getName()))
+            .findFirst()
+            .map(container -> container.getResources() != null && container.getResources().getLimits() != null
+                ? container.getResources().getLimits().get("memory")
+                : null)
+            .map(Quantity::toString)
+            .orElse(workerProperties.getMemoryLimit());
+    }
+
+    private static Optional<ContainerStateTerminated> terminatedState(Pod pod) {
+        if (pod.getStatus() == null || pod.getStatus().getContainerStatuses() == null) {
+            return Optional.empty();
+        }
+        return pod.getStatus().getContainerStatuses().stream()
+            .filter(status -> "worker".equals(status.getName()))
+            .map(ContainerStatus::getState)
+            .filter(state -> state != null && state.getTerminated() != null)
+            .map(state -> state.getTerminated())
+            .findFirst();
+    }
+
+    private static Instant parse(String timestamp) {
+        return timestamp != null ? ZonedDateTime.parse(timestamp).toInstant() : null;
+    }
+
+    private static Duration nonNegative(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+
+    private static String formatDuration(Duration duration) {
+        long minutes = duration.toMinutes();
+        long seconds = duration.toSecondsPart();
+        return minutes > 0 ? String.format("%d분 %d초", minutes, seconds) : String.format("%d초", seconds);
+    }
+}
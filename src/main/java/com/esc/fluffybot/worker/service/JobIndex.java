@@ -0,0 +1,259 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobStatus;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Worker Job/Pod 인메모리 인덱스
+ *
+ * fabric8 SharedIndexInformer로 fluffybot-worker Job과 Pod를 watch하여 메모리에 유지합니다.
+ * 조회 API는 API 서버 대신 이 캐시를 사용하고, 이름과 project-id/issue-iid/status 인덱스로 바로 찾습니다.
+ */
+@Slf4j
+@Component
+public class JobIndex {
+
+    public static final String BY_PROJECT = "project-id";
+    public static final String BY_ISSUE = "issue-iid";
+    public static final String BY_STATUS = "status";
+    private static final String BY_JOB_NAME = "job-name";
+
+    private final KubernetesClient kubernetesClient;
+    private final WorkerProperties workerProperties;
+    private final MeterRegistry meterRegistry;
+    private final Timer watchLag;
+
+    private SharedIndexInformer<Job> jobInformer;
+    private SharedIndexInformer<Pod> podInformer;
+
+    public JobIndex(KubernetesClient kubernetesClient, WorkerProperties workerProperties, MeterRegistry meterRegistry) {
+        this.kubernetesClient = kubernetesClient;
+        this.workerProperties = workerProperties;
+        this.meterRegistry = meterRegistry;
+        this.watchLag = Timer.builder("fluffybot.worker.index.watch.lag")
+            .description("Delay between a job state transition and the informer observing it")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!workerProperties.runsOnKubernetes()) {
+            // 로컬 실행 모드에는 Job이 없으므로 watch하지 않음 (조회는 모두 empty)
+            return;
+        }
+        String namespace = workerProperties.getNamespace();
+
+        jobInformer = kubernetesClient.batch().v1().jobs()
+            .inNamespace(namespace)
+            .withLabel("app", "fluffybot-worker")
+            .runnableInformer(0);
+        jobInformer.addIndexers(Map.of(
+            BY_PROJECT, job -> labelValue(job, "project-id"),
+            BY_ISSUE, job -> labelValue(job, "issue-iid"),
+            BY_STATUS, job -> List.of(statusOf(job))
+        ));
+        jobInformer.addEventHandler(new LagRecorder());
+
+        podInformer = kubernetesClient.pods()
+            .inNamespace(namespace)
+            .withLabel("app", "fluffybot-worker")
+            .runnableInformer(0);
+        podInformer.addIndexers(Map.of(BY_JOB_NAME, pod -> labelValue(pod, "job-name")));
+
+        Gauge.builder("fluffybot.worker.index.size", jobInformer, informer -> informer.getStore().list().size())
+            .tag("kind", "job")
+            .register(meterRegistry);
+        Gauge.builder("fluffybot.worker.index.size", podInformer, informer -> informer.getStore().list().size())
+            .tag("kind", "pod")
+            .register(meterRegistry);
+
+        // 초기 동기화를 기다리지 않음, 동기화 전에는 조회가 API 서버로 직접 감
+        jobInformer.start().whenComplete((v, e) -> logStarted("job", e));
+        podInformer.start().whenComplete((v, e) -> logStarted("pod", e));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (jobInformer != null) {
+            jobInformer.stop();
+        }
+        if (podInformer != null) {
+            podInformer.stop();
+        }
+    }
+
+    /**
+     * Job 이벤트 핸들러 등록 (등록 시점에 캐시에 있는 Job은 onAdd로 전달됨)
+     */
+    public void addJobHandler(ResourceEventHandler<Job> handler) {
+        if (jobInformer != null) {
+            jobInformer.addEventHandler(handler);
+        }
+    }
+
+    public boolean isReady() {
+        return jobInformer != null && jobInformer.hasSynced()
+            && podInformer != null && podInformer.hasSynced();
+    }
+
+    public Optional<Job> getJob(String jobName) {
+        if (jobInformer == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(jobInformer.getStore().getByKey(key(jobName)));
+    }
+
+    /**
+     * 조건에 맞는 Job 목록 (생성 시각 역순)
+     * 가장 선택도가 높은 인덱스로 후보를 뽑은 뒤 나머지 조건을 거름
+     */
+    public List<Job> findJobs(Long projectId, Long issueIid, String status) {
+        List<Job> candidates;
+        if (jobInformer == null) {
+            return List.of();
+        } else if (issueIid != null) {
+            candidates = jobInformer.getIndexer().byIndex(BY_ISSUE, String.valueOf(issueIid));
+        } else if (projectId != null) {
+            candidates = jobInformer.getIndexer().byIndex(BY_PROJECT, String.valueOf(projectId));
+        } else if (status != null) {
+            candidates = jobInformer.getIndexer().byIndex(BY_STATUS, status);
+        } else {
+            candidates = jobInformer.getStore().list();
+        }
+
+        Stream<Job> jobs = candidates.stream();
+        if (projectId != null) {
+            jobs = jobs.filter(job -> String.valueOf(projectId).equals(job.getMetadata().getLabels().get("project-id")));
+        }
+        if (status != null) {
+            jobs = jobs.filter(job -> status.equals(statusOf(job)));
+        }
+
+        return jobs
+            .sorted(Comparator.comparing((Job job) -> job.getMetadata().getCreationTimestamp(),
+                Comparator.nullsLast(Comparator.reverseOrder())))
+            .toList();
+    }
+
+    /**
+     * Job이 만든 Pod (가장 최근 것 우선)
+     */
+    public Optional<Pod> findPod(String jobName) {
+        if (podInformer == null) {
+            return Optional.empty();
+        }
+        return podInformer.getIndexer().byIndex(BY_JOB_NAME, jobName).stream()
+            .max(Comparator.comparing((Pod pod) -> pod.getMetadata().getCreationTimestamp(),
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+    }
+
+    /**
+     * Job 상태 (pending, running, succeeded, failed)
+     */
+    public static String statusOf(Job job) {
+        JobStatus status = job.getStatus();
+        if (status == null) {
+            return "pending";
+        }
+
+        if (status.getSucceeded() != null && status.getSucceeded() > 0) {
+            return "succeeded";
+        }
+
+        if (status.getFailed() != null && status.getFailed() > 0) {
+            return "failed";
+        }
+
+        if (status.getActive() != null && status.getActive() > 0) {
+            return "running";
+        }
+
+        return "pending";
+    }
+
+    private String key(String name) {
+        return workerProperties.getNamespace() + "/" + name;
+    }
+
+    private static List<String> labelValue(HasMetadata resource, String label) {
+        Map<String, String> labels = resource.getMetadata().getLabels();
+        String value = labels != null ? labels.get(label) : null;
+        return value != null ? List.of(value) : List.of();
+    }
+
+    private static void logStarted(String kind, Throwable error) {
+        if (error != null) {
+            log.error("Worker {} informer failed to start: {}", kind, error.getMessage());
+        } else {
+            log.info("Worker {} informer synced", kind);
+        }
+    }
+
+    /**
+     * 생성/시작/완료 시각과 informer가 이를 관찰한 시각의 차이를 watch 지연으로 기록
+     */
+    private class LagRecorder implements ResourceEventHandler<Job> {
+
+        @Override
+        public void onAdd(Job job) {
+            // 초기 목록 동기화로 들어온 기존 Job은 제외
+            if (jobInformer.hasSynced()) {
+                record(job.getMetadata().getCreationTimestamp());
+            }
+        }
+
+        @Override
+        public void onUpdate(Job oldJob, Job newJob) {
+            JobStatus before = oldJob.getStatus();
+            JobStatus after = newJob.getStatus();
+            if (after == null) {
+                return;
+            }
+
+            if (after.getCompletionTime() != null
+                    && (before == null || !Objects.equals(before.getCompletionTime(), after.getCompletionTime()))) {
+                record(after.getCompletionTime());
+            } else if (after.getStartTime() != null
+                    && (before == null || !Objects.equals(before.getStartTime(), after.getStartTime()))) {
+                record(after.getStartTime());
+            }
+        }
+
+        @Override
+        public void onDelete(Job job, boolean deletedFinalStateUnknown) {
+        }
+
+        private void record(String timestamp) {
+            if (timestamp == null) {
+                return;
+            }
+            Duration lag = Duration.between(ZonedDateTime.parse(timestamp).toInstant(), Instant.now());
+            // 타임스탬프가 초 단위이고 노드 간 시계 차이도 있으므로 음수는 0으로 기록
+            watchLag.record(lag.isNegative() ? Duration.ZERO : lag);
+        }
+    }
+}
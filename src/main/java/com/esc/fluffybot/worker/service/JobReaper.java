@@ -0,0 +1,192 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.gitlab.client.GitLabApiClient;
+import com.esc.fluffybot.worker.client.KubernetesApiClient;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.DeletionPropagation;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodStatus;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 오래 Pending이거나 제한 시간을 넘긴 Worker Job 정리
+ *
+ * 제한 시간은 Job의 activeDeadlineSeconds로 먼저 적용되고, 이 reaper는 그것이 없는 Job(이전 버전이 만든 Job 등)과
+ * 스케줄되지 못한 채 남아 있는 Job을 처리하는 안전장치입니다.
+ * Job을 foreground 삭제하므로 Pod 자원이 바로 반환되고, 같은 이슈 Job이 끝나길 기다리던(QUEUE) 작업도 이어서 진행됩니다.
+ */
+@Slf4j
+@Component
+public class JobReaper {
+
+    private static final String REASON_PENDING = "pending";
+    private static final String REASON_OVERRUN = "overrun";
+
+    private final KubernetesClient kubernetesClient;
+    private final KubernetesApiClient kubernetesApiClient;
+    private final JobIndex jobIndex;
+    private final WorkerProperties workerProperties;
+    private final GitLabApiClient gitLabApiClient;
+    private final MeterRegistry meterRegistry;
+    private final Counter reclaimedCpuMinutes;
+
+    public JobReaper(KubernetesClient kubernetesClient,
+                     KubernetesApiClient kubernetesApiClient,
+                     JobIndex jobIndex,
+                     WorkerProperties workerProperties,
+                     GitLabApiClient gitLabApiClient,
+                     MeterRegistry meterRegistry) {
+        this.kubernetesClient = kubernetesClient;
+        this.kubernetesApiClient = kubernetesApiClient;
+        this.jobIndex = jobIndex;
+        this.workerProperties = workerProperties;
+        this.gitLabApiClient = gitLabApiClient;
+        this.meterRegistry = meterRegistry;
+        this.reclaimedCpuMinutes = Counter.builder("fluffybot.worker.reaped.cpu.minutes")
+            .description("CPU-minutes (requested cores x time running) released by reaping stuck or overrunning jobs")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "PT1M")
+    public void reap() {
+        WorkerProperties.Reaper reaper = workerProperties.getReaper();
+        if (!reaper.isEnabled() || !jobIndex.isReady()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        for (Job job : jobIndex.findJobs(null, null, null)) {
+            try {
+                inspect(job, now, reaper);
+            } catch (Exception e) {
+                log.warn("Failed to inspect job {} for reaping: {}", job.getMetadata().getName(), e.getMessage());
+            }
+        }
+    }
+
+    private void inspect(Job job, Instant now, WorkerProperties.Reaper reaper) {
+        Map<String, String> labels = job.getMetadata().getLabels();
+        // 유휴 풀 Job은 WorkerPoolService가 관리
+        if ("idle".equals(labels.get(WorkerJobFactory.POOL_LABEL))) {
+            return;
+        }
+
+        String status = JobIndex.statusOf(job);
+        if ("succeeded".equals(status) || "failed".equals(status) || job.getMetadata().getDeletionTimestamp() != null) {
+            return;
+        }
+
+        Instant created = parse(job.getMetadata().getCreationTimestamp());
+        if (created == null) {
+            return;
+        }
+
+        Optional<Pod> pod = jobIndex.findPod(job.getMetadata().getName());
+        Instant podStarted = pod.map(p -> p.getStatus() != null ? parse(p.getStatus().getStartTime()) : null)
+            .orElse(null);
+        boolean scheduled = pod.map(p -> p.getStatus() != null && !"Pending".equals(p.getStatus().getPhase()))
+            .orElse(false);
+
+        if (!scheduled) {
+            if (Duration.between(created, now).compareTo(reaper.getPendingTimeout()) > 0) {
+                reclaim(job, REASON_PENDING, runningSince(pod), now, String.format(
+                    "⏳ 작업 Pod가 %d분 넘게 시작되지 못해 취소했습니다. (클러스터 자원 부족 가능성)\n\n- Job: `%s`",
+                    reaper.getPendingTimeout().toMinutes(), job.getMetadata().getName()));
+            }
+            return;
+        }
+
+        String mode = labels.getOrDefault("task-mode", "issue");
+        Instant deadline = deadlineOf(job, mode, podStarted != null ? podStarted : created).plus(reaper.getGrace());
+        if (now.isAfter(deadline)) {
+            reclaim(job, REASON_OVERRUN, runningSince(pod), now, String.format(
+                "⏱️ 작업이 제한 시간(%d분)을 넘겨 중단했습니다.\n\n- Job: `%s`",
+                workerProperties.timeoutMinutesFor(mode), job.getMetadata().getName()));
+        }
+    }
+
+    /**
+     * activeDeadlineSeconds가 있으면 Job 시작 기준으로, 없으면 Pod 시작 기준 모드별 제한 시간으로 계산
+     * (풀에서 할당된 Job은 대기 시간이 deadline에 반영되어 있음)
+     */
+    private Instant deadlineOf(Job job, String mode, Instant podStarted) {
+        Long activeDeadline = job.getSpec().getActiveDeadlineSeconds();
+        Instant jobStarted = job.getStatus() != null ? parse(job.getStatus().getStartTime()) : null;
+        if (activeDeadline != null && jobStarted != null) {
+            return jobStarted.plusSeconds(activeDeadline);
+        }
+        return podStarted.plus(Duration.ofMinutes(workerProperties.timeoutMinutesFor(mode)));
+    }
+
+    /**
+     * CPU 사용량 집계 시작 시각: worker 컨테이너가 실행을 시작한 시각, 없으면 Pod 시작 시각
+     * (Pending, 이미지 pull 시간은 집계하지 않음, 시작 전이면 null)
+     */
+    private static Instant runningSince(Optional<Pod> pod) {
+        Optional<PodStatus> status = pod.map(Pod::getStatus);
+        Instant containerStarted = status
+            .filter(s -> s.getContainerStatuses() != null)
+            .flatMap(s -> s.getContainerStatuses().stream()
+                .filter(container -> "worker".equals(container.getName()))
+                .findFirst())
+            .map(ContainerStatus::getState)
+            .map(state -> state.getRunning() != null ? parse(state.getRunning().getStartedAt())
+                : state.getTerminated() != null ? parse(state.getTerminated().getStartedAt()) : null)
+            .orElse(null);
+        return containerStarted != null ? containerStarted : status.map(s -> parse(s.getStartTime())).orElse(null);
+    }
+
+    private void reclaim(Job job, String reason, Instant runningSince, Instant now, String comment) {
+        String jobName = job.getMetadata().getName();
+
+        kubernetesApiClient.write("job.delete", () -> kubernetesClient.batch().v1().jobs()
+                .inNamespace(workerProperties.getNamespace())
+                .withName(jobName)
+                .withPropagationPolicy(DeletionPropagation.FOREGROUND)
+                .delete())
+            .block();
+
+        double minutes = runningSince != null ? Duration.between(runningSince, now).toSeconds() / 60.0 : 0;
+        reclaimedCpuMinutes.increment(requestedCpu(job) * minutes);
+        meterRegistry.counter("fluffybot.worker.reaped", "reason", reason).increment();
+        log.warn("Reaped worker job {} (reason={}, ran {} min)", jobName, reason, Math.round(minutes));
+
+        String projectId = job.getMetadata().getLabels().get("project-id");
+        String issueIid = job.getMetadata().getLabels().get("issue-iid");
+        if (projectId != null && issueIid != null) {
+            gitLabApiClient.postComment(Long.parseLong(projectId), Long.parseLong(issueIid), comment)
+                .doOnError(e -> log.error("Failed to post reaper comment for {}: {}", jobName, e.getMessage()))
+                .subscribe();
+        }
+    }
+
+    private static double requestedCpu(Job job) {
+        return job.getSpec().getTemplate().getSpec().getContainers().stream()
+            .map(container -> container.getResources() != null && container.getResources().getRequests() != null
+                ? container.getResources().getRequests().get("cpu")
+                : null)
+            .filter(quantity -> quantity != null)
+            .map(Quantity::getNumericalAmount)
+            .map(BigDecimal::doubleValue)
+            .reduce(0.0, Double::sum);
+    }
+
+    private static Instant parse(String timestamp) {
+        return timestamp != null ? ZonedDateTime.parse(timestamp).toInstant() : null;
+    }
+}
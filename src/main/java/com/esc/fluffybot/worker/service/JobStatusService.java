@@ -1,82 +1,151 @@
 package com.esc.fluffybot.worker.service;
 
 import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.worker.client.KubernetesApiClient;
+import com.esc.fluffybot.worker.dto.JobLogOptions;
+import com.esc.fluffybot.worker.dto.JobPage;
 import com.esc.fluffybot.worker.dto.JobStatusResponse;
-import io.fabric8.kubernetes.api.model.Pod;
-import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.api.model.batch.v1.Job;
-import io.fabric8.kubernetes.api.model.batch.v1.JobList;
 import io.fabric8.kubernetes.api.model.batch.v1.JobStatus;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.LogWatch;
+import io.fabric8.kubernetes.client.dsl.Loggable;
+import io.fabric8.kubernetes.client.dsl.TailPrettyLoggable;
+import io.fabric8.kubernetes.client.dsl.TimeTailPrettyLoggable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class JobStatusService {
 
+    private static final int LOG_BUFFER_SIZE = 8192;
+
     private final KubernetesClient kubernetesClient;
     private final WorkerProperties workerProperties;
-
-    public Flux<JobStatusResponse> listJobs() {
-        return Mono.fromCallable(() -> {
-            JobList jobList = kubernetesClient.batch().v1().jobs()
-                .inNamespace(workerProperties.getNamespace())
-                .withLabel("app", "fluffybot-worker")
-                .list();
-
-            return jobList.getItems();
-        })
-        .flatMapMany(Flux::fromIterable)
-        .map(this::mapToJobStatusResponse);
+    private final JobIndex jobIndex;
+    private final KubernetesApiClient kubernetesApiClient;
+    private final DataBufferFactory dataBufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    /**
+     * 조건에 맞는 Job 목록 (생성 시각 역순, page는 0부터)
+     * informer 캐시가 동기화되기 전에는 API 서버를 직접 조회
+     */
+    public Mono<JobPage> listJobs(Long projectId, Long issueIid, String status, int page, int size) {
+        return Mono.defer(() -> jobIndex.isReady()
+                ? Mono.fromCallable(() -> jobIndex.findJobs(projectId, issueIid, status))
+                : listJobsFromApi(projectId, issueIid, status))
+            .map(jobs -> {
+                List<JobStatusResponse> items = jobs.stream()
+                    .skip((long) page * size)
+                    .limit(size)
+                    .map(this::mapToJobStatusResponse)
+                    .toList();
+
+                return new JobPage(items, jobs.size());
+            });
     }
 
     public Mono<JobStatusResponse> getJobStatus(String jobName) {
-        return Mono.fromCallable(() -> {
-            Job job = kubernetesClient.batch().v1().jobs()
-                .inNamespace(workerProperties.getNamespace())
-                .withName(jobName)
-                .get();
-
-            if (job == null) {
-                return null;
-            }
+        return Mono.defer(() -> jobIndex.isReady()
+                ? Mono.justOrEmpty(jobIndex.getJob(jobName))
+                : kubernetesApiClient.read("job.get", jobName, () -> kubernetesClient.batch().v1().jobs()
+                    .inNamespace(workerProperties.getNamespace())
+                    .withName(jobName)
+                    .get()))
+            .map(this::mapToJobStatusResponse);
+    }
 
-            return mapToJobStatusResponse(job);
-        });
+    /**
+     * Job 로그 스트림, Pod가 없으면 empty
+     * 고정 크기 버퍼 단위로 읽고 클라이언트 요청량만큼만 읽으므로 로그 크기와 무관하게 메모리 사용이 일정함
+     */
+    public Mono<Flux<DataBuffer>> streamJobLogs(String jobName, JobLogOptions options) {
+        return Mono.defer(() -> jobIndex.isReady()
+                ? Mono.justOrEmpty(jobIndex.findPod(jobName).map(pod -> pod.getMetadata().getName()))
+                : findPodFromApi(jobName))
+            .map(podName -> openLogStream(podName, options));
     }
 
-    public Mono<String> getJobLogs(String jobName) {
-        return Mono.fromCallable(() -> {
-            PodList podList = kubernetesClient.pods()
-                .inNamespace(workerProperties.getNamespace())
-                .withLabel("job-name", jobName)
-                .list();
+    private Flux<DataBuffer> openLogStream(String podName, JobLogOptions options) {
+        TimeTailPrettyLoggable container = kubernetesClient.pods()
+            .inNamespace(workerProperties.getNamespace())
+            .withName(podName)
+            .inContainer("worker");
+        TailPrettyLoggable since = options.getSinceSeconds() != null
+            ? container.sinceSeconds(options.getSinceSeconds())
+            : container;
+        Loggable loggable = options.getTailLines() != null
+            ? since.tailingLines(options.getTailLines())
+            : since;
+
+        Flux<DataBuffer> logs = options.isFollow()
+            ? Flux.using(loggable::watchLog,
+                watch -> DataBufferUtils.readInputStream(watch::getOutput, dataBufferFactory, LOG_BUFFER_SIZE),
+                LogWatch::close)
+            : DataBufferUtils.readInputStream(loggable::getLogInputStream, dataBufferFactory, LOG_BUFFER_SIZE);
+
+        // InputStream 읽기는 블로킹이므로 boundedElastic에서 수행
+        logs = logs.subscribeOn(Schedulers.boundedElastic());
+
+        if (options.getOffset() > 0) {
+            logs = DataBufferUtils.skipUntilByteCount(logs, options.getOffset());
+        }
+        if (options.getLimitBytes() != null) {
+            logs = DataBufferUtils.takeUntilByteCount(logs, options.getLimitBytes());
+        }
+        return logs;
+    }
 
-            if (podList.getItems().isEmpty()) {
-                return "No pods found for job: " + jobName;
-            }
+    private Mono<List<Job>> listJobsFromApi(Long projectId, Long issueIid, String status) {
+        Map<String, String> labels = new HashMap<>();
+        labels.put("app", "fluffybot-worker");
+        if (projectId != null) {
+            labels.put("project-id", String.valueOf(projectId));
+        }
+        if (issueIid != null) {
+            labels.put("issue-iid", String.valueOf(issueIid));
+        }
 
-            Pod pod = podList.getItems().get(0);
-            String podName = pod.getMetadata().getName();
+        return kubernetesApiClient.read("job.list", labels.toString(), () -> kubernetesClient.batch().v1().jobs()
+                .inNamespace(workerProperties.getNamespace())
+                .withLabels(labels)
+                .list())
+            .map(jobList -> jobList.getItems().stream()
+                .filter(job -> status == null || status.equals(JobIndex.statusOf(job)))
+                .sorted(Comparator.comparing((Job job) -> job.getMetadata().getCreationTimestamp(),
+                    Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList());
+    }
 
-            return kubernetesClient.pods()
+    private Mono<String> findPodFromApi(String jobName) {
+        return kubernetesApiClient.read("pod.list", jobName, () -> kubernetesClient.pods()
                 .inNamespace(workerProperties.getNamespace())
-                .withName(podName)
-                .getLog();
-        });
+                .withLabel("job-name", jobName)
+                .list())
+            .flatMap(podList -> Mono.justOrEmpty(podList.getItems().stream()
+                .findFirst()
+                .map(pod -> pod.getMetadata().getName())));
     }
 
     private JobStatusResponse mapToJobStatusResponse(Job job) {
         JobStatus status = job.getStatus();
-        String jobStatus = determineJobStatus(status);
+        String jobStatus = JobIndex.statusOf(job);
 
         String projectId = job.getMetadata().getLabels().get("project-id");
         String issueIid = job.getMetadata().getLabels().get("issue-iid");
@@ -94,24 +163,4 @@ public class JobStatusService {
             .failed(status != null && status.getFailed() != null ? status.getFailed() : 0)
             .build();
     }
-
-    private String determineJobStatus(JobStatus status) {
-        if (status == null) {
-            return "pending";
-        }
-
-        if (status.getSucceeded() != null && status.getSucceeded() > 0) {
-            return "succeeded";
-        }
-
-        if (status.getFailed() != null && status.getFailed() > 0) {
-            return "failed";
-        }
-
-        if (status.getActive() != null && status.getActive() > 0) {
-            return "running";
-        }
-
-        return "pending";
-    }
 }
@@ -0,0 +1,161 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.worker.client.KubernetesApiClient;
+import com.esc.fluffybot.worker.dto.JobLogOptions;
+import com.esc.fluffybot.worker.dto.JobPage;
+import com.esc.fluffybot.worker.dto.JobStatusResponse;
+import com.esc.fluffybot.worker.exception.CapacityUnavailableException;
+import com.esc.fluffybot.worker.model.WorkerTask;
+import io.fabric8.kubernetes.api.model.DeletionPropagation;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * namespace에 Job을 만들어 작업을 실행 (기본 실행 방식)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "fluffybot.worker", name = "executor", havingValue = "kubernetes", matchIfMissing = true)
+public class KubernetesWorkerExecutor implements WorkerExecutor {
+
+    private final KubernetesClient kubernetesClient;
+    private final KubernetesApiClient kubernetesApiClient;
+    private final WorkerProperties workerProperties;
+    private final WorkerJobFactory jobFactory;
+    private final WorkerPoolService workerPoolService;
+    private final WorkerDispatchTracker dispatchTracker;
+    private final CapacityTracker capacityTracker;
+    private final WorkerResourceResolver resourceResolver;
+    private final WorkspaceClaimService workspaceClaimService;
+    private final JobStatusService jobStatusService;
+
+    @Override
+    public String launch(String jobName, WorkerTask task) {
+        String taskMode = task.getTaskMode();
+        long dispatchedAt = System.nanoTime();
+
+        // 영구 작업 공간은 Pod 생성 시에만 마운트할 수 있으므로 풀을 거치지 않음
+        boolean persistentWorkspace = workspaceClaimService.appliesTo(taskMode);
+        // 풀 Pod는 기본 리소스로 떠 있으므로 그보다 큰 프로필이 필요한 작업도 풀을 거치지 않음
+        boolean poolable = !persistentWorkspace && resourceResolver.fitsDefaults(task);
+
+        // 대기 중인 풀 Pod가 있으면 Job 생성/스케줄링/이미지 pull 없이 바로 할당
+        Optional<String> pooled = poolable ? workerPoolService.tryAssign(task) : Optional.empty();
+        if (pooled.isPresent()) {
+            log.info("Assigned task (mode={}) for issue {} to pooled worker: {}",
+                taskMode, task.getIssueIid(), pooled.get());
+            dispatchTracker.dispatched(pooled.get(), WorkerDispatchTracker.SOURCE_POOL, dispatchedAt);
+            return pooled.get();
+        }
+
+        try {
+            if (persistentWorkspace) {
+                task.setWorkspaceClaim(workspaceClaimService.acquire(task.getProjectId(), task.getIssueIid()));
+            }
+            Job job = jobFactory.buildTaskJob(jobName, task);
+
+            Job createdJob = kubernetesApiClient.write("job.create", () -> kubernetesClient.batch().v1().jobs()
+                    .inNamespace(workerProperties.getNamespace())
+                    .resource(job)
+                    .create())
+                .block();
+
+            log.info("Created worker job: {} (mode={}) in namespace: {}",
+                createdJob.getMetadata().getName(),
+                taskMode,
+                workerProperties.getNamespace());
+
+            capacityTracker.reserve(createdJob.getMetadata().getName(), resourceResolver.resolve(task));
+            dispatchTracker.dispatched(createdJob.getMetadata().getName(), WorkerDispatchTracker.SOURCE_COLD, dispatchedAt);
+            return createdJob.getMetadata().getName();
+
+        } catch (KubernetesClientException e) {
+            if (e.getCode() == HttpURLConnection.HTTP_FORBIDDEN && e.getMessage() != null
+                    && e.getMessage().contains("exceeded quota")) {
+                // 스케줄러가 대기열로 되돌리고 용량이 풀리면 다시 시도
+                log.info("Worker job for issue {} rejected by ResourceQuota, holding it", task.getIssueIid());
+                throw new CapacityUnavailableException(e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> findActive(WorkerTask task) {
+        String namePrefix = String.format("fluffybot-worker-%s-%d-", task.getTaskMode(), task.getIssueIid());
+
+        List<Job> jobs = kubernetesApiClient.read("job.list", task.getProjectId() + "/" + task.getIssueIid(),
+                () -> kubernetesClient.batch().v1().jobs()
+                    .inNamespace(workerProperties.getNamespace())
+                    .withLabels(Map.of(
+                        "app", "fluffybot-worker",
+                        "project-id", String.valueOf(task.getProjectId()),
+                        "issue-iid", String.valueOf(task.getIssueIid())
+                    ))
+                    .list()
+                    .getItems())
+            .block();
+
+        return jobs.stream()
+            .filter(job -> {
+                // 풀에서 할당된 Job은 이름 대신 task-mode 라벨로 구분
+                String mode = job.getMetadata().getLabels().get("task-mode");
+                return mode != null
+                    ? mode.equals(task.getTaskMode())
+                    : job.getMetadata().getName().startsWith(namePrefix);
+            })
+            .filter(job -> !isFinished(job))
+            .map(job -> job.getMetadata().getName())
+            .toList();
+    }
+
+    @Override
+    public void cancel(String jobName) {
+        // Foreground 삭제로 Pod까지 바로 정리되어 CPU/메모리가 즉시 반환됨
+        kubernetesApiClient.write("job.delete", () -> kubernetesClient.batch().v1().jobs()
+                .inNamespace(workerProperties.getNamespace())
+                .withName(jobName)
+                .withPropagationPolicy(DeletionPropagation.FOREGROUND)
+                .delete())
+            .block();
+
+        log.info("Cancelled superseded job: {}", jobName);
+    }
+
+    @Override
+    public Mono<JobPage> listJobs(Long projectId, Long issueIid, String status, int page, int size) {
+        return jobStatusService.listJobs(projectId, issueIid, status, page, size);
+    }
+
+    @Override
+    public Mono<JobStatusResponse> getJobStatus(String jobName) {
+        return jobStatusService.getJobStatus(jobName);
+    }
+
+    @Override
+    public Mono<Flux<DataBuffer>> streamJobLogs(String jobName, JobLogOptions options) {
+        return jobStatusService.streamJobLogs(jobName, options);
+    }
+
+    private static boolean isFinished(Job job) {
+        var status = job.getStatus();
+        return status != null
+            && ((status.getSucceeded() != null && status.getSucceeded() > 0)
+                || (status.getFailed() != null && status.getFailed() > 0));
+    }
+}
@@ -0,0 +1,477 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.gitlab.client.GitLabApiClient;
+import com.esc.fluffybot.worker.dto.JobLogOptions;
+import com.esc.fluffybot.worker.dto.JobPage;
+import com.esc.fluffybot.worker.dto.JobStatusResponse;
+import com.esc.fluffybot.worker.exception.CapacityUnavailableException;
+import com.esc.fluffybot.worker.model.JobOutcome;
+import com.esc.fluffybot.worker.model.WorkerTask;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * webhook 서비스 호스트에서 Worker 스크립트를 자식 프로세스로 실행 (executor: local)
+ *
+ * 클러스터 없이 설치하거나 통합 테스트할 때 사용합니다. Worker 이미지와 같은 entrypoint.sh를 실행하며,
+ * 작업마다 별도 디렉토리를 HOME/TMPDIR/작업 공간으로 주고 PATH 외의 환경 변수는 물려주지 않습니다.
+ * 컨테이너 수준 격리는 없으므로 신뢰할 수 있는 호스트에서만 사용해야 합니다.
+ * 동시 실행 수와 모드별 제한 시간을 직접 적용하고, 출력은 작업 디렉토리의 로그 파일로 남겨 /jobs API에서 조회합니다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "fluffybot.worker", name = "executor", havingValue = "local")
+public class LocalProcessWorkerExecutor implements WorkerExecutor {
+
+    private static final int LOG_BUFFER_SIZE = 8192;
+    private static final String LOG_FILE = "output.log";
+    // 스크립트가 실패를 직접 보고했는지 남기는 파일 (Kubernetes의 /dev/termination-log 대신)
+    private static final String TERMINATION_LOG = "termination-log";
+    // follow 중 새 출력이 없을 때 다시 읽기까지 대기
+    private static final Duration FOLLOW_POLL_INTERVAL = Duration.ofMillis(500);
+    // SIGTERM 후 강제 종료까지 대기
+    private static final Duration KILL_GRACE = Duration.ofSeconds(10);
+
+    private final WorkerProperties workerProperties;
+    private final WorkerJobFactory jobFactory;
+    private final WorkerScheduler workerScheduler;
+    private final GitLabApiClient gitLabApiClient;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore slots;
+    private final DataBufferFactory dataBufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    // Job 이름 -> 실행 (끝난 것도 retention 동안 유지)
+    private final Map<String, Execution> executions = new ConcurrentHashMap<>();
+
+    public LocalProcessWorkerExecutor(WorkerProperties workerProperties,
+                                      WorkerJobFactory jobFactory,
+                                      WorkerScheduler workerScheduler,
+                                      GitLabApiClient gitLabApiClient,
+                                      MeterRegistry meterRegistry) {
+        this.workerProperties = workerProperties;
+        this.jobFactory = jobFactory;
+        this.workerScheduler = workerScheduler;
+        this.gitLabApiClient = gitLabApiClient;
+        this.meterRegistry = meterRegistry;
+        this.slots = new Semaphore(workerProperties.getLocal().getMaxConcurrent());
+        Gauge.builder("fluffybot.worker.local.processes", executions,
+                map -> map.values().stream().filter(Execution::isRunning).count())
+            .description("Worker processes running on the webhook host")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String launch(String jobName, WorkerTask task) {
+        WorkerProperties.Local local = workerProperties.getLocal();
+        if (!slots.tryAcquire()) {
+            // 스케줄러가 대기열로 되돌리고 프로세스가 끝나면 다시 시도
+            throw new CapacityUnavailableException("Local executor is already running " + local.getMaxConcurrent() + " tasks");
+        }
+
+        try {
+            Path taskDir = Path.of(local.getWorkDir(), jobName).toAbsolutePath();
+            Path home = Files.createDirectories(taskDir.resolve("home"));
+            Path tmp = Files.createDirectories(taskDir.resolve("tmp"));
+            Path workspace = Files.createDirectories(taskDir.resolve("workspace"));
+
+            ProcessBuilder builder = new ProcessBuilder(Path.of(local.getEntrypoint()).toAbsolutePath().toString())
+                .directory(workspace.toFile())
+                .redirectInput(ProcessBuilder.Redirect.from(Path.of("/dev/null").toFile()))
+                .redirectErrorStream(true)
+                .redirectOutput(taskDir.resolve(LOG_FILE).toFile());
+
+            // webhook 서비스의 환경 변수(자격 증명 등)는 물려주지 않음
+            Map<String, String> env = builder.environment();
+            String path = env.get("PATH");
+            env.clear();
+            env.put("PATH", path != null ? path : "/usr/local/bin:/usr/bin:/bin");
+            env.putAll(jobFactory.taskJobEnvironment(jobName, task));
+            env.put("HOME", home.toString());
+            env.put("TMPDIR", tmp.toString());
+            env.put("WORKSPACE_DIR", workspace.toString());
+            env.put("SCRIPTS_DIR", Path.of(local.getScriptsDir()).toAbsolutePath().toString());
+            env.put("TERMINATION_LOG", taskDir.resolve(TERMINATION_LOG).toString());
+
+            Process process = builder.start();
+            Execution execution = new Execution(jobName, task, taskDir, process, Instant.now());
+            executions.put(jobName, execution);
+
+            process.onExit().thenRun(() -> finished(execution));
+            CompletableFuture.delayedExecutor(workerProperties.timeoutMinutesFor(task.getTaskMode()), TimeUnit.MINUTES)
+                .execute(() -> expire(execution));
+
+            log.info("Started local worker process {} (pid={}, mode={}) in {}",
+                jobName, process.pid(), task.getTaskMode(), taskDir);
+            return jobName;
+
+        } catch (IOException e) {
+            slots.release();
+            throw new UncheckedIOException("Failed to start local worker process: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> findActive(WorkerTask task) {
+        return executions.values().stream()
+            .filter(Execution::isRunning)
+            .filter(execution -> execution.task.getProjectId().equals(task.getProjectId())
+                && execution.task.getIssueIid().equals(task.getIssueIid())
+                && execution.task.getTaskMode().equals(task.getTaskMode()))
+            .map(execution -> execution.jobName)
+            .toList();
+    }
+
+    @Override
+    public void cancel(String jobName) {
+        Execution execution = executions.get(jobName);
+        if (execution == null || !execution.isRunning()) {
+            return;
+        }
+
+        execution.cancelled = true;
+        terminate(execution.process);
+        log.info("Cancelled superseded local worker process: {}", jobName);
+    }
+
+    @Override
+    public Mono<JobPage> listJobs(Long projectId, Long issueIid, String status, int page, int size) {
+        return Mono.fromCallable(() -> {
+            List<Execution> matching = executions.values().stream()
+                .filter(execution -> projectId == null || projectId.equals(execution.task.getProjectId()))
+                .filter(execution -> issueIid == null || issueIid.equals(execution.task.getIssueIid()))
+                .filter(execution -> status == null || status.equals(execution.status()))
+                .sorted(Comparator.comparing((Execution execution) -> execution.startedAt).reversed())
+                .toList();
+
+            List<JobStatusResponse> items = matching.stream()
+                .skip((long) page * size)
+                .limit(size)
+                .map(LocalProcessWorkerExecutor::toResponse)
+                .toList();
+
+            return new JobPage(items, matching.size());
+        });
+    }
+
+    @Override
+    public Mono<JobStatusResponse> getJobStatus(String jobName) {
+        return Mono.justOrEmpty(executions.get(jobName))
+            .map(LocalProcessWorkerExecutor::toResponse);
+    }
+
+    /**
+     * 로그 파일 스트림
+     * follow=true면 프로세스가 끝날 때까지 파일 끝을 이어서 읽음, 로그에 시각 정보가 없으므로 sinceSeconds는 무시
+     */
+    @Override
+    public Mono<Flux<DataBuffer>> streamJobLogs(String jobName, JobLogOptions options) {
+        return Mono.justOrEmpty(executions.get(jobName))
+            .map(execution -> {
+                Path logFile = execution.taskDir.resolve(LOG_FILE);
+                Flux<DataBuffer> logs = Mono.fromCallable(() -> options.getTailLines() != null
+                        ? tailOffset(logFile, options.getTailLines())
+                        : 0L)
+                    .flatMapMany(position -> options.isFollow()
+                        ? follow(execution, logFile, position)
+                        : DataBufferUtils.readAsynchronousFileChannel(
+                            () -> AsynchronousFileChannel.open(logFile, StandardOpenOption.READ),
+                            position, dataBufferFactory, LOG_BUFFER_SIZE))
+                    .subscribeOn(Schedulers.boundedElastic());
+
+                if (options.getOffset() > 0) {
+                    logs = DataBufferUtils.skipUntilByteCount(logs, options.getOffset());
+                }
+                if (options.getLimitBytes() != null) {
+                    logs = DataBufferUtils.takeUntilByteCount(logs, options.getLimitBytes());
+                }
+                return logs;
+            });
+    }
+
+    /**
+     * 끝난 지 retention이 지난 실행의 디렉토리 정리 (Job ttlSecondsAfterFinished에 해당)
+     * 프로세스가 아직 살아 있으면(종료 처리 중 등) 기록과 디렉토리를 남겨 둠
+     */
+    @Scheduled(fixedDelayString = "PT5M")
+    public void cleanup() {
+        Instant cutoff = Instant.now().minus(workerProperties.getLocal().getRetention());
+        executions.values().removeIf(execution -> {
+            if (execution.finishedAt == null || execution.finishedAt.isAfter(cutoff) || execution.process.isAlive()) {
+                return false;
+            }
+            try {
+                FileSystemUtils.deleteRecursively(execution.taskDir);
+            } catch (IOException e) {
+                log.warn("Failed to remove local worker directory {}: {}", execution.taskDir, e.getMessage());
+            }
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executions.values().stream()
+            .filter(Execution::isRunning)
+            .forEach(execution -> {
+                log.info("Stopping local worker process {} on shutdown", execution.jobName);
+                execution.cancelled = true;
+                terminate(execution.process);
+            });
+    }
+
+    private void expire(Execution execution) {
+        if (!execution.isRunning()) {
+            return;
+        }
+
+        log.warn("Local worker process {} exceeded its {} minute limit, killing it",
+            execution.jobName, workerProperties.timeoutMinutesFor(execution.task.getTaskMode()));
+        execution.timedOut = true;
+        terminate(execution.process);
+    }
+
+    private void finished(Execution execution) {
+        execution.exitCode = execution.process.exitValue();
+        execution.finishedAt = Instant.now();
+        slots.release();
+
+        Duration runtime = Duration.between(execution.startedAt, execution.finishedAt);
+        workerScheduler.release(execution.jobName, execution.cancelled ? null : runtime);
+
+        if (execution.cancelled) {
+            // supersede 취소, 종료는 보고 대상이 아님
+            log.info("Local worker process {} stopped", execution.jobName);
+            return;
+        }
+
+        JobOutcome outcome = execution.outcome();
+        Timer.builder("fluffybot.worker.job.run.duration")
+            .description("Time from worker container start until the job finished")
+            .tags("mode", execution.task.getTaskMode(), "outcome", outcome.getTag())
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(runtime);
+        log.info("Local worker process {} finished: outcome={}, exit code={}",
+            execution.jobName, outcome, execution.exitCode);
+
+        WorkerProperties.Completion completion = workerProperties.getCompletion();
+        if (!completion.isEnabled() || (outcome == JobOutcome.SUCCEEDED && !completion.isReportSuccess())) {
+            return;
+        }
+        if (outcome == JobOutcome.FAILED && reportedByScript(execution)) {
+            return;
+        }
+
+        String headline = switch (outcome) {
+            case SUCCEEDED -> "✅ 작업이 완료되었습니다.";
+            case DEADLINE_EXCEEDED -> "⏱️ 작업이 제한 시간을 초과하여 중단되었습니다.";
+            default -> String.format("❌ 작업이 실패했습니다. (exit code %d)", execution.exitCode);
+        };
+        StringBuilder comment = new StringBuilder(headline).append("\n\n")
+            .append("- Job: `").append(execution.jobName).append("` (").append(execution.task.getTaskMode()).append(")\n")
+            .append("- 실행 시간: ").append(runtime.toMinutes()).append("분 ").append(runtime.toSecondsPart()).append("초\n");
+        if (outcome != JobOutcome.SUCCEEDED) {
+            comment.append("\n다시 요청하려면 이슈를 수정하거나 멘션해주세요.");
+        }
+
+        gitLabApiClient.postComment(execution.task.getProjectId(), execution.task.getIssueIid(), comment.toString())
+            .doOnError(e -> log.error("Failed to post completion comment for {}: {}", execution.jobName, e.getMessage()))
+            .subscribe();
+    }
+
+    private static boolean reportedByScript(Execution execution) {
+        try {
+            Path marker = execution.taskDir.resolve(TERMINATION_LOG);
+            return Files.exists(marker) && Files.readString(marker).contains(WorkerJobFactory.FAILURE_REPORTED);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 자식 프로세스(git, claude 등)까지 SIGTERM, 유예 시간 뒤에도 남아 있으면 SIGKILL
+     * 부모가 먼저 끝나면 자식을 찾을 수 없으므로 대상 목록을 먼저 만들어 둠
+     */
+    private static void terminate(Process process) {
+        List<ProcessHandle> tree = Stream.concat(process.descendants(), Stream.of(process.toHandle())).toList();
+        tree.forEach(ProcessHandle::destroy);
+        CompletableFuture.delayedExecutor(KILL_GRACE.toMillis(), TimeUnit.MILLISECONDS)
+            .execute(() -> tree.stream().filter(ProcessHandle::isAlive).forEach(ProcessHandle::destroyForcibly));
+    }
+
+    /**
+     * 프로세스가 끝날 때까지 파일 끝을 이어서 읽음
+     * 종료를 먼저 확인한 뒤 읽으므로 종료 직전에 쓴 출력까지 전달됨
+     */
+    private Flux<DataBuffer> follow(Execution execution, Path logFile, long position) {
+        return Flux.using(
+            () -> FileChannel.open(logFile, StandardOpenOption.READ).position(position),
+            channel -> Flux.<DataBuffer>generate(sink -> {
+                try {
+                    while (true) {
+                        boolean exited = !execution.process.isAlive();
+                        ByteBuffer buffer = ByteBuffer.allocate(LOG_BUFFER_SIZE);
+                        if (channel.read(buffer) > 0) {
+                            sink.next(dataBufferFactory.wrap(buffer.flip()));
+                            return;
+                        }
+                        if (exited) {
+                            sink.complete();
+                            return;
+                        }
+                        Thread.sleep(FOLLOW_POLL_INTERVAL.toMillis());
+                    }
+                } catch (IOException e) {
+                    sink.error(e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    sink.error(e);
+                }
+            }),
+            channel -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close log file {}: {}", logFile, e.getMessage());
+                }
+            });
+    }
+
+    /**
+     * 마지막 lines줄이 시작하는 바이트 위치 (파일 끝에서 거꾸로 개행을 셈)
+     */
+    private static long tailOffset(Path logFile, int lines) throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (lines == 0) {
+                return size;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(LOG_BUFFER_SIZE);
+            int newlines = 0;
+            long end = size;
+            while (end > 0) {
+                int length = (int) Math.min(LOG_BUFFER_SIZE, end);
+                long start = end - length;
+                buffer.clear().limit(length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) {
+                        break;
+                    }
+                }
+                for (int i = length - 1; i >= 0; i--) {
+                    // 마지막 줄 끝의 개행은 줄 구분이 아님
+                    if (buffer.get(i) == '\n' && start + i != size - 1 && ++newlines == lines) {
+                        return start + i + 1;
+                    }
+                }
+                end = start;
+            }
+            return 0;
+        }
+    }
+
+    private static JobStatusResponse toResponse(Execution execution) {
+        String status = execution.status();
+        return JobStatusResponse.builder()
+            .name(execution.jobName)
+            .status(status)
+            .projectId(execution.task.getProjectId())
+            .issueIid(execution.task.getIssueIid())
+            .startTime(execution.startedAt)
+            .completionTime(execution.finishedAt)
+            .succeeded("succeeded".equals(status) ? 1 : 0)
+            .failed("failed".equals(status) ? 1 : 0)
+            .message(execution.message())
+            .build();
+    }
+
+    private static class Execution {
+        private final String jobName;
+        private final WorkerTask task;
+        private final Path taskDir;
+        private final Process process;
+        private final Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile Integer exitCode;
+        private volatile boolean timedOut;
+        private volatile boolean cancelled;
+
+        Execution(String jobName, WorkerTask task, Path taskDir, Process process, Instant startedAt) {
+            this.jobName = jobName;
+            this.task = task;
+            this.taskDir = taskDir;
+            this.process = process;
+            this.startedAt = startedAt;
+        }
+
+        boolean isRunning() {
+            return finishedAt == null;
+        }
+
+        JobOutcome outcome() {
+            if (timedOut) {
+                return JobOutcome.DEADLINE_EXCEEDED;
+            }
+            return exitCode != null && exitCode == 0 ? JobOutcome.SUCCEEDED : JobOutcome.FAILED;
+        }
+
+        // JobIndex.statusOf와 같은 값 (pending 없음)
+        String status() {
+            if (isRunning()) {
+                return "running";
+            }
+            return outcome() == JobOutcome.SUCCEEDED ? "succeeded" : "failed";
+        }
+
+        String message() {
+            if (isRunning()) {
+                return null;
+            }
+            if (cancelled) {
+                return "Cancelled";
+            }
+            if (timedOut) {
+                return "DeadlineExceeded";
+            }
+            return "Exit code " + exitCode;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.worker.client.KubernetesApiClient;
+import com.esc.fluffybot.worker.dto.ResourceProfileResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.ContainerStatus;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.ContainerMetrics;
+import io.fabric8.kubernetes.api.model.metrics.v1beta1.PodMetrics;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 과거 실행에서 학습한 프로젝트/모드별 Worker 리소스 프로필
+ *
+ * 실행 중인 Worker Pod의 사용량을 metrics API로 주기적으로 샘플링해 Job별 최대값을 기록하고,
+ * Job이 끝나면 (프로젝트, 모드)별 최근 실행 기록에 추가합니다.
+ * 추천값은 최근 기록의 최대값에 여유율을 곱하고 설정된 범위로 제한한 값이며, 기록이 충분할 때만 적용됩니다.
+ * OOMKilled로 끝난 실행은 실제 필요량을 알 수 없으므로 당시 메모리 제한에 증가율을 곱해 기록합니다.
+ * 기록은 ConfigMap에 저장되어 재시작 후에도 유지됩니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResourceProfileService {
+
+    private static final String DATA_KEY = "profiles.json";
+    private static final BigDecimal BYTES_PER_MI = BigDecimal.valueOf(1024L * 1024L);
+
+    private final KubernetesClient kubernetesClient;
+    private final KubernetesApiClient kubernetesApiClient;
+    private final WorkerProperties workerProperties;
+    private final JobIndex jobIndex;
+    private final ObjectMapper objectMapper;
+
+    // 실행 중인 Job 이름 -> 지금까지의 최대 사용량
+    private final Map<String, Usage> peaks = new ConcurrentHashMap<>();
+    // "projectId:mode" -> 최근 실행별 최대 사용량
+    private final Map<String, Deque<Usage>> history = new ConcurrentHashMap<>();
+
+    private volatile boolean metricsAvailable = true;
+
+    @PostConstruct
+    public void start() {
+        if (!workerProperties.getProfiles().isEnabled() || !workerProperties.runsOnKubernetes()) {
+            return;
+        }
+        load();
+        jobIndex.addJobHandler(new RunRecorder());
+    }
+
+    /**
+     * 작업에 적용할 추천 리소스, 기록이 부족하면 empty
+     */
+    public Optional<ResourceRequirements> recommend(Long projectId, String taskMode) {
+        if (!workerProperties.getProfiles().isEnabled()) {
+            return Optional.empty();
+        }
+
+        Deque<Usage> runs = history.get(key(projectId, taskMode));
+        if (runs == null) {
+            return Optional.empty();
+        }
+        synchronized (runs) {
+            if (runs.size() < workerProperties.getProfiles().getMinSamples()) {
+                return Optional.empty();
+            }
+            return Optional.of(toRequirements(peakOf(runs)));
+        }
+    }
+
+    /**
+     * 학습된 프로필 목록
+     */
+    public List<ResourceProfileResponse> listProfiles() {
+        List<ResourceProfileResponse> profiles = new ArrayList<>();
+        history.forEach((key, runs) -> {
+            Usage peak;
+            int samples;
+            synchronized (runs) {
+                if (runs.isEmpty()) {
+                    return;
+                }
+                peak = peakOf(runs);
+                samples = runs.size();
+            }
+
+            String[] parts = key.split(":", 2);
+            ResourceRequirements recommended = toRequirements(peak);
+            profiles.add(ResourceProfileResponse.builder()
+                .projectId(Long.parseLong(parts[0]))
+                .taskMode(parts[1])
+                .samples(samples)
+                .applied(samples >= workerProperties.getProfiles().getMinSamples())
+                .peakCpu(formatCpu(peak.cpuMillis()))
+                .peakMemory(formatMemory(peak.memoryBytes()))
+                .cpuRequest(recommended.getRequests().get("cpu").toString())
+                .memoryRequest(recommended.getRequests().get("memory").toString())
+                .cpuLimit(recommended.getLimits().get("cpu").toString())
+                .memoryLimit(recommended.getLimits().get("memory").toString())
+                .build());
+        });
+        profiles.sort(Comparator.comparing(ResourceProfileResponse::getProjectId)
+            .thenComparing(ResourceProfileResponse::getTaskMode));
+        return profiles;
+    }
+
+    /**
+     * 실행 중인 Worker Pod 사용량 샘플링 (metrics-server 필요)
+     */
+    @Scheduled(fixedDelayString = "PT30S")
+    public void sample() {
+        if (!workerProperties.getProfiles().isEnabled() || !jobIndex.isReady()) {
+            return;
+        }
+
+        List<PodMetrics> metrics;
+        try {
+            metrics = kubernetesApiClient.read("podmetrics.list", "app=fluffybot-worker", () -> kubernetesClient.top().pods()
+                    .inNamespace(workerProperties.getNamespace())
+                    .withLabels(Map.of("app", "fluffybot-worker"))
+                    .metrics()
+                    .getItems())
+                .blockOptional()
+                .orElse(List.of());
+            metricsAvailable = true;
+        } catch (Exception e) {
+            if (metricsAvailable) {
+                log.warn("Pod metrics unavailable, resource profiles will not learn: {}", e.getMessage());
+                metricsAvailable = false;
+            }
+            return;
+        }
+
+        for (PodMetrics podMetrics : metrics) {
+            Map<String, String> labels = podMetrics.getMetadata().getLabels();
+            String jobName = labels != null ? labels.get("job-name") : null;
+            if (jobName == null) {
+                continue;
+            }
+
+            podMetrics.getContainers().stream()
+                .filter(container -> "worker".equals(container.getName()))
+                .findFirst()
+                .map(ResourceProfileService::usageOf)
+                .ifPresent(usage -> peaks.merge(jobName, usage, Usage::max));
+        }
+    }
+
+    private void recordRun(Job job) {
+        String jobName = job.getMetadata().getName();
+        Usage peak = peaks.remove(jobName);
+
+        Map<String, String> labels = job.getMetadata().getLabels();
+        String projectId = labels.get("project-id");
+        String mode = labels.get("task-mode");
+        if (projectId == null || mode == null) {
+            return;
+        }
+
+        if (isOomKilled(jobName)) {
+            // 제한에 걸려 죽었으므로 관측값 대신 당시 제한보다 크게 기록
+            long limit = memoryLimitOf(job);
+            long grown = BigDecimal.valueOf(limit)
+                .multiply(BigDecimal.valueOf(workerProperties.getProfiles().getOomGrowth()))
+                .longValue();
+            peak = new Usage(peak != null ? peak.cpuMillis() : 0, grown);
+            log.info("Job {} was OOMKilled, raising memory profile for project {} ({}) to {}",
+                jobName, projectId, mode, formatMemory(grown));
+        }
+
+        if (peak == null) {
+            return;
+        }
+
+        Deque<Usage> runs = history.computeIfAbsent(projectId + ":" + mode, k -> new ArrayDeque<>());
+        synchronized (runs) {
+            runs.addLast(peak);
+            while (runs.size() > workerProperties.getProfiles().getWindow()) {
+                runs.removeFirst();
+            }
+        }
+        save();
+    }
+
+    private boolean isOomKilled(String jobName) {
+        return jobIndex.findPod(jobName)
+            .map(Pod::getStatus)
+            .filter(status -> status.getContainerStatuses() != null)
+            .flatMap(status -> status.getContainerStatuses().stream()
+                .filter(container -> "worker".equals(container.getName()))
+                .findFirst())
+            .map(ContainerStatus::getState)
+            .map(state -> state.getTerminated() != null && "OOMKilled".equals(state.getTerminated().getReason()))
+            .orElse(false);
+    }
+
+    private ResourceRequirements toRequirements(Usage peak) {
+        WorkerProperties.Profiles profiles = workerProperties.getProfiles();
+
+        long cpuRequest = clamp(Math.round(peak.cpuMillis() * profiles.getRequestMargin()),
+            millis(profiles.getMinCpu()), millis(profiles.getMaxCpu()));
+        long memoryRequest = clamp(Math.round(peak.memoryBytes() * profiles.getRequestMargin()),
+            bytes(profiles.getMinMemory()), bytes(profiles.getMaxMemory()));
+        long memoryLimit = clamp(Math.round(peak.memoryBytes() * profiles.getLimitMargin()),
+            memoryRequest, bytes(profiles.getMaxMemory()));
+        // CPU 제한은 초과 시 throttling만 되므로 기본 제한을 유지
+        long cpuLimit = Math.max(cpuRequest, millis(workerProperties.getCpuLimit()));
+
+        return new ResourceRequirementsBuilder()
+            .withRequests(Map.of(
+                "cpu", new Quantity(formatCpu(cpuRequest)),
+                "memory", new Quantity(formatMemory(memoryRequest))
+            ))
+            .withLimits(Map.of(
+                "cpu", new Quantity(formatCpu(cpuLimit)),
+                "memory", new Quantity(formatMemory(memoryLimit))
+            ))
+            .build();
+    }
+
+    private long memoryLimitOf(Job job) {
+        return job.getSpec().getTemplate().getSpec().getContainers().stream()
+            .filter(container -> "worker".equals(container.getName()))
+            .findFirst()
+            .map(container -> container.getResources() != null && container.getResources().getLimits() != null
+                ? container.getResources().getLimits().get("memory")
+                : null)
+            .map(quantity -> quantity.getNumericalAmount().longValue())
+            .orElse(bytes(workerProperties.getMemoryLimit()));
+    }
+
+    private void load() {
+        try {
+            String name = workerProperties.getProfiles().getConfigMap();
+            ConfigMap configMap = kubernetesApiClient.read("configmap.get", name, () -> kubernetesClient.configMaps()
+                    .inNamespace(workerProperties.getNamespace())
+                    .withName(name)
+                    .get())
+                .block();
+            if (configMap == null || configMap.getData() == null || !configMap.getData().containsKey(DATA_KEY)) {
+                return;
+            }
+
+            Map<String, List<Usage>> stored = objectMapper.readValue(configMap.getData().get(DATA_KEY),
+                new TypeReference<>() {});
+            stored.forEach((key, runs) -> history.put(key, new ArrayDeque<>(runs)));
+            log.info("Loaded {} worker resource profiles", stored.size());
+        } catch (Exception e) {
+            log.warn("Failed to load worker resource profiles: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 기록을 ConfigMap에 server-side apply로 저장
+     * informer 스레드를 막지 않도록 API 호출 계층에서 비동기로 실행하고, 스냅샷은 실행 시점에 만들어 최신 기록을 씀
+     */
+    private void save() {
+        kubernetesApiClient.write("configmap.apply", () -> {
+                Map<String, List<Usage>> snapshot = new HashMap<>();
+                history.forEach((key, runs) -> {
+                    synchronized (runs) {
+                        snapshot.put(key, new ArrayList<>(runs));
+                    }
+                });
+
+                ConfigMap configMap = new ConfigMapBuilder()
+                    .withNewMetadata()
+                        .withName(workerProperties.getProfiles().getConfigMap())
+                        .withNamespace(workerProperties.getNamespace())
+                        .addToLabels("managed-by", "fluffybot-webhook")
+                    .endMetadata()
+                    .addToData(DATA_KEY, objectMapper.writeValueAsString(snapshot))
+                    .build();
+                return kubernetesClient.configMaps()
+                    .inNamespace(workerProperties.getNamespace())
+                    .resource(configMap)
+                    .fieldManager("fluffybot-webhook")
+                    .forceConflicts()
+                    .serverSideApply();
+            })
+            .subscribe(null, e -> log.warn("Failed to save worker resource profiles: {}", e.getMessage()));
+    }
+
+    private static Usage peakOf(Deque<Usage> runs) {
+        return runs.stream().reduce(new Usage(0, 0), Usage::max);
+    }
+
+    private static Usage usageOf(ContainerMetrics container) {
+        Quantity cpu = container.getUsage().get("cpu");
+        Quantity memory = container.getUsage().get("memory");
+        return new Usage(
+            cpu != null ? cpu.getNumericalAmount().movePointRight(3).longValue() : 0,
+            memory != null ? memory.getNumericalAmount().longValue() : 0);
+    }
+
+    private static String key(Long projectId, String taskMode) {
+        return projectId + ":" + taskMode;
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static long millis(String cpu) {
+        return new Quantity(cpu).getNumericalAmount().movePointRight(3).longValue();
+    }
+
+    private static long bytes(String memory) {
+        return new Quantity(memory).getNumericalAmount().longValue();
+    }
+
+    private static String formatCpu(long millis) {
+        return millis + "m";
+    }
+
+    private static String formatMemory(long bytes) {
+        // Mi 단위로 올림
+        return BigDecimal.valueOf(bytes).divide(BYTES_PER_MI, 0, RoundingMode.CEILING) + "Mi";
+    }
+
+    /**
+     * Job이 끝나거나 삭제되면 해당 실행의 최대 사용량을 기록
+     */
+    private class RunRecorder implements ResourceEventHandler<Job> {
+
+        @Override
+        public void onAdd(Job job) {
+        }
+
+        @Override
+        public void onUpdate(Job oldJob, Job newJob) {
+            String before = JobIndex.statusOf(oldJob);
+            String after = JobIndex.statusOf(newJob);
+            boolean finished = "succeeded".equals(after) || "failed".equals(after);
+            if (finished && !before.equals(after)) {
+                recordRun(newJob);
+            }
+        }
+
+        @Override
+        public void onDelete(Job job, boolean deletedFinalStateUnknown) {
+            // 끝나기 전에 삭제된(취소된) 실행은 최대 사용량을 알 수 없으므로 버림
+            peaks.remove(job.getMetadata().getName());
+        }
+    }
+
+    /**
+     * 실행 하나의 최대 사용량 (cpu: millicores, memory: bytes)
+     */
+    record Usage(long cpuMillis, long memoryBytes) {
+        Usage max(Usage other) {
+            return new Usage(Math.max(cpuMillis, other.cpuMillis), Math.max(memoryBytes, other.memoryBytes));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Worker 콜백(/workers/{jobName}/started, /clone) 인증용 Job별 토큰
+ *
+ * 토큰은 Job 이름의 HMAC이므로 따로 저장하지 않고, Job 환경 변수(WORKER_CALLBACK_TOKEN)로 전달해 헤더로 돌려받습니다.
+ * 비밀 키를 설정하지 않으면 시작할 때마다 새로 만들므로, 재시작 전에 만든 Job의 콜백은 거절됩니다.
+ */
+@Slf4j
+@Component
+public class WorkerCallbackTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    public WorkerCallbackTokens(WorkerProperties workerProperties) {
+        String secret = workerProperties.getCallbackSecret();
+        byte[] keyBytes;
+        if (secret != null && !secret.isBlank()) {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        } else {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.info("No worker callback secret configured, callbacks from jobs created before a restart will be rejected");
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    /**
+     * Job에 전달할 토큰
+     */
+    public String issue(String jobName) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sign(jobName));
+    }
+
+    /**
+     * 콜백 헤더의 토큰이 해당 Job의 것인지 확인
+     */
+    public boolean verify(String jobName, String token) {
+        if (token == null || token.isBlank()) {
+            return false;
+        }
+        return MessageDigest.isEqual(issue(jobName).getBytes(StandardCharsets.UTF_8),
+            token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] sign(String jobName) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(jobName.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign worker callback token", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.esc.fluffybot.worker.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 작업 디스패치부터 Worker가 실제 작업을 시작할 때까지의 지연 측정
+ *
+ * Worker는 모드 스크립트를 실행하기 직전에 /workers/{jobName}/started로 시작을 보고합니다.
+ * 풀 할당(pool)과 새 Job 생성(cold)을 source 태그로 구분합니다.
+ */
+@Slf4j
+@Component
+public class WorkerDispatchTracker {
+
+    public static final String SOURCE_POOL = "pool";
+    public static final String SOURCE_COLD = "cold";
+
+    // 시작 보고가 오지 않는 Job(생성 실패, 콜백 미설정 등)은 이 시간 후 버림
+    private static final Duration MAX_PENDING = Duration.ofHours(2);
+
+    private final Map<String, Dispatch> pending = new ConcurrentHashMap<>();
+    private final Timer poolLatency;
+    private final Timer coldLatency;
+
+    public WorkerDispatchTracker(MeterRegistry meterRegistry) {
+        this.poolLatency = latencyTimer(meterRegistry, SOURCE_POOL);
+        this.coldLatency = latencyTimer(meterRegistry, SOURCE_COLD);
+    }
+
+    public void dispatched(String jobName, String source, long dispatchedAtNanos) {
+        pending.put(jobName, new Dispatch(source, dispatchedAtNanos));
+    }
+
+    /**
+     * Worker 시작 보고, 디스패치 기록이 있으면 지연을 기록하고 true
+     */
+    public boolean started(String jobName) {
+        Dispatch dispatch = pending.remove(jobName);
+        if (dispatch == null) {
+            return false;
+        }
+
+        long latency = System.nanoTime() - dispatch.dispatchedAtNanos();
+        (SOURCE_POOL.equals(dispatch.source()) ? poolLatency : coldLatency).record(latency, TimeUnit.NANOSECONDS);
+        log.info("Worker {} started {} ms after dispatch (source={})",
+            jobName, TimeUnit.NANOSECONDS.toMillis(latency), dispatch.source());
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "PT10M")
+    public void evictStale() {
+        long cutoff = System.nanoTime() - MAX_PENDING.toNanos();
+        pending.values().removeIf(dispatch -> dispatch.dispatchedAtNanos() < cutoff);
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("fluffybot.worker.dispatch.latency")
+            .description("Time from task dispatch until the worker starts its mode script")
+            .tag("source", source)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private record Dispatch(String source, long dispatchedAtNanos) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.worker.dto.JobLogOptions;
+import com.esc.fluffybot.worker.dto.JobPage;
+import com.esc.fluffybot.worker.dto.JobStatusResponse;
+import com.esc.fluffybot.worker.model.WorkerTask;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Worker 작업 실행 방식 (fluffybot.worker.executor로 선택)
+ *
+ * 스케줄러가 슬롯을 배정한 작업을 실제로 실행하고, /jobs API가 보여줄 상태와 로그를 제공합니다.
+ * 구현은 블로킹일 수 있으므로 launch/findActive/cancel은 boundedElastic에서 호출됩니다.
+ */
+public interface WorkerExecutor {
+
+    /**
+     * 작업 실행 시작
+     *
+     * @return 실행 이름 (Job 이름), 스케줄러 슬롯과 /jobs API의 키
+     * @throws com.esc.fluffybot.worker.exception.CapacityUnavailableException 지금은 실행할 여유가 없을 때 (대기열로 되돌아감)
+     */
+    String launch(String jobName, WorkerTask task);
+
+    /**
+     * 같은 이슈/모드로 아직 끝나지 않은 실행 이름
+     */
+    List<String> findActive(WorkerTask task);
+
+    /**
+     * 실행 취소 (supersede)
+     */
+    void cancel(String jobName);
+
+    /**
+     * 조건에 맞는 실행 목록 (생성 시각 역순, page는 0부터)
+     */
+    Mono<JobPage> listJobs(Long projectId, Long issueIid, String status, int page, int size);
+
+    /**
+     * 실행 상태, 없으면 empty
+     */
+    Mono<JobStatusResponse> getJobStatus(String jobName);
+
+    /**
+     * 실행 로그 스트림, 로그가 없으면 empty
+     */
+    Mono<Flux<DataBuffer>> streamJobLogs(String jobName, JobLogOptions options);
+}
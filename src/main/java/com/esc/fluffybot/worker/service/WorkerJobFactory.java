@@ -0,0 +1,339 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.GitLabProperties;
+import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.worker.model.WorkerTask;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.LocalObjectReferenceBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.Volume;
+import io.fabric8.kubernetes.api.model.VolumeBuilder;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Worker Job 스펙 생성
+ *
+ * 작업 Job과 풀(유휴) Job이 같은 컨테이너 스펙을 쓰도록 한 곳에서 만듭니다.
+ * 작업별 값(프로젝트, 이슈, 모드 등)은 taskEnvironment로 분리되어 있어 풀 Pod에 할당할 때도 그대로 사용됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkerJobFactory {
+
+    static final String POOL_LABEL = "worker-pool";
+    static final String MAINTENANCE_APP = "fluffybot-maintenance";
+    // 스크립트가 실패를 이슈에 직접 보고했을 때 종료 메시지(TERMINATION_LOG)에 남기는 표시
+    static final String FAILURE_REPORTED = "failure-reported";
+
+    private final WorkerProperties workerProperties;
+    private final GitLabProperties gitLabProperties;
+    private final WorkerResourceResolver resourceResolver;
+    private final WorkerCallbackTokens callbackTokens;
+
+    /**
+     * 작업이 정해진 Job (cold start)
+     */
+    public Job buildTaskJob(String jobName, WorkerTask task) {
+        Map<String, String> env = taskJobEnvironment(jobName, task);
+
+        Map<String, String> labels = taskLabels(task);
+        return buildJob(jobName, labels, labels, env, taskDeadlineSeconds(task), resourceResolver.resolve(task),
+            task.getWorkspaceClaim());
+    }
+
+    /**
+     * 작업 할당을 기다리는 유휴 풀 Job
+     */
+    public Job buildPoolJob(String jobName, String poolToken) {
+        Map<String, String> env = baseEnvironment(jobName);
+        env.put("TASK_MODE", "pool");
+        env.put("POOL_TOKEN", poolToken);
+
+        Map<String, String> labels = new LinkedHashMap<>(commonLabels());
+        labels.put(POOL_LABEL, "idle");
+
+        // Pod 라벨은 생성 후 바꿀 수 없으므로 풀 출신이라는 것만 표시
+        Map<String, String> podLabels = new LinkedHashMap<>(commonLabels());
+        podLabels.put(POOL_LABEL, "pooled");
+
+        // 풀에서 버려진 Pod가 스스로 정리되도록 최대 대기 시간 + 작업 시간으로 제한 (할당 시 다시 설정)
+        long deadline = workerProperties.getPool().getMaxIdle().toSeconds()
+            + workerProperties.getTimeoutMinutes() * 60L;
+        return buildJob(jobName, labels, podLabels, env, deadline, resourceResolver.defaults(), null);
+    }
+
+    /**
+     * 캐시 용량 정리 Job
+     * Worker 이미지를 쓰지만 app 라벨이 달라 작업 인덱스/스케줄러 집계에는 포함되지 않음
+     */
+    public Job buildCacheEvictJob(String jobName) {
+        WorkerProperties.Caches caches = workerProperties.getCaches();
+        // 줄마다 "<경로> <최대 바이트>"
+        String spec = caches.getVolumes().stream()
+            .map(volume -> volume.getMountPath() + " " + new Quantity(volume.getMaxSize()).getNumericalAmount().longValue())
+            .collect(Collectors.joining("\n"));
+
+        Map<String, String> labels = Map.of(
+            "app", MAINTENANCE_APP,
+            "managed-by", "fluffybot-webhook",
+            "task-mode", "cache-evict"
+        );
+
+        return new JobBuilder()
+            .withNewMetadata()
+                .withName(jobName)
+                .withNamespace(workerProperties.getNamespace())
+                .withLabels(labels)
+            .endMetadata()
+            .withNewSpec()
+                .withTtlSecondsAfterFinished(3600)
+                .withBackoffLimit(0)
+                .withActiveDeadlineSeconds(caches.getEvictionInterval().toSeconds())
+                .withNewTemplate()
+                    .withNewMetadata()
+                        .withLabels(labels)
+                    .endMetadata()
+                    .withNewSpec()
+                        .withImagePullSecrets(new LocalObjectReferenceBuilder()
+                          .withName("fluffy-registry-secret")
+                          .build())
+                        .withRestartPolicy("Never")
+                        .addNewContainer()
+                            .withName("worker")
+                            .withImage(workerProperties.getImage())
+                            .withCommand("/entrypoint.sh")
+                            .withEnv(
+                                new EnvVar("TASK_MODE", "cache-evict", null),
+                                new EnvVar("CACHE_EVICT_SPEC", spec, null),
+                                new EnvVar("CACHE_EVICT_LOW_WATERMARK", String.valueOf(caches.getLowWatermarkPercent()), null),
+                                // 락을 못 잡았을 때는 실행 중인 Job이 시작된 뒤(최대 실행 시간 이내)에 바뀐 파일을 건너뜀
+                                new EnvVar("CACHE_EVICT_MIN_AGE_MINUTES", String.valueOf(
+                                    Math.max(workerProperties.getTimeoutMinutes(), workerProperties.getWikiTimeoutMinutes())), null))
+                            .withNewResources()
+                                .addToRequests("cpu", new Quantity("100m"))
+                                .addToRequests("memory", new Quantity("128Mi"))
+                                .addToLimits("memory", new Quantity("512Mi"))
+                            .endResources()
+                            .withVolumeMounts(cacheVolumeMounts())
+                        .endContainer()
+                        .withVolumes(cacheVolume())
+                    .endSpec()
+                .endTemplate()
+            .endSpec()
+            .build();
+    }
+
+    /**
+     * 작업 모드별 실행 제한 시간 (초)
+     */
+    public long taskDeadlineSeconds(WorkerTask task) {
+        return workerProperties.timeoutMinutesFor(task.getTaskMode()) * 60L;
+    }
+
+    /**
+     * 작업 식별 라벨 (풀 Job에 할당 시 Job 라벨로 추가됨)
+     */
+    public Map<String, String> taskLabels(WorkerTask task) {
+        Map<String, String> labels = new LinkedHashMap<>(commonLabels());
+        labels.put("project-id", String.valueOf(task.getProjectId()));
+        labels.put("issue-iid", String.valueOf(task.getIssueIid()));
+        labels.put("task-mode", task.getTaskMode());
+        return labels;
+    }
+
+    /**
+     * 작업 실행에 필요한 전체 환경 변수 (로컬 실행 모드도 사용)
+     */
+    public Map<String, String> taskJobEnvironment(String jobName, WorkerTask task) {
+        Map<String, String> env = baseEnvironment(jobName);
+        env.putAll(taskEnvironment(task));
+        return env;
+    }
+
+    /**
+     * 작업별 환경 변수
+     */
+    public Map<String, String> taskEnvironment(WorkerTask task) {
+        Map<String, String> env = new LinkedHashMap<>();
+        env.put("PROJECT_PATH", task.getProjectPath());
+        env.put("PROJECT_ID", String.valueOf(task.getProjectId()));
+        env.put("ISSUE_IID", String.valueOf(task.getIssueIid()));
+        env.put("SKIP_MR_CREATION", String.valueOf(task.isSkipMrCreation()));
+        env.put("TASK_MODE", task.getTaskMode());
+        env.put("MR_IID", task.getMrIid() != null ? String.valueOf(task.getMrIid()) : "");
+        env.put("DESCRIPTION_PREVIOUS", task.getDescriptionPrevious() != null ? task.getDescriptionPrevious() : "");
+        env.put("DESCRIPTION_CURRENT", task.getDescriptionCurrent() != null ? task.getDescriptionCurrent() : "");
+        if (task.getWorkspaceClaim() != null) {
+            env.put("WORKSPACE_PERSISTENT", "true");
+        }
+        if (task.getCommentBranches() != null) {
+            // webhook이 모든 코멘트 페이지에서 찾은 브랜치 (없으면 Worker가 첫 페이지만 직접 조회)
+            env.put("COMMENT_BRANCHES_RESOLVED", "true");
+            env.put("COMMENT_BRANCHES", task.getCommentBranches());
+        }
+        if (workerProperties.getMirror().isEnabled()) {
+            // 로컬 실행이면 webhook이 관리하는 mirror를 그대로 참조
+            String mirrorRoot = workerProperties.runsOnKubernetes()
+                ? workerProperties.getMirror().getMountPath()
+                : workerProperties.getMirror().getLocalPath();
+            env.put("GIT_REFERENCE_REPO", mirrorRoot + "/" + task.getProjectId() + ".git");
+        }
+        return env;
+    }
+
+    private Map<String, String> baseEnvironment(String jobName) {
+        Map<String, String> env = new LinkedHashMap<>();
+        env.put("GITLAB_URL", gitLabProperties.getUrl());
+        env.put("GITLAB_TOKEN", gitLabProperties.getToken());
+        env.put("BOT_USERNAME", gitLabProperties.getBotUsername());
+        env.put("ANTHROPIC_API_KEY", workerProperties.getAnthropicApiKey());
+        env.put("WORKER_JOB_NAME", jobName);
+        env.put("WORKER_CALLBACK_TOKEN", callbackTokens.issue(jobName));
+        if (workerProperties.getCallbackUrl() != null && !workerProperties.getCallbackUrl().isBlank()) {
+            env.put("WEBHOOK_URL", workerProperties.getCallbackUrl());
+        }
+        if (workerProperties.getCaches().isEnabled() && workerProperties.runsOnKubernetes()) {
+            workerProperties.getCaches().getVolumes().forEach(volume -> env.putAll(volume.getEnv()));
+            // Worker가 작업 동안 공유 락을 잡아 정리 Job이 사용 중인 캐시를 지우지 않도록 함
+            env.put("CACHE_ROOTS", workerProperties.getCaches().getVolumes().stream()
+                .map(WorkerProperties.CacheVolume::getMountPath)
+                .collect(Collectors.joining("\n")));
+        }
+        return env;
+    }
+
+    private Map<String, String> commonLabels() {
+        return Map.of(
+            "app", "fluffybot-worker",
+            "managed-by", "fluffybot-webhook"
+        );
+    }
+
+    private Job buildJob(String jobName, Map<String, String> labels, Map<String, String> podLabels,
+                         Map<String, String> env, long activeDeadlineSeconds, ResourceRequirements resources,
+                         String workspaceClaim) {
+        return new JobBuilder()
+            .withNewMetadata()
+                .withName(jobName)
+                .withNamespace(workerProperties.getNamespace())
+                .withLabels(labels)
+            .endMetadata()
+            .withNewSpec()
+                .withTtlSecondsAfterFinished(3600)
+                .withBackoffLimit(0)
+                .withActiveDeadlineSeconds(activeDeadlineSeconds)
+                .withNewTemplate()
+                    .withNewMetadata()
+                        .withLabels(podLabels)
+                    .endMetadata()
+                    .withNewSpec()
+                        .withImagePullSecrets(new LocalObjectReferenceBuilder()
+                          .withName("fluffy-registry-secret")
+                          .build())
+                        .withRestartPolicy("Never")
+                        .addNewContainer()
+                            .withName("worker")
+                            .withImage(workerProperties.getImage())
+                            .withCommand("/entrypoint.sh")
+                            .withEnv(env.entrySet().stream()
+                                .map(e -> new EnvVar(e.getKey(), e.getValue(), null))
+                                .toList())
+                            .withResources(resources)
+                            .withVolumeMounts(volumeMounts())
+                        .endContainer()
+                        .withVolumes(volumes(workspaceClaim))
+                    .endSpec()
+                .endTemplate()
+            .endSpec()
+            .build();
+    }
+
+    private List<VolumeMount> volumeMounts() {
+        List<VolumeMount> mounts = new ArrayList<>();
+        mounts.add(new VolumeMountBuilder()
+            .withName("workspace")
+            .withMountPath("/workspace")
+            .build());
+        if (workerProperties.getMirror().isEnabled()) {
+            mounts.add(new VolumeMountBuilder()
+                .withName("git-mirrors")
+                .withMountPath(workerProperties.getMirror().getMountPath())
+                .withReadOnly(true)
+                .build());
+        }
+        if (workerProperties.getCaches().isEnabled()) {
+            mounts.addAll(cacheVolumeMounts());
+        }
+        return mounts;
+    }
+
+    /**
+     * workspaceClaim이 있으면 이슈별 영구 작업 공간을, 없으면 emptyDir을 /workspace로 사용
+     */
+    private List<Volume> volumes(String workspaceClaim) {
+        List<Volume> volumes = new ArrayList<>();
+        if (workspaceClaim != null) {
+            volumes.add(new VolumeBuilder()
+                .withName("workspace")
+                .withNewPersistentVolumeClaim()
+                    .withClaimName(workspaceClaim)
+                .endPersistentVolumeClaim()
+                .build());
+        } else {
+            volumes.add(new VolumeBuilder()
+                .withName("workspace")
+                .withNewEmptyDir()
+                .endEmptyDir()
+                .build());
+        }
+        if (workerProperties.getMirror().isEnabled()) {
+            // 풀 Pod도 어떤 프로젝트를 받을지 모르므로 항상 마운트
+            volumes.add(new VolumeBuilder()
+                .withName("git-mirrors")
+                .withNewPersistentVolumeClaim()
+                    .withClaimName(workerProperties.getMirror().getClaimName())
+                    .withReadOnly(true)
+                .endPersistentVolumeClaim()
+                .build());
+        }
+        if (workerProperties.getCaches().isEnabled()) {
+            volumes.add(cacheVolume());
+        }
+        return volumes;
+    }
+
+    /**
+     * 캐시 PVC 하나를 캐시별 subPath로 나눠 마운트
+     * 동시 접근은 각 빌드 도구의 파일 락에 맡김 (Gradle, npm은 기본 지원, Maven은 MAVEN_OPTS로 설정)
+     */
+    private List<VolumeMount> cacheVolumeMounts() {
+        return workerProperties.getCaches().getVolumes().stream()
+            .map(volume -> new VolumeMountBuilder()
+                .withName("build-cache")
+                .withMountPath(volume.getMountPath())
+                .withSubPath(volume.getName())
+                .build())
+            .toList();
+    }
+
+    private Volume cacheVolume() {
+        return new VolumeBuilder()
+            .withName("build-cache")
+            .withNewPersistentVolumeClaim()
+                .withClaimName(workerProperties.getCaches().getClaimName())
+            .endPersistentVolumeClaim()
+            .build();
+    }
+}
@@ -0,0 +1,285 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.worker.client.KubernetesApiClient;
+import com.esc.fluffybot.worker.exception.PoolWorkerNotFoundException;
+import com.esc.fluffybot.worker.model.WorkerTask;
+import io.fabric8.kubernetes.api.model.DeletionPropagation;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유휴 Worker Pod 풀 관리
+ *
+ * 풀 Pod는 이미지 pull과 컨테이너 기동을 미리 마친 채 /workers/pool/{jobName}/task를 long-poll하며 대기합니다.
+ * 작업이 들어오면 대기 중인 Pod에 작업 환경 변수를 넘기고 Job에 작업 라벨을 붙인 뒤, 빈 자리는 비동기로 채웁니다.
+ * 풀 상태는 webhook 인스턴스 메모리에 있으므로 단일 replica 구성을 전제로 합니다.
+ */
+@Slf4j
+@Service
+public class WorkerPoolService {
+
+    private final KubernetesClient kubernetesClient;
+    private final KubernetesApiClient kubernetesApiClient;
+    private final WorkerProperties workerProperties;
+    private final WorkerJobFactory jobFactory;
+    private final Counter hits;
+    private final Counter misses;
+
+    // 작업 할당 대기 중인 Pod
+    private final Map<String, PooledWorker> idle = new ConcurrentHashMap<>();
+    // 작업을 할당받았으나 아직 시작 보고 전인 Pod (재조회 시 같은 작업을 다시 내려줌)
+    private final Map<String, PooledWorker> assigned = new ConcurrentHashMap<>();
+
+    private volatile boolean started;
+
+    public WorkerPoolService(KubernetesClient kubernetesClient,
+                             KubernetesApiClient kubernetesApiClient,
+                             WorkerProperties workerProperties,
+                             WorkerJobFactory jobFactory,
+                             MeterRegistry meterRegistry) {
+        this.kubernetesClient = kubernetesClient;
+        this.kubernetesApiClient = kubernetesApiClient;
+        this.workerProperties = workerProperties;
+        this.jobFactory = jobFactory;
+        this.hits = meterRegistry.counter("fluffybot.worker.pool.assignments", "result", "hit");
+        this.misses = meterRegistry.counter("fluffybot.worker.pool.assignments", "result", "miss");
+        Gauge.builder("fluffybot.worker.pool.idle", idle, Map::size)
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        WorkerProperties.Pool pool = workerProperties.getPool();
+        if (!pool.isEnabled() || !workerProperties.runsOnKubernetes()) {
+            return;
+        }
+        if (workerProperties.getCallbackUrl() == null || workerProperties.getCallbackUrl().isBlank()) {
+            log.warn("Worker pool is enabled but fluffybot.worker.callback-url is not set, pool disabled");
+            return;
+        }
+
+        // 이전 인스턴스가 띄운 유휴 Pod는 토큰을 알 수 없으므로 정리 후 새로 채움
+        try {
+            kubernetesApiClient.write("job.delete", () -> kubernetesClient.batch().v1().jobs()
+                    .inNamespace(workerProperties.getNamespace())
+                    .withLabels(Map.of("app", "fluffybot-worker", WorkerJobFactory.POOL_LABEL, "idle"))
+                    .withPropagationPolicy(DeletionPropagation.BACKGROUND)
+                    .delete())
+                .block();
+        } catch (Exception e) {
+            log.warn("Failed to clean up orphaned pool jobs: {}", e.getMessage());
+        }
+
+        started = true;
+        log.info("Worker pool started (size={})", pool.getSize());
+        replenishAsync();
+    }
+
+    /**
+     * 대기 중인 풀 Pod에 작업 할당, 할당할 Pod가 없으면 empty
+     */
+    public Optional<String> tryAssign(WorkerTask task) {
+        if (!started) {
+            return Optional.empty();
+        }
+
+        PooledWorker worker = takeReadyWorker();
+        if (worker == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        try {
+            // 작업 라벨을 붙여 supersede/상태 조회 대상이 되도록 함
+            Map<String, String> labels = jobFactory.taskLabels(task);
+            kubernetesApiClient.write("job.edit", () -> kubernetesClient.batch().v1().jobs()
+                    .inNamespace(workerProperties.getNamespace())
+                    .withName(worker.jobName)
+                    .edit(job -> new JobBuilder(job)
+                        .editMetadata()
+                            .addToLabels(labels)
+                            .addToLabels(WorkerJobFactory.POOL_LABEL, "assigned")
+                        .endMetadata()
+                        .editSpec()
+                            // deadline은 Job 시작 기준이므로 대기했던 시간만큼 더해 작업 제한 시간을 맞춤
+                            .withActiveDeadlineSeconds(idleSeconds(job) + jobFactory.taskDeadlineSeconds(task))
+                        .endSpec()
+                        .build()))
+                .block();
+        } catch (Exception e) {
+            log.warn("Failed to label pooled worker {}, discarding it: {}", worker.jobName, e.getMessage());
+            deleteJob(worker.jobName);
+            misses.increment();
+            replenishAsync();
+            return Optional.empty();
+        }
+
+        assigned.put(worker.jobName, worker);
+        worker.assignment.tryEmitValue(jobFactory.taskEnvironment(task));
+        hits.increment();
+        replenishAsync();
+
+        return Optional.of(worker.jobName);
+    }
+
+    /**
+     * 풀 Pod의 작업 조회 (long-poll), 대기 시간 내 할당이 없으면 empty
+     */
+    public Mono<Map<String, String>> awaitAssignment(String jobName, String token) {
+        PooledWorker worker = idle.get(jobName);
+        if (worker == null) {
+            worker = assigned.get(jobName);
+        }
+        if (worker == null || !worker.matches(token)) {
+            return Mono.error(new PoolWorkerNotFoundException("Unknown pool worker: " + jobName));
+        }
+
+        worker.lastPolledAt = Instant.now();
+        return worker.assignment.asMono()
+            .timeout(workerProperties.getPool().getPollTimeout(), Mono.empty());
+    }
+
+    /**
+     * Worker 시작 보고 시 할당 기록 정리
+     */
+    public void markStarted(String jobName) {
+        assigned.remove(jobName);
+    }
+
+    @Scheduled(fixedDelayString = "PT30S")
+    public synchronized void replenish() {
+        if (!started) {
+            return;
+        }
+
+        evictStale();
+
+        int missing = workerProperties.getPool().getSize() - idle.size();
+        for (int i = 0; i < missing; i++) {
+            if (!createPoolJob()) {
+                break;
+            }
+        }
+    }
+
+    private void replenishAsync() {
+        Mono.fromRunnable(this::replenish)
+            .subscribeOn(Schedulers.boundedElastic())
+            .subscribe(null, e -> log.warn("Failed to replenish worker pool: {}", e.getMessage()));
+    }
+
+    private synchronized PooledWorker takeReadyWorker() {
+        // 한 번이라도 조회한 Pod만 기동이 끝난 것으로 봄 (이미지 pull 중인 Pod는 제외)
+        return idle.values().stream()
+            .filter(worker -> worker.lastPolledAt != null)
+            .min(Comparator.comparing(worker -> worker.createdAt))
+            .map(worker -> idle.remove(worker.jobName))
+            .orElse(null);
+    }
+
+    private boolean createPoolJob() {
+        String jobName = "fluffybot-worker-pool-" + UUID.randomUUID().toString().substring(0, 8);
+        String token = UUID.randomUUID().toString();
+
+        try {
+            Job job = jobFactory.buildPoolJob(jobName, token);
+            kubernetesApiClient.write("job.create", () -> kubernetesClient.batch().v1().jobs()
+                    .inNamespace(workerProperties.getNamespace())
+                    .resource(job)
+                    .create())
+                .block();
+        } catch (Exception e) {
+            log.warn("Failed to create pool worker job: {}", e.getMessage());
+            return false;
+        }
+
+        idle.put(jobName, new PooledWorker(jobName, token, Instant.now()));
+        log.info("Created pool worker job: {}", jobName);
+        return true;
+    }
+
+    private void evictStale() {
+        WorkerProperties.Pool pool = workerProperties.getPool();
+        Instant now = Instant.now();
+        Instant idleCutoff = now.minus(pool.getMaxIdle());
+        // long-poll이 몇 번 연속으로 끊겼다면 Pod가 죽은 것으로 봄
+        Instant pollCutoff = now.minus(pool.getPollTimeout().multipliedBy(4));
+
+        idle.values().removeIf(worker -> {
+            boolean expired = worker.createdAt.isBefore(idleCutoff);
+            boolean lost = worker.lastPolledAt != null && worker.lastPolledAt.isBefore(pollCutoff);
+            if (expired || lost) {
+                log.info("Recycling pool worker {} ({})", worker.jobName, expired ? "max idle" : "lost");
+                deleteJob(worker.jobName);
+                return true;
+            }
+            return false;
+        });
+
+        assigned.values().removeIf(worker -> worker.createdAt.isBefore(idleCutoff.minus(Duration.ofHours(1))));
+    }
+
+    private static long idleSeconds(Job job) {
+        String startTime = job.getStatus() != null ? job.getStatus().getStartTime() : null;
+        if (startTime == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(ZonedDateTime.parse(startTime).toInstant(), Instant.now()).toSeconds());
+    }
+
+    private void deleteJob(String jobName) {
+        try {
+            kubernetesApiClient.write("job.delete", () -> kubernetesClient.batch().v1().jobs()
+                    .inNamespace(workerProperties.getNamespace())
+                    .withName(jobName)
+                    .withPropagationPolicy(DeletionPropagation.BACKGROUND)
+                    .delete())
+                .block();
+        } catch (Exception e) {
+            log.warn("Failed to delete pool worker job {}: {}", jobName, e.getMessage());
+        }
+    }
+
+    private static final class PooledWorker {
+        private final String jobName;
+        private final String token;
+        private final Instant createdAt;
+        private final Sinks.One<Map<String, String>> assignment = Sinks.one();
+        private volatile Instant lastPolledAt;
+
+        private PooledWorker(String jobName, String token, Instant createdAt) {
+            this.jobName = jobName;
+            this.token = token;
+            this.createdAt = createdAt;
+        }
+
+        private boolean matches(String candidate) {
+            return candidate != null && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), candidate.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
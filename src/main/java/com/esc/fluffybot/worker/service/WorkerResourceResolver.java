@@ -0,0 +1,72 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.worker.model.WorkerTask;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.ResourceRequirements;
+import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Worker 컨테이너 리소스 요청/제한 결정
+ *
+ * Job 스펙 생성과 용량 확인이 같은 값을 보도록 한 곳에서 계산합니다.
+ * 학습된 리소스 프로필이 있으면 그 값을, 없으면 설정된 기본값을 사용합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkerResourceResolver {
+
+    private final WorkerProperties workerProperties;
+    private final ResourceProfileService resourceProfileService;
+
+    /**
+     * 작업에 적용할 리소스
+     */
+    public ResourceRequirements resolve(WorkerTask task) {
+        return resourceProfileService.recommend(task.getProjectId(), task.getTaskMode())
+            .orElseGet(this::defaults);
+    }
+
+    /**
+     * 작업에 필요한 리소스가 기본 리소스(풀 Pod) 안에 들어가는지
+     * 학습/OOM으로 기본값보다 커진 프로필은 풀 Pod에 할당하면 적용되지 않으므로 Job을 새로 만들어야 함
+     */
+    public boolean fitsDefaults(WorkerTask task) {
+        ResourceRequirements required = resolve(task);
+        ResourceRequirements available = defaults();
+        return within(required.getRequests(), available.getRequests())
+            && within(required.getLimits(), available.getLimits());
+    }
+
+    /**
+     * 설정된 기본 리소스 (풀 Pod 등 작업이 정해지지 않은 경우)
+     */
+    public ResourceRequirements defaults() {
+        return new ResourceRequirementsBuilder()
+            .withRequests(Map.of(
+                "cpu", new Quantity(workerProperties.getCpuRequest()),
+                "memory", new Quantity(workerProperties.getMemoryRequest())
+            ))
+            .withLimits(Map.of(
+                "cpu", new Quantity(workerProperties.getCpuLimit()),
+                "memory", new Quantity(workerProperties.getMemoryLimit())
+            ))
+            .build();
+    }
+
+    private static boolean within(Map<String, Quantity> required, Map<String, Quantity> available) {
+        if (required == null) {
+            return true;
+        }
+        return required.entrySet().stream().allMatch(entry -> {
+            Quantity limit = available != null ? available.get(entry.getKey()) : null;
+            return limit == null
+                || Objects.requireNonNull(entry.getValue()).getNumericalAmount().compareTo(limit.getNumericalAmount()) <= 0;
+        });
+    }
+}
@@ -0,0 +1,513 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.worker.dto.QueuedTaskResponse;
+import com.esc.fluffybot.worker.exception.ActiveJobConflictException;
+import com.esc.fluffybot.worker.exception.ActiveJobPendingException;
+import com.esc.fluffybot.worker.exception.CapacityUnavailableException;
+import com.esc.fluffybot.worker.model.SupersedePolicy;
+import com.esc.fluffybot.worker.model.WorkerTask;
+import io.fabric8.kubernetes.api.model.batch.v1.Job;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Worker Job 실행 스케줄러
+ *
+ * 전체 동시 실행 수를 제한하고, 대기 작업은 모드별 우선순위 lane(기본: wiki > issue) 안에서
+ * 프로젝트별 가중치 공정 큐잉(start-time fair queuing)으로 꺼냅니다.
+ * 한 프로젝트가 이슈를 대량으로 할당해도 다른 프로젝트의 작업이 번갈아 실행됩니다.
+ * 실행 슬롯은 JobIndex에서 Job이 끝나거나 삭제되는 것을 보고 반환합니다. (로컬 실행 모드는 실행기가 release로 반환)
+ * 다음 작업이 namespace 용량(CapacityTracker)에 들어가지 않으면 Job을 만들지 않고 용량이 바뀔 때까지 기다립니다.
+ * 같은 이슈의 Job이 끝나기를 기다려야 하는 작업(QUEUE 정책)은 슬롯을 반납하고 보류했다가, 그 Job이 끝나면 맨 앞으로 되돌립니다.
+ * 작업이 실행되거나 폐기되면 settled 콜백을 한 번 호출합니다. (웹훅 저널 엔트리는 그때 완료됨)
+ */
+@Slf4j
+@Service
+public class WorkerScheduler {
+
+    // Job이 생성된 직후 informer에 보이기 전까지 실행 중으로 간주하는 시간
+    private static final Duration LAUNCH_GRACE = Duration.ofMinutes(1);
+    private static final double DURATION_EWMA_ALPHA = 0.3;
+
+    private final WorkerProperties workerProperties;
+    private final JobIndex jobIndex;
+    private final CapacityTracker capacityTracker;
+    private final WorkerResourceResolver resourceResolver;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong sequence = new AtomicLong();
+
+    // lane(모드) -> 프로젝트 -> 대기 작업
+    private final Map<String, Map<Long, Deque<QueuedTask>>> lanes = new LinkedHashMap<>();
+    // 프로젝트별 마지막 가상 종료 시각
+    private final Map<Long, Double> projectFinishTags = new HashMap<>();
+    private double virtualTime;
+    private int queued;
+    private int launching;
+    // Job 생성이 quota 초과로 거절된 뒤 다음 용량 변화까지 대기
+    private boolean capacityBlocked;
+    // 같은 이슈의 Job이 끝나기를 기다리는 작업 -> 기다리는 Job 이름
+    private final Map<QueuedTask, List<String>> parked = new LinkedHashMap<>();
+
+    // 실행 중인 Job 이름 -> 실행 시작 시각
+    private final Map<String, Instant> running = new ConcurrentHashMap<>();
+    // 이 인스턴스가 실행한 Job 이름 -> 모드 (Job 정보가 없는 로컬 실행 모드용)
+    private final Map<String, String> runningModes = new ConcurrentHashMap<>();
+    // 모드별 평균 실행 시간 (예상 시작 시각 계산용)
+    private final Map<String, Duration> averageDurations = new ConcurrentHashMap<>();
+
+    public WorkerScheduler(WorkerProperties workerProperties,
+                           JobIndex jobIndex,
+                           CapacityTracker capacityTracker,
+                           WorkerResourceResolver resourceResolver,
+                           MeterRegistry meterRegistry) {
+        this.workerProperties = workerProperties;
+        this.jobIndex = jobIndex;
+        this.capacityTracker = capacityTracker;
+        this.resourceResolver = resourceResolver;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("fluffybot.worker.scheduler.queued", this, WorkerScheduler::queuedCount)
+            .register(meterRegistry);
+        Gauge.builder("fluffybot.worker.scheduler.running", running, Map::size)
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void register() {
+        jobIndex.addJobHandler(new SlotReleaser());
+        capacityTracker.addListener(this::onCapacityChanged);
+    }
+
+    /**
+     * 작업을 대기열에 넣고 바로 반환, 슬롯이 있으면 즉시 실행
+     * launcher는 실행 시점에 호출되며 생성된 Job 이름을 반환해야 함
+     * settled는 작업이 실행되거나(Job 이름 반환) 실패/폐기되어 대기열에서 완전히 빠질 때 호출됨
+     *
+     * @return 대기열 티켓 ID
+     */
+    public Mono<String> submit(WorkerTask task, Supplier<Mono<String>> launcher, Runnable settled) {
+        return Mono.fromCallable(() -> {
+            QueuedTask entry;
+            synchronized (this) {
+                supersedeQueued(task);
+
+                entry = new QueuedTask("task-" + sequence.incrementAndGet(), task, launcher, settled, Instant.now(),
+                    nextFinishTag(task.getProjectId()));
+                lanes.computeIfAbsent(laneOf(task), lane -> new LinkedHashMap<>())
+                    .computeIfAbsent(task.getProjectId(), project -> new ArrayDeque<>())
+                    .addLast(entry);
+                queued++;
+            }
+
+            log.info("Queued worker task {} (project={}, issue={}, mode={})",
+                entry.id(), task.getProjectId(), task.getIssueIid(), task.getTaskMode());
+            drain();
+            return entry.id();
+        });
+    }
+
+    /**
+     * 대기 중인 작업 (실행될 순서대로, 예상 시작 시각 포함)
+     */
+    public synchronized List<QueuedTaskResponse> getQueue() {
+        List<QueuedTask> order = simulateOrder();
+
+        // 슬롯별 다음 빈 시각을 min-heap으로 두고 순서대로 배정
+        Instant now = Instant.now();
+        PriorityQueue<Instant> slots = new PriorityQueue<>();
+        running.forEach((jobName, startedAt) -> {
+            Instant expectedEnd = startedAt.plus(averageDuration(modeOf(jobName)));
+            slots.add(expectedEnd.isBefore(now) ? now : expectedEnd);
+        });
+        while (slots.size() < maxConcurrent()) {
+            slots.add(now);
+        }
+
+        List<QueuedTaskResponse> queue = new ArrayList<>(order.size());
+        for (int i = 0; i < order.size(); i++) {
+            QueuedTask entry = order.get(i);
+            Instant start = slots.poll();
+            slots.add(start.plus(averageDuration(entry.task().getTaskMode())));
+
+            queue.add(QueuedTaskResponse.builder()
+                .id(entry.id())
+                .projectId(entry.task().getProjectId())
+                .issueIid(entry.task().getIssueIid())
+                .taskMode(entry.task().getTaskMode())
+                .position(i + 1)
+                .enqueuedAt(entry.enqueuedAt())
+                .estimatedStartTime(start)
+                .build());
+        }
+        return queue;
+    }
+
+    /**
+     * informer 이벤트를 놓친 경우를 대비한 실행 목록 보정
+     * (재시작 전부터 실행 중이던 Job도 여기서 슬롯에 반영됨)
+     * quota 초과로 멈춘 대기열도 주기마다 한 번씩 다시 시도함 (CapacityTracker가 꺼져 있으면 알려주는 쪽이 없음)
+     */
+    @Scheduled(fixedDelayString = "PT30S")
+    public void reconcile() {
+        if (!jobIndex.isReady()) {
+            onCapacityChanged();
+            return;
+        }
+
+        Instant graceCutoff = Instant.now().minus(LAUNCH_GRACE);
+        for (Job job : jobIndex.findJobs(null, null, null)) {
+            if (isTaskJob(job) && !isFinished(job)) {
+                running.putIfAbsent(job.getMetadata().getName(), startTime(job));
+            }
+        }
+        running.entrySet().removeIf(entry -> entry.getValue().isBefore(graceCutoff)
+            && jobIndex.getJob(entry.getKey()).filter(job -> !isFinished(job)).isEmpty());
+        runningModes.keySet().retainAll(running.keySet());
+
+        // Job 종료 이벤트를 놓쳤거나 기다리는 제한 시간이 지난 경우를 위해 보류 작업을 다시 시도
+        unpark(null);
+        onCapacityChanged();
+    }
+
+    /**
+     * Job 없이 실행된 작업(로컬 실행 모드)이 끝났을 때 슬롯 반환
+     * 실행기 자체의 동시 실행 제한으로 보류된 작업도 다시 시도함
+     */
+    public void release(String jobName, Duration runtime) {
+        String mode = runningModes.remove(jobName);
+        if (mode != null && runtime != null) {
+            recordDuration(mode, runtime);
+        }
+        running.remove(jobName);
+        unpark(jobName);
+        onCapacityChanged();
+    }
+
+    private void drain() {
+        while (true) {
+            QueuedTask entry;
+            synchronized (this) {
+                if (queued == 0 || capacityBlocked || running.size() + launching >= maxConcurrent()) {
+                    return;
+                }
+                // 용량이 없으면 순서를 지키기 위해 뒤 작업도 함께 대기 (큰 작업이 계속 밀리지 않도록)
+                Deque<QueuedTask> next = nextQueue();
+                if (!capacityTracker.fits(resourceResolver.resolve(next.peekFirst().task()))) {
+                    return;
+                }
+                entry = pollFrom(next);
+                launching++;
+            }
+            launch(entry);
+        }
+    }
+
+    private void onCapacityChanged() {
+        synchronized (this) {
+            capacityBlocked = false;
+        }
+        drain();
+    }
+
+    private void launch(QueuedTask entry) {
+        WorkerTask task = entry.task();
+        Timer.builder("fluffybot.worker.scheduler.wait")
+            .description("Time a worker task waited in the scheduler queue")
+            .tag("project", String.valueOf(task.getProjectId()))
+            .tag("mode", task.getTaskMode())
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(Duration.between(entry.enqueuedAt(), Instant.now()));
+
+        Mono.defer(entry.launcher())
+            .subscribeOn(Schedulers.boundedElastic())
+            .doOnNext(jobName -> {
+                running.put(jobName, Instant.now());
+                runningModes.put(jobName, task.getTaskMode());
+                entry.settled().run();
+            })
+            .doFinally(signal -> {
+                synchronized (this) {
+                    launching--;
+                }
+                drain();
+            })
+            .subscribe(
+                jobName -> log.info("Launched worker task {} as job {}", entry.id(), jobName),
+                e -> {
+                    if (e instanceof CapacityUnavailableException) {
+                        requeue(entry);
+                    } else if (e instanceof ActiveJobPendingException pending) {
+                        park(entry, pending.getActiveJobs());
+                    } else {
+                        log.warn("Worker task {} was not launched: {}", entry.id(), e.getMessage());
+                        entry.settled().run();
+                    }
+                });
+    }
+
+    /**
+     * 우선순위가 가장 높은 비어 있지 않은 lane에서 가상 종료 시각이 가장 작은 프로젝트의 대기열
+     */
+    private Deque<QueuedTask> nextQueue() {
+        for (String lane : laneOrder()) {
+            Map<Long, Deque<QueuedTask>> projects = lanes.get(lane);
+            if (projects == null || projects.isEmpty()) {
+                continue;
+            }
+
+            return projects.values().stream()
+                .min((a, b) -> Double.compare(a.peekFirst().finishTag(), b.peekFirst().finishTag()))
+                .orElseThrow();
+        }
+        throw new IllegalStateException("Queue is empty");
+    }
+
+    private QueuedTask pollFrom(Deque<QueuedTask> queue) {
+        QueuedTask entry = queue.pollFirst();
+        if (queue.isEmpty()) {
+            lanes.get(laneOf(entry.task())).remove(entry.task().getProjectId());
+        }
+
+        virtualTime = Math.max(virtualTime, entry.finishTag() - 1.0 / weightOf(entry.task().getProjectId()));
+        queued--;
+        return entry;
+    }
+
+    /**
+     * quota 초과로 Job 생성이 거절된 작업을 원래 자리(맨 앞)로 되돌리고 다음 용량 변화까지 대기
+     * (용량 변화: CapacityTracker 알림, Job 종료/삭제, 또는 reconcile 주기)
+     */
+    private synchronized void requeue(QueuedTask entry) {
+        pushFront(entry);
+        capacityBlocked = true;
+        log.info("Worker task {} held until namespace capacity frees up", entry.id());
+    }
+
+    /**
+     * 같은 이슈의 Job이 끝날 때까지 실행 슬롯 없이 보류
+     */
+    private synchronized void park(QueuedTask entry, List<String> activeJobs) {
+        parked.put(entry, activeJobs);
+        log.info("Worker task {} parked until job(s) {} finish", entry.id(), activeJobs);
+    }
+
+    /**
+     * jobName을 기다리던 보류 작업을 대기열 맨 앞으로 되돌림 (null이면 전부)
+     */
+    private void unpark(String jobName) {
+        boolean requeued = false;
+        synchronized (this) {
+            Iterator<Map.Entry<QueuedTask, List<String>>> iterator = parked.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<QueuedTask, List<String>> entry = iterator.next();
+                if (jobName == null || entry.getValue().contains(jobName)) {
+                    iterator.remove();
+                    pushFront(entry.getKey());
+                    requeued = true;
+                }
+            }
+        }
+        if (requeued) {
+            drain();
+        }
+    }
+
+    private synchronized void pushFront(QueuedTask entry) {
+        lanes.computeIfAbsent(laneOf(entry.task()), lane -> new LinkedHashMap<>())
+            .computeIfAbsent(entry.task().getProjectId(), project -> new ArrayDeque<>())
+            .addFirst(entry);
+        queued++;
+    }
+
+    /**
+     * 대기열을 바꾸지 않고 nextQueue/pollFrom 순서를 재현
+     */
+    private List<QueuedTask> simulateOrder() {
+        List<QueuedTask> order = new ArrayList<>(queued);
+        for (String lane : laneOrder()) {
+            Map<Long, Deque<QueuedTask>> projects = lanes.get(lane);
+            if (projects == null) {
+                continue;
+            }
+            projects.values().stream()
+                .flatMap(Deque::stream)
+                .sorted((a, b) -> Double.compare(a.finishTag(), b.finishTag()))
+                .forEach(order::add);
+        }
+        return order;
+    }
+
+    private double nextFinishTag(Long projectId) {
+        double start = Math.max(virtualTime, projectFinishTags.getOrDefault(projectId, 0.0));
+        double finish = start + 1.0 / weightOf(projectId);
+        projectFinishTags.put(projectId, finish);
+        return finish;
+    }
+
+    /**
+     * 같은 이슈/모드의 대기 작업 처리 (실행 중인 Job은 실행 시점에 WorkerService가 처리)
+     */
+    private void supersedeQueued(WorkerTask task) {
+        SupersedePolicy policy = workerProperties.getSupersedePolicy();
+        if (policy == SupersedePolicy.PARALLEL || policy == SupersedePolicy.QUEUE) {
+            return;
+        }
+
+        Map<Long, Deque<QueuedTask>> projects = lanes.get(laneOf(task));
+        Deque<QueuedTask> pending = projects != null ? projects.get(task.getProjectId()) : null;
+        if (pending == null) {
+            return;
+        }
+
+        Iterator<QueuedTask> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            QueuedTask existing = iterator.next();
+            if (!existing.task().getIssueIid().equals(task.getIssueIid())) {
+                continue;
+            }
+            if (policy == SupersedePolicy.REJECT) {
+                throw new ActiveJobConflictException(
+                    "Task already queued for issue " + task.getIssueIid() + ": " + existing.id());
+            }
+            iterator.remove();
+            queued--;
+            existing.settled().run();
+            log.info("Dropped queued task {} superseded by a newer request for issue {}",
+                existing.id(), task.getIssueIid());
+        }
+        if (pending.isEmpty()) {
+            projects.remove(task.getProjectId());
+        }
+    }
+
+    private void recordDuration(Job job) {
+        if (job.getStatus() == null || job.getStatus().getStartTime() == null
+                || job.getStatus().getCompletionTime() == null) {
+            return;
+        }
+
+        Duration duration = Duration.between(
+            ZonedDateTime.parse(job.getStatus().getStartTime()).toInstant(),
+            ZonedDateTime.parse(job.getStatus().getCompletionTime()).toInstant());
+        recordDuration(job.getMetadata().getLabels().getOrDefault("task-mode", "issue"), duration);
+    }
+
+    private void recordDuration(String mode, Duration duration) {
+        averageDurations.merge(mode, duration, (previous, sample) ->
+            Duration.ofMillis(Math.round(previous.toMillis() * (1 - DURATION_EWMA_ALPHA)
+                + sample.toMillis() * DURATION_EWMA_ALPHA)));
+    }
+
+    private Duration averageDuration(String mode) {
+        // 실측 전에는 제한 시간의 절반으로 가정
+        return averageDurations.getOrDefault(mode,
+            Duration.ofMinutes(workerProperties.timeoutMinutesFor(mode)).dividedBy(2));
+    }
+
+    private String modeOf(String jobName) {
+        String mode = runningModes.get(jobName);
+        if (mode != null) {
+            return mode;
+        }
+        return jobIndex.getJob(jobName)
+            .map(job -> job.getMetadata().getLabels().getOrDefault("task-mode", "issue"))
+            .orElse("issue");
+    }
+
+    private String laneOf(WorkerTask task) {
+        return laneOrder().contains(task.getTaskMode()) ? task.getTaskMode() : laneOrder().get(laneOrder().size() - 1);
+    }
+
+    private List<String> laneOrder() {
+        return workerProperties.getScheduler().getLaneOrder();
+    }
+
+    private int weightOf(Long projectId) {
+        return Math.max(1, workerProperties.getScheduler().getProjectWeights()
+            .getOrDefault(String.valueOf(projectId), workerProperties.getScheduler().getDefaultWeight()));
+    }
+
+    private int maxConcurrent() {
+        return workerProperties.getScheduler().getMaxConcurrent();
+    }
+
+    private synchronized int queuedCount() {
+        return queued + parked.size();
+    }
+
+    private static boolean isTaskJob(Job job) {
+        Map<String, String> labels = job.getMetadata().getLabels();
+        return labels.containsKey("project-id") && !"idle".equals(labels.get(WorkerJobFactory.POOL_LABEL));
+    }
+
+    private static boolean isFinished(Job job) {
+        String status = JobIndex.statusOf(job);
+        return "succeeded".equals(status) || "failed".equals(status);
+    }
+
+    private static Instant startTime(Job job) {
+        String startTime = job.getStatus() != null ? job.getStatus().getStartTime() : null;
+        return startTime != null ? ZonedDateTime.parse(startTime).toInstant() : Instant.now();
+    }
+
+    /**
+     * Job이 끝나거나 삭제되면 실행 슬롯 반환
+     * Job이 차지하던 quota도 풀리므로 용량 대기 상태도 해제
+     */
+    private class SlotReleaser implements ResourceEventHandler<Job> {
+
+        @Override
+        public void onAdd(Job job) {
+        }
+
+        @Override
+        public void onUpdate(Job oldJob, Job newJob) {
+            if (!isFinished(oldJob) && isFinished(newJob)) {
+                recordDuration(newJob);
+                release(newJob);
+            }
+        }
+
+        @Override
+        public void onDelete(Job job, boolean deletedFinalStateUnknown) {
+            release(job);
+        }
+
+        private void release(Job job) {
+            String jobName = job.getMetadata().getName();
+            runningModes.remove(jobName);
+            running.remove(jobName);
+            unpark(jobName);
+            onCapacityChanged();
+        }
+    }
+
+    private record QueuedTask(String id, WorkerTask task, Supplier<Mono<String>> launcher, Runnable settled,
+                              Instant enqueuedAt, double finishTag) {
+    }
+}
@@ -3,30 +3,42 @@ package com.esc.fluffybot.worker.service;
 import com.esc.fluffybot.config.GitLabProperties;
 import com.esc.fluffybot.config.WorkerProperties;
 import com.esc.fluffybot.gitlab.client.GitLabApiClient;
+import com.esc.fluffybot.gitlab.dto.GitLabNote;
 import com.esc.fluffybot.webhook.dto.GitLabWebhookPayload;
+import com.esc.fluffybot.webhook.journal.JournalHold;
+import com.esc.fluffybot.worker.exception.ActiveJobConflictException;
+import com.esc.fluffybot.worker.exception.ActiveJobPendingException;
+import com.esc.fluffybot.worker.exception.CapacityUnavailableException;
 import com.esc.fluffybot.worker.exception.PodCreationException;
+import com.esc.fluffybot.worker.model.SupersedePolicy;
 import com.esc.fluffybot.worker.model.WorkerTask;
-import io.fabric8.kubernetes.api.model.*;
-import io.fabric8.kubernetes.api.model.batch.v1.Job;
-import io.fabric8.kubernetes.api.model.batch.v1.JobBuilder;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class WorkerService {
 
-    private final KubernetesClient kubernetesClient;
+    private static final Pattern WORK_BRANCH = Pattern.compile("작업 브랜치.*`([^`\\n]+)");
+
     private final WorkerProperties workerProperties;
     private final GitLabProperties gitLabProperties;
     private final GitLabApiClient gitLabApiClient;
+    private final WorkerExecutor workerExecutor;
+    private final WorkerScheduler workerScheduler;
+    private final GitMirrorService gitMirrorService;
+    private final WorkspaceClaimService workspaceClaimService;
 
     public Mono<String> createWorkerPod(GitLabWebhookPayload payload, String taskDescription) {
         return createWorkerPod(payload, taskDescription, "issue", null);
@@ -36,26 +48,43 @@ public class WorkerService {
         return createWorkerPod(payload, taskDescription, taskMode, null);
     }
 
+    /**
+     * Worker 작업을 스케줄러 대기열에 등록 (실행은 슬롯이 나면 비동기로 진행)
+     * 웹훅 저널 엔트리에서 온 작업이면 실행되거나 폐기될 때까지 엔트리를 완료하지 않음 (JournalHold)
+     *
+     * @return 대기열 티켓 ID
+     */
     public Mono<String> createWorkerPod(GitLabWebhookPayload payload, String taskDescription, String taskMode, Long mrIid) {
         WorkerTask task = buildWorkerTask(payload, taskDescription, taskMode, mrIid);
-        String jobName = generateJobName(task.getIssueIid(), taskMode);
-
-        return Mono.fromCallable(() -> {
-            try {
-                Job job = buildJobSpec(jobName, task);
 
-                Job createdJob = kubernetesClient.batch().v1().jobs()
-                    .inNamespace(workerProperties.getNamespace())
-                    .resource(job)
-                    .create();
+        // 대기하는 동안 mirror를 준비해 두면 Worker가 참조 clone을 할 수 있음 (wiki 모드는 프로젝트를 clone하지 않음)
+        if ("issue".equals(task.getTaskMode())) {
+            gitMirrorService.ensure(task.getProjectId(), task.getProjectPath());
+        }
 
-                log.info("Created worker job: {} (mode={}) in namespace: {}",
-                    createdJob.getMetadata().getName(),
-                    taskMode,
-                    workerProperties.getNamespace());
+        // QUEUE 정책으로 기존 Job을 기다리기 시작한 시각
+        AtomicReference<Instant> waitingSince = new AtomicReference<>();
 
-                return createdJob.getMetadata().getName();
+        return Mono.deferContextual(context -> {
+            Runnable settled = JournalHold.holdFrom(context);
+            return workerScheduler.submit(task, () -> launch(task, waitingSince), settled)
+                .doOnError(e -> settled.run());
+        })
+            .doOnError(ActiveJobConflictException.class, e -> postComment(task,
+                "⏸️ 같은 이슈의 작업이 이미 대기 중이어서 이번 요청은 처리하지 않았습니다.\n\n작업이 끝난 뒤 다시 요청해주세요."));
+    }
 
+    /**
+     * 스케줄러가 슬롯을 배정했을 때 호출, 실행된 Job 이름 반환
+     */
+    private Mono<String> launch(WorkerTask task, AtomicReference<Instant> waitingSince) {
+        return resolveActiveJobs(task, waitingSince).then(resolveCommentBranches(task)).then(Mono.fromCallable(() -> {
+            String jobName = generateJobName(task.getIssueIid(), task.getTaskMode());
+            try {
+                return workerExecutor.launch(jobName, task);
+            } catch (CapacityUnavailableException e) {
+                // 스케줄러가 대기열로 되돌리고 여유가 생기면 다시 시도
+                throw e;
             } catch (Exception e) {
                 log.error("Failed to create worker job: {}", e.getMessage(), e);
 
@@ -63,7 +92,109 @@ public class WorkerService {
 
                 throw new PodCreationException("Failed to create worker job: " + e.getMessage(), e);
             }
-        });
+        }));
+    }
+
+    /**
+     * bot 코멘트에 남긴 작업 브랜치를 모든 페이지에서 찾아 Worker에 전달 (issue 모드)
+     * 앞선 Job이 남긴 코멘트까지 보도록 실행 직전에 조회하고, 실패하면 Worker가 직접 조회합니다.
+     */
+    private Mono<Void> resolveCommentBranches(WorkerTask task) {
+        if (!"issue".equals(task.getTaskMode())) {
+            return Mono.empty();
+        }
+
+        return gitLabApiClient.listIssueNotes(task.getProjectId(), task.getIssueIid())
+            .filter(note -> note.getAuthor() != null && task.getBotUsername().equals(note.getAuthor().getUsername()))
+            .mapNotNull(GitLabNote::getBody)
+            .flatMapIterable(WorkerService::workBranches)
+            .collectList()
+            .doOnNext(branches -> task.setCommentBranches(String.join("\n", branches)))
+            .onErrorResume(e -> {
+                log.warn("Failed to list issue notes for comment branches, worker will fetch them: project={}, issue={}, error={}",
+                    task.getProjectId(), task.getIssueIid(), e.getMessage());
+                task.setCommentBranches(null);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * 코멘트 본문에서 "작업 브랜치 ... `branch`" 형식의 브랜치 추출 (issue-work.sh의 grep과 같은 규칙)
+     */
+    private static List<String> workBranches(String body) {
+        List<String> branches = new ArrayList<>();
+        Matcher matcher = WORK_BRANCH.matcher(body);
+        while (matcher.find()) {
+            branches.add(matcher.group(1));
+        }
+        return branches;
+    }
+
+    /**
+     * 같은 이슈/모드로 실행 중인 Job에 supersede 정책 적용
+     */
+    private Mono<Void> resolveActiveJobs(WorkerTask task, AtomicReference<Instant> waitingSince) {
+        SupersedePolicy policy = supersedePolicyFor(task);
+        if (policy == SupersedePolicy.PARALLEL) {
+            return Mono.empty();
+        }
+
+        return Mono.fromCallable(() -> workerExecutor.findActive(task))
+            .flatMap(activeJobs -> {
+                if (activeJobs.isEmpty()) {
+                    return Mono.empty();
+                }
+
+                log.info("Found active job(s) {} for project={}, issue={}, applying policy {}",
+                    activeJobs, task.getProjectId(), task.getIssueIid(), policy);
+
+                return switch (policy) {
+                    case PARALLEL -> Mono.<Void>empty();
+                    case REJECT -> {
+                        postComment(task, String.format(
+                            "⏸️ 이미 진행 중인 작업(`%s`)이 있어 이번 요청은 처리하지 않았습니다.\n\n작업이 끝난 뒤 다시 요청해주세요.",
+                            String.join("`, `", activeJobs)));
+                        yield Mono.<Void>error(new ActiveJobConflictException(
+                            "Active job already running for issue " + task.getIssueIid() + ": " + activeJobs));
+                    }
+                    case QUEUE -> waitForActiveJobs(task, activeJobs, waitingSince);
+                    case REPLACE -> Mono.<Void>fromRunnable(() -> {
+                        activeJobs.forEach(workerExecutor::cancel);
+                        postComment(task, String.format(
+                            "🔄 새 요청이 들어와 기존 작업(`%s`)을 취소하고 다시 시작합니다.",
+                            String.join("`, `", activeJobs)));
+                    });
+                };
+            });
+    }
+
+    /**
+     * 영구 작업 공간은 같은 이슈의 Job이 같은 PVC(ReadWriteOnce)와 /workspace를 함께 쓰므로 PARALLEL이면 QUEUE로 실행
+     */
+    private SupersedePolicy supersedePolicyFor(WorkerTask task) {
+        SupersedePolicy policy = workerProperties.getSupersedePolicy();
+        if (policy == SupersedePolicy.PARALLEL && workspaceClaimService.appliesTo(task.getTaskMode())) {
+            return SupersedePolicy.QUEUE;
+        }
+        return policy;
+    }
+
+    /**
+     * 실행 슬롯을 잡은 채로 기다리지 않고 스케줄러에 보류를 요청 (기존 Job이 끝나면 다시 실행 시도)
+     * 제한 시간이 지나도 끝나지 않으면 작업이 사라지지 않도록 그대로 실행
+     */
+    private Mono<Void> waitForActiveJobs(WorkerTask task, List<String> activeJobs,
+                                         AtomicReference<Instant> waitingSince) {
+        Instant since = waitingSince.updateAndGet(previous -> previous != null ? previous : Instant.now());
+        Duration timeout = Duration.ofMinutes(workerProperties.timeoutMinutesFor(task.getTaskMode()));
+        if (Duration.between(since, Instant.now()).compareTo(timeout) > 0) {
+            log.warn("Active job(s) {} did not finish within {}, launching the new task anyway", activeJobs, timeout);
+            return Mono.empty();
+        }
+
+        log.info("Holding task for issue {} until active job(s) {} finish", task.getIssueIid(), activeJobs);
+        return Mono.error(new ActiveJobPendingException(activeJobs));
     }
 
     private String generateJobName(Long issueIid, String taskMode) {
@@ -96,87 +227,18 @@ public class WorkerService {
         return builder.build();
     }
 
-    private Job buildJobSpec(String jobName, WorkerTask task) {
-        return new JobBuilder()
-            .withNewMetadata()
-                .withName(jobName)
-                .withNamespace(workerProperties.getNamespace())
-                .withLabels(Map.of(
-                    "app", "fluffybot-worker",
-                    "managed-by", "fluffybot-webhook",
-                    "project-id", String.valueOf(task.getProjectId()),
-                    "issue-iid", String.valueOf(task.getIssueIid())
-                ))
-            .endMetadata()
-            .withNewSpec()
-                .withTtlSecondsAfterFinished(3600)
-                .withBackoffLimit(0)
-                .withNewTemplate()
-                    .withNewMetadata()
-                        .withLabels(Map.of(
-                            "app", "fluffybot-worker",
-                            "managed-by", "fluffybot-webhook",
-                            "project-id", String.valueOf(task.getProjectId()),
-                            "issue-iid", String.valueOf(task.getIssueIid())
-                        ))
-                    .endMetadata()
-                    .withNewSpec()
-                        .withImagePullSecrets(new LocalObjectReferenceBuilder()
-                          .withName("fluffy-registry-secret")
-                          .build())
-                        .withRestartPolicy("Never")
-                        .addNewContainer()
-                            .withName("worker")
-                            .withImage(workerProperties.getImage())
-                            .withCommand("/entrypoint.sh")
-                            .withEnv(
-                                new EnvVar("GITLAB_URL", task.getGitlabUrl(), null),
-                                new EnvVar("GITLAB_TOKEN", task.getGitlabToken(), null),
-                                new EnvVar("BOT_USERNAME", task.getBotUsername(), null),
-                                new EnvVar("PROJECT_PATH", task.getProjectPath(), null),
-                                new EnvVar("PROJECT_ID", String.valueOf(task.getProjectId()), null),
-                                new EnvVar("ISSUE_IID", String.valueOf(task.getIssueIid()), null),
-                                new EnvVar("ANTHROPIC_API_KEY", task.getAnthropicApiKey(), null),
-                                new EnvVar("SKIP_MR_CREATION", String.valueOf(task.isSkipMrCreation()), null),
-                                new EnvVar("TASK_MODE", task.getTaskMode(), null),
-                                new EnvVar("MR_IID", task.getMrIid() != null ? String.valueOf(task.getMrIid()) : "", null),
-                                new EnvVar("DESCRIPTION_PREVIOUS", task.getDescriptionPrevious() != null ? task.getDescriptionPrevious() : "", null),
-                                new EnvVar("DESCRIPTION_CURRENT", task.getDescriptionCurrent() != null ? task.getDescriptionCurrent() : "", null)
-                            )
-                            .withNewResources()
-                                .withRequests(Map.of(
-                                    "cpu", new Quantity(workerProperties.getCpuRequest()),
-                                    "memory", new Quantity(workerProperties.getMemoryRequest())
-                                ))
-                                .withLimits(Map.of(
-                                    "cpu", new Quantity(workerProperties.getCpuLimit()),
-                                    "memory", new Quantity(workerProperties.getMemoryLimit())
-                                ))
-                            .endResources()
-                            .addNewVolumeMount()
-                                .withName("workspace")
-                                .withMountPath("/workspace")
-                            .endVolumeMount()
-                        .endContainer()
-                        .addNewVolume()
-                            .withName("workspace")
-                            .withNewEmptyDir()
-                            .endEmptyDir()
-                        .endVolume()
-                    .endSpec()
-                .endTemplate()
-            .endSpec()
-            .build();
-    }
-
     private void postErrorComment(WorkerTask task, String errorMessage) {
         String comment = String.format(
             "❌ Worker Pod 생성 실패\n\n오류: %s\n\n관리자에게 문의해주세요.",
             errorMessage
         );
 
+        postComment(task, comment);
+    }
+
+    private void postComment(WorkerTask task, String comment) {
         gitLabApiClient.postComment(task.getProjectId(), task.getIssueIid(), comment)
-            .doOnError(e -> log.error("Failed to post error comment: {}", e.getMessage()))
+            .doOnError(e -> log.error("Failed to post comment: {}", e.getMessage()))
             .subscribe();
     }
 }
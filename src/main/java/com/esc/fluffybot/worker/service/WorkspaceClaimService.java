@@ -0,0 +1,252 @@
+package com.esc.fluffybot.worker.service;
+
+import com.esc.fluffybot.config.WorkerProperties;
+import com.esc.fluffybot.worker.client.KubernetesApiClient;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.PersistentVolumeClaimList;
+import io.fabric8.kubernetes.api.model.Quantity;
+import io.fabric8.kubernetes.api.model.StatusDetails;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이슈별 영구 작업 공간(PVC) 관리
+ *
+ * 같은 이슈의 후속 작업이 clone, 의존성 다운로드, Claude 세션을 이어서 쓰도록 (프로젝트, 이슈)마다 PVC를 하나 두고
+ * /workspace로 마운트합니다. 이슈가 닫히거나 MR이 머지되면 삭제하고,
+ * 개수/총 용량 상한을 넘으면 실행 중인 작업이 없는 것 중 가장 오래 쓰지 않은 PVC부터 삭제합니다.
+ */
+@Slf4j
+@Service
+public class WorkspaceClaimService {
+
+    private static final String LAST_USED_ANNOTATION = "fluffybot/last-used";
+    private static final String APP_LABEL = "fluffybot-workspace";
+
+    private final KubernetesClient kubernetesClient;
+    private final KubernetesApiClient kubernetesApiClient;
+    private final WorkerProperties workerProperties;
+    private final JobIndex jobIndex;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong claimCount = new AtomicLong();
+    private final AtomicLong claimBytes = new AtomicLong();
+
+    public WorkspaceClaimService(KubernetesClient kubernetesClient,
+                                 KubernetesApiClient kubernetesApiClient,
+                                 WorkerProperties workerProperties,
+                                 JobIndex jobIndex,
+                                 MeterRegistry meterRegistry) {
+        this.kubernetesClient = kubernetesClient;
+        this.kubernetesApiClient = kubernetesApiClient;
+        this.workerProperties = workerProperties;
+        this.jobIndex = jobIndex;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("fluffybot.worker.workspace.claims", claimCount, AtomicLong::get)
+            .description("Persistent per-issue workspace claims")
+            .register(meterRegistry);
+        Gauge.builder("fluffybot.worker.workspace.bytes", claimBytes, AtomicLong::get)
+            .description("Storage requested by persistent per-issue workspace claims")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 이 작업이 영구 작업 공간을 쓰는지 (issue 모드만 해당)
+     */
+    public boolean appliesTo(String taskMode) {
+        return isEnabled() && "issue".equals(taskMode);
+    }
+
+    public String claimName(Long projectId, Long issueIid) {
+        return "fluffybot-ws-" + projectId + "-" + issueIid;
+    }
+
+    /**
+     * 이슈 작업 공간 PVC를 준비 (없으면 상한을 맞춘 뒤 생성, 있으면 마지막 사용 시각 갱신)
+     *
+     * @return PVC 이름
+     */
+    public String acquire(Long projectId, Long issueIid) {
+        String name = claimName(projectId, issueIid);
+        String now = Instant.now().toString();
+
+        PersistentVolumeClaim existing = kubernetesApiClient.read("pvc.get", name, () -> claims().withName(name).get())
+            .block();
+        if (existing != null && existing.getMetadata().getDeletionTimestamp() == null) {
+            kubernetesApiClient.write("pvc.edit", () -> claims().withName(name).edit(claim -> new PersistentVolumeClaimBuilder(claim)
+                    .editMetadata()
+                        .addToAnnotations(LAST_USED_ANNOTATION, now)
+                    .endMetadata()
+                    .build()))
+                .block();
+            meterRegistry.counter("fluffybot.worker.workspace.acquire", "result", "reused").increment();
+            log.info("Reusing workspace {} for project {} issue #{}", name, projectId, issueIid);
+            return name;
+        }
+
+        evict(bytes(workerProperties.getWorkspace().getSize()));
+
+        WorkerProperties.Workspace workspace = workerProperties.getWorkspace();
+        PersistentVolumeClaimBuilder builder = new PersistentVolumeClaimBuilder()
+            .withNewMetadata()
+                .withName(name)
+                .withNamespace(workerProperties.getNamespace())
+                .addToLabels("app", APP_LABEL)
+                .addToLabels("managed-by", "fluffybot-webhook")
+                .addToLabels("project-id", String.valueOf(projectId))
+                .addToLabels("issue-iid", String.valueOf(issueIid))
+                .addToAnnotations(LAST_USED_ANNOTATION, now)
+            .endMetadata()
+            .withNewSpec()
+                .withAccessModes("ReadWriteOnce")
+                .withNewResources()
+                    .addToRequests("storage", new Quantity(workspace.getSize()))
+                .endResources()
+            .endSpec();
+        if (workspace.getStorageClass() != null && !workspace.getStorageClass().isBlank()) {
+            builder.editSpec().withStorageClassName(workspace.getStorageClass()).endSpec();
+        }
+
+        PersistentVolumeClaim claim = builder.build();
+        kubernetesApiClient.write("pvc.create", () -> claims().resource(claim).create()).block();
+        meterRegistry.counter("fluffybot.worker.workspace.acquire", "result", "created").increment();
+        log.info("Created workspace {} ({}) for project {} issue #{}", name, workspace.getSize(), projectId, issueIid);
+        return name;
+    }
+
+    /**
+     * 이슈가 닫히거나 MR이 머지되면 작업 공간 삭제
+     * 실행 중인 Pod가 있으면 PVC 보호 finalizer로 Pod가 끝난 뒤 삭제됩니다.
+     */
+    public void release(Long projectId, Long issueIid, String reason) {
+        if (!isEnabled() || projectId == null || issueIid == null) {
+            return;
+        }
+
+        String name = claimName(projectId, issueIid);
+        try {
+            List<StatusDetails> deleted = kubernetesApiClient.write("pvc.delete", () -> claims().withName(name).delete())
+                .block();
+            if (deleted != null && !deleted.isEmpty()) {
+                meterRegistry.counter("fluffybot.worker.workspace.evicted", "reason", reason).increment();
+                log.info("Released workspace {} ({})", name, reason);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to release workspace {}: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * 상한 유지 (작업 종료 후 남은 초과분, 설정 변경 반영)
+     */
+    @Scheduled(fixedDelayString = "PT10M")
+    public void enforceLimits() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            evict(0);
+        } catch (Exception e) {
+            log.warn("Failed to enforce workspace limits: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 새로 만들 용량(incomingBytes)까지 포함해 상한을 넘지 않도록 LRU 순으로 삭제
+     */
+    private synchronized void evict(long incomingBytes) {
+        WorkerProperties.Workspace workspace = workerProperties.getWorkspace();
+        int incomingClaims = incomingBytes > 0 ? 1 : 0;
+        long maxBytes = bytes(workspace.getMaxTotalSize());
+
+        List<PersistentVolumeClaim> claims = new ArrayList<>(kubernetesApiClient.read("pvc.list", "app=" + APP_LABEL,
+                () -> claims().withLabel("app", APP_LABEL).list().getItems())
+            .blockOptional()
+            .orElse(List.of())
+            .stream()
+            .filter(claim -> claim.getMetadata().getDeletionTimestamp() == null)
+            .toList());
+        claims.sort(Comparator.comparing(WorkspaceClaimService::lastUsed));
+
+        long count = claims.size();
+        long total = claims.stream().mapToLong(WorkspaceClaimService::requestedBytes).sum();
+
+        for (PersistentVolumeClaim claim : claims) {
+            if (count + incomingClaims <= workspace.getMaxClaims() && total + incomingBytes <= maxBytes) {
+                break;
+            }
+            if (inUse(claim)) {
+                continue;
+            }
+
+            kubernetesApiClient.write("pvc.delete", () -> claims().resource(claim).delete()).block();
+            count--;
+            total -= requestedBytes(claim);
+            meterRegistry.counter("fluffybot.worker.workspace.evicted", "reason", "lru").increment();
+            log.info("Evicted least recently used workspace {} (last used {})",
+                claim.getMetadata().getName(), lastUsed(claim));
+        }
+
+        if (count + incomingClaims > workspace.getMaxClaims() || total + incomingBytes > maxBytes) {
+            log.warn("Workspace limits exceeded by claims in use ({} claims, {} bytes)", count, total);
+        }
+        claimCount.set(count);
+        claimBytes.set(total);
+    }
+
+    // PVC는 Kubernetes 실행 방식에서만 사용 (로컬 실행은 작업마다 새 디렉토리)
+    private boolean isEnabled() {
+        return workerProperties.getWorkspace().isPersistent() && workerProperties.runsOnKubernetes();
+    }
+
+    private boolean inUse(PersistentVolumeClaim claim) {
+        Map<String, String> labels = claim.getMetadata().getLabels();
+        try {
+            Long projectId = Long.parseLong(labels.get("project-id"));
+            Long issueIid = Long.parseLong(labels.get("issue-iid"));
+            return jobIndex.findJobs(projectId, issueIid, null).stream()
+                .map(JobIndex::statusOf)
+                .anyMatch(status -> "pending".equals(status) || "running".equals(status));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private NonNamespaceOperation<PersistentVolumeClaim, PersistentVolumeClaimList, Resource<PersistentVolumeClaim>> claims() {
+        return kubernetesClient.persistentVolumeClaims().inNamespace(workerProperties.getNamespace());
+    }
+
+    private static String lastUsed(PersistentVolumeClaim claim) {
+        Map<String, String> annotations = claim.getMetadata().getAnnotations();
+        String lastUsed = annotations != null ? annotations.get(LAST_USED_ANNOTATION) : null;
+        return lastUsed != null ? lastUsed : claim.getMetadata().getCreationTimestamp();
+    }
+
+    private static long requestedBytes(PersistentVolumeClaim claim) {
+        if (claim.getSpec() == null || claim.getSpec().getResources() == null
+                || claim.getSpec().getResources().getRequests() == null) {
+            return 0;
+        }
+        Quantity storage = claim.getSpec().getResources().getRequests().get("storage");
+        return storage != null ? storage.getNumericalAmount().longValue() : 0;
+    }
+
+    private static long bytes(String quantity) {
+        return new Quantity(quantity).getNumericalAmount().longValue();
+    }
+}
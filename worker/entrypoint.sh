@@ -7,23 +7,86 @@ set -e
 # 모드별 스크립트를 실행합니다:
 # - issue: 이슈 작업 및 MR 생성 (기본값)
 # - wiki: MR 머지 후 위키 업데이트
+# - pool: 유휴 풀 Pod로 대기하다가 할당받은 작업의 모드로 실행
+# - cache-evict: 공유 빌드 캐시 용량 정리
 # =============================================================================
 
 echo "==> Fluffybot Worker Starting..."
 echo "==> Mode: ${TASK_MODE:-issue}"
 
+# -----------------------------------------------------------------------------
+# 풀 모드: webhook 서비스에서 작업을 할당받을 때까지 long-poll
+# -----------------------------------------------------------------------------
+if [ "${TASK_MODE}" = "pool" ]; then
+  echo "==> Waiting for task assignment as pool worker ${WORKER_JOB_NAME}..."
+  TASK_FILE=$(mktemp)
+
+  while true; do
+    HTTP_CODE=$(curl -s -o "$TASK_FILE" -w '%{http_code}' --max-time 60 \
+      -H "X-Pool-Token: ${POOL_TOKEN}" \
+      "${WEBHOOK_URL}/workers/pool/${WORKER_JOB_NAME}/task" || echo "000")
+
+    case "$HTTP_CODE" in
+      200)
+        break
+        ;;
+      204)
+        continue
+        ;;
+      410)
+        echo "==> Pool worker is no longer registered, exiting"
+        exit 0
+        ;;
+      *)
+        echo "WARNING: Task poll failed (HTTP ${HTTP_CODE}), retrying..."
+        sleep 5
+        ;;
+    esac
+  done
+
+  # 설명(description)에 개행이 있을 수 있으므로 NUL 구분으로 export
+  while IFS= read -r -d '' ENTRY; do
+    export "$ENTRY"
+  done < <(jq -j 'to_entries[] | "\(.key)=\(.value)\u0000"' "$TASK_FILE")
+  rm -f "$TASK_FILE"
+  unset POOL_TOKEN
+
+  echo "==> Assigned task: mode=${TASK_MODE}, project=${PROJECT_PATH}, issue=#${ISSUE_IID}"
+fi
+
+# 공유 빌드 캐시 사용 중 표시: 작업이 끝날 때까지 캐시 루트에 공유 락 유지 (exec 후에도 fd가 유지됨)
+# 정리 Job이 배타 락을 잡고 지우는 중이면 잠시 기다리고, 그래도 안 되면 락 없이 진행
+if [ -n "${CACHE_ROOTS:-}" ]; then
+  while IFS= read -r CACHE_ROOT; do
+    [ -d "$CACHE_ROOT" ] || continue
+    exec {CACHE_LOCK_FD}>>"${CACHE_ROOT}/.fluffybot-cache.lock" || continue
+    flock -s -w 300 "$CACHE_LOCK_FD" || echo "WARNING: Could not lock build cache ${CACHE_ROOT}, continuing"
+  done <<< "$CACHE_ROOTS"
+fi
+
+# 디스패치 지연 측정을 위한 시작 보고 (실패해도 작업은 계속)
+if [ -n "${WEBHOOK_URL:-}" ] && [ -n "${WORKER_JOB_NAME:-}" ]; then
+  curl -s -o /dev/null --max-time 5 -X POST \
+    -H "X-Worker-Token: ${WORKER_CALLBACK_TOKEN:-}" \
+    "${WEBHOOK_URL}/workers/${WORKER_JOB_NAME}/started" || true
+fi
+
 case "${TASK_MODE:-issue}" in
   issue)
     echo "==> Executing issue work mode..."
-    exec /scripts/issue-work.sh
+    exec "${SCRIPTS_DIR:-/scripts}/issue-work.sh"
     ;;
   wiki)
     echo "==> Executing wiki update mode..."
-    exec /scripts/wiki-update.sh
+    exec "${SCRIPTS_DIR:-/scripts}/wiki-update.sh"
+    ;;
+  cache-evict)
+    echo "==> Executing cache eviction mode..."
+    exec "${SCRIPTS_DIR:-/scripts}/cache-evict.sh"
     ;;
   *)
     echo "ERROR: Unknown mode: ${TASK_MODE}"
-    echo "Valid modes: issue, wiki"
+    echo "Valid modes: issue, wiki, pool, cache-evict"
     exit 1
     ;;
 esac
@@ -0,0 +1,59 @@
+#!/bin/bash
+set -e
+
+# =============================================================================
+# 공유 빌드 캐시 용량 정리
+# =============================================================================
+# webhook 서비스가 주기적으로 실행합니다.
+# 캐시별 상한을 넘으면 마지막 수정 시각이 오래된 파일부터 지워 상한의 LOW_WATERMARK%까지 줄입니다.
+# (접근 시각은 relatime/noatime 마운트에서 갱신되지 않아 쓰지 않음)
+# Worker는 작업 동안 캐시 루트의 락 파일에 공유 락을 잡습니다. 배타 락을 잡으면 사용 중인 Worker가 없으므로 전체가 대상이고,
+# 제한 시간 안에 못 잡으면 MIN_AGE_MINUTES(최대 실행 시간) 동안 바뀌지 않은 파일만 지웁니다.
+# 빌드 도구의 락 파일은 실행 중인 빌드가 쓰고 있을 수 있으므로 건드리지 않습니다.
+# =============================================================================
+: "${CACHE_EVICT_SPEC:?CACHE_EVICT_SPEC is required}"
+LOW_WATERMARK="${CACHE_EVICT_LOW_WATERMARK:-80}"
+MIN_AGE_MINUTES="${CACHE_EVICT_MIN_AGE_MINUTES:-30}"
+LOCK_WAIT="${CACHE_EVICT_LOCK_WAIT:-60}"
+LOCK_NAME=".fluffybot-cache.lock"
+
+# CACHE_EVICT_SPEC: 줄마다 "<경로> <최대 바이트>"
+while read -r CACHE_DIR MAX_BYTES; do
+    [ -z "$CACHE_DIR" ] && continue
+
+    if [ ! -d "$CACHE_DIR" ]; then
+        echo "==> Skipping missing cache: ${CACHE_DIR}"
+        continue
+    fi
+
+    USED=$(du -sb "$CACHE_DIR" | cut -f1)
+    echo "==> ${CACHE_DIR}: ${USED} / ${MAX_BYTES} bytes"
+    if [ "$USED" -le "$MAX_BYTES" ]; then
+        continue
+    fi
+
+    exec {LOCK_FD}>>"${CACHE_DIR}/${LOCK_NAME}"
+    AGE_FILTER=()
+    if flock -x -w "$LOCK_WAIT" "$LOCK_FD"; then
+        echo "==> ${CACHE_DIR}: locked, no worker is using it"
+    else
+        echo "==> ${CACHE_DIR}: in use by workers, only evicting files unchanged for ${MIN_AGE_MINUTES}m"
+        AGE_FILTER=(-mmin "+${MIN_AGE_MINUTES}")
+    fi
+
+    TARGET=$(( MAX_BYTES * LOW_WATERMARK / 100 ))
+    REMOVED=0
+    while IFS=' ' read -r _ SIZE FILE; do
+        [ "$USED" -le "$TARGET" ] && break
+        if rm -f -- "$FILE"; then
+            USED=$(( USED - SIZE ))
+            REMOVED=$(( REMOVED + SIZE ))
+        fi
+    done < <(find "$CACHE_DIR" -type f ! -name '*.lck' ! -name '*.lock' "${AGE_FILTER[@]}" -printf '%T@ %s %p\n' | sort -n)
+
+    find "$CACHE_DIR" -mindepth 1 -type d -empty -delete 2>/dev/null || true
+    exec {LOCK_FD}>&-
+    echo "==> ${CACHE_DIR}: removed ${REMOVED} bytes, now ${USED} bytes"
+done <<< "$CACHE_EVICT_SPEC"
+
+echo "==> Cache eviction completed"
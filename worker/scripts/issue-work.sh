@@ -13,7 +13,10 @@ set -e
 : "${ANTHROPIC_API_KEY:?ANTHROPIC_API_KEY is required}"
 
 GITLAB_API="${GITLAB_URL}/api/v4"
-WORK_DIR="/workspace/project"
+# 로컬 실행 모드에서는 작업별 디렉토리로 지정됨
+WORKSPACE_DIR="${WORKSPACE_DIR:-/workspace}"
+TMP_DIR="${TMPDIR:-/tmp}"
+WORK_DIR="${WORKSPACE_DIR}/project"
 
 # =============================================================================
 # 유틸리티 함수
@@ -28,6 +31,30 @@ post_comment() {
         echo "Warning: Failed to post comment to GitLab" >&2
 }
 
+# 실패 코멘트를 남기고 종료 (EXIT trap이 webhook 서비스에 보고 완료를 알림)
+report_failure() {
+    post_comment "$1"
+    FAILURE_REPORTED=true
+    exit 1
+}
+
+# 0이 아닌 코드로 끝나면 실패를 이 스크립트가 이슈에 보고했음을 종료 메시지로 남김
+# (webhook 서비스는 이 표시가 없는 실패만 직접 코멘트 - 스크립트 시작 전 종료, 강제 종료 등)
+TERMINATION_LOG="${TERMINATION_LOG:-/dev/termination-log}"
+FAILURE_REPORTED=false
+on_exit() {
+    local code=$?
+    if [ "$code" -ne 0 ]; then
+        if [ "$FAILURE_REPORTED" != true ]; then
+            post_comment "❌ 작업이 실패했습니다. (exit code ${code})
+
+다시 요청하려면 이슈를 수정하거나 멘션해주세요."
+        fi
+        echo "failure-reported" > "$TERMINATION_LOG" 2>/dev/null || true
+    fi
+}
+trap on_exit EXIT
+
 gitlab_api() {
     local endpoint="$1"
     curl -s --max-time 15 --connect-timeout 5 \
@@ -293,17 +320,63 @@ echo "https://${BOT_USERNAME}:${GITLAB_TOKEN}@${GITLAB_URL#https://}" > ~/.git-c
 # =============================================================================
 # 프로젝트 클론
 # =============================================================================
-echo "==> Cloning ${PROJECT_PATH}..."
-mkdir -p /workspace
-cd /workspace
-git clone "${GITLAB_URL}/${PROJECT_PATH}.git" project
+mkdir -p "$WORKSPACE_DIR"
+cd "$WORKSPACE_DIR"
+
+if [ "${WORKSPACE_PERSISTENT}" = "true" ] && [ -d project/.git ]; then
+    # 같은 이슈의 이전 작업 공간 재사용: 기본 브랜치로 되돌린 뒤 아래 브랜치 선택 로직을 그대로 따름
+    # (.gitignore 대상인 의존성/빌드 결과는 지우지 않고 남겨둠)
+    echo "==> Reusing workspace for ${PROJECT_PATH}..."
+    cd project
+    export GIT_TERMINAL_PROMPT=0
+    git fetch origin --prune
+    git remote set-head origin --auto > /dev/null 2>&1 || true
+    DEFAULT_BRANCH=$(git symbolic-ref --short refs/remotes/origin/HEAD 2>/dev/null | sed 's@^origin/@@')
+    DEFAULT_BRANCH="${DEFAULT_BRANCH:-main}"
+    git reset --hard
+    git clean -fd
+    git checkout -f "$DEFAULT_BRANCH"
+    git reset --hard "origin/${DEFAULT_BRANCH}"
+    cd "$WORKSPACE_DIR"
+else
+    rm -rf project
+    echo "==> Cloning ${PROJECT_PATH}..."
+
+    # webhook이 관리하는 bare mirror가 마운트되어 있으면 참조 clone (원격에서는 mirror 이후 변경분만 받음)
+    # --dissociate로 객체를 복사해 두므로 clone 후에는 mirror가 갱신/정리되어도 영향 없음
+    CLONE_SOURCE="remote"
+    CLONE_STARTED=$(date +%s%3N)
+    if [ -n "${GIT_REFERENCE_REPO}" ] && [ -d "${GIT_REFERENCE_REPO}/objects" ]; then
+        if git clone --reference "${GIT_REFERENCE_REPO}" --dissociate "${GITLAB_URL}/${PROJECT_PATH}.git" project; then
+            CLONE_SOURCE="mirror"
+        else
+            echo "==> Warning: clone with mirror reference failed, falling back to full clone"
+            rm -rf project
+        fi
+    fi
+    if [ "$CLONE_SOURCE" = "remote" ]; then
+        git clone "${GITLAB_URL}/${PROJECT_PATH}.git" project
+    fi
+    CLONE_MILLIS=$(( $(date +%s%3N) - CLONE_STARTED ))
+    echo "==> Cloned from ${CLONE_SOURCE} in ${CLONE_MILLIS} ms"
+
+    # clone 시간 보고 (mirror 적중률/절약 시간 집계용)
+    if [ -n "${WEBHOOK_URL}" ] && [ -n "${WORKER_JOB_NAME}" ]; then
+        curl -s -o /dev/null --max-time 5 -X POST \
+            -H "Content-Type: application/json" \
+            -H "X-Worker-Token: ${WORKER_CALLBACK_TOKEN:-}" \
+            -d "$(jq -n --argjson projectId "${PROJECT_ID}" --arg source "$CLONE_SOURCE" --argjson durationMillis "$CLONE_MILLIS" \
+                '{projectId: $projectId, source: $source, durationMillis: $durationMillis}')" \
+            "${WEBHOOK_URL}/workers/${WORKER_JOB_NAME}/clone" || true
+    fi
+fi
+
 cd project
 
 # CLAUDE.md 체크
 if [ ! -f "CLAUDE.md" ]; then
     echo "ERROR: CLAUDE.md not found"
-    post_comment "❌ CLAUDE.md 파일이 프로젝트 루트에 없습니다. AI Teammate를 사용하려면 CLAUDE.md를 추가해주세요."
-    exit 1
+    report_failure "❌ CLAUDE.md 파일이 프로젝트 루트에 없습니다. AI Teammate를 사용하려면 CLAUDE.md를 추가해주세요."
 fi
 
 # =============================================================================
@@ -398,25 +471,31 @@ echo "==> Checking for existing branches..."
 ISSUE_BRANCHES=$(echo "$ISSUE_DESCRIPTION" | grep -oP '브랜치:\s*`\K[^`]+' || true)
 echo "==> Branches from issue description: ${ISSUE_BRANCHES:-none}"
 
-# bot 코멘트에서 브랜치 정보 추출 (타임아웃 추가)
-echo "==> Fetching comments from GitLab API..."
-COMMENTS_JSON=$(curl -s --max-time 15 --connect-timeout 5 \
-    -H "PRIVATE-TOKEN: ${GITLAB_TOKEN}" \
-    "${GITLAB_API}/projects/${PROJECT_ID}/issues/${ISSUE_IID}/notes" || echo "[]")
-
-# 빈 응답 처리
-if [ -z "$COMMENTS_JSON" ] || [ "$COMMENTS_JSON" = "null" ]; then
-    echo "==> Warning: Empty response from GitLab API, skipping comment branch extraction"
-    COMMENT_BRANCHES=""
+# bot 코멘트에서 브랜치 정보 추출
+# webhook이 모든 페이지를 조회해 넘겨준 경우 그대로 사용하고, 아니면 직접 조회 (타임아웃 추가)
+if [ "${COMMENT_BRANCHES_RESOLVED:-}" = "true" ]; then
+    COMMENT_BRANCHES="${COMMENT_BRANCHES:-}"
+    echo "==> Branches from ${BOT_USERNAME} comments (resolved by webhook): ${COMMENT_BRANCHES:-none}"
 else
-    # jq로 bot 코멘트 필터링 및 브랜치 추출
-    FLUFFYBOT_COMMENTS=$(echo "$COMMENTS_JSON" | jq -r --arg bot "$BOT_USERNAME" '.[] | select(.author.username == $bot) | .body' 2>/dev/null || echo "")
-    if [ -n "$FLUFFYBOT_COMMENTS" ]; then
-        COMMENT_BRANCHES=$(echo "$FLUFFYBOT_COMMENTS" | grep -oP '작업 브랜치.*`\K[^`]+' || true)
-        echo "==> Branches from ${BOT_USERNAME} comments: ${COMMENT_BRANCHES:-none}"
-    else
-        echo "==> No ${BOT_USERNAME} comments found"
+    echo "==> Fetching comments from GitLab API..."
+    COMMENTS_JSON=$(curl -s --max-time 15 --connect-timeout 5 \
+        -H "PRIVATE-TOKEN: ${GITLAB_TOKEN}" \
+        "${GITLAB_API}/projects/${PROJECT_ID}/issues/${ISSUE_IID}/notes" || echo "[]")
+
+    # 빈 응답 처리
+    if [ -z "$COMMENTS_JSON" ] || [ "$COMMENTS_JSON" = "null" ]; then
+        echo "==> Warning: Empty response from GitLab API, skipping comment branch extraction"
         COMMENT_BRANCHES=""
+    else
+        # jq로 bot 코멘트 필터링 및 브랜치 추출
+        FLUFFYBOT_COMMENTS=$(echo "$COMMENTS_JSON" | jq -r --arg bot "$BOT_USERNAME" '.[] | select(.author.username == $bot) | .body' 2>/dev/null || echo "")
+        if [ -n "$FLUFFYBOT_COMMENTS" ]; then
+            COMMENT_BRANCHES=$(echo "$FLUFFYBOT_COMMENTS" | grep -oP '작업 브랜치.*`\K[^`]+' || true)
+            echo "==> Branches from ${BOT_USERNAME} comments: ${COMMENT_BRANCHES:-none}"
+        else
+            echo "==> No ${BOT_USERNAME} comments found"
+            COMMENT_BRANCHES=""
+        fi
     fi
 fi
 
@@ -610,7 +689,7 @@ else
 fi
 
 # 9. 첨부파일 다운로드
-ATTACHMENTS_DIR="/tmp/attachments"
+ATTACHMENTS_DIR="${TMP_DIR}/attachments"
 ATTACHMENTS_INFO=""
 SKIPPED_IMAGES=""
 mkdir -p "$ATTACHMENTS_DIR"
@@ -689,7 +768,7 @@ if [ "$HAS_WIKI" = "true" ]; then
 "
 fi
 
-cat > /tmp/prompt.txt << PROMPT_EOF
+cat > ${TMP_DIR}/prompt.txt << PROMPT_EOF
 # 프로젝트 컨텍스트
 
 ## CLAUDE.md
@@ -784,7 +863,7 @@ exit 0
 
 4. **브랜치 이름 저장 (필수!)**:
    \`\`\`bash
-   echo "{현재-브랜치-이름}" > /tmp/branch_name
+   echo "{현재-브랜치-이름}" > ${TMP_DIR}/branch_name
    \`\`\`
 
 ## 금지 사항
@@ -808,12 +887,22 @@ echo "==> Running Claude Code..."
 echo "==> Working directory: $(pwd)"
 
 # 파일에서 읽어서 인자로 전달, 출력 캡처하여 토큰 사용량 추출
-CLAUDE_OUTPUT_FILE="/tmp/claude_output.log"
-CLAUDE_ERROR_FILE="/tmp/claude_error.log"
+CLAUDE_OUTPUT_FILE="${TMP_DIR}/claude_output.log"
+CLAUDE_ERROR_FILE="${TMP_DIR}/claude_error.log"
+
+# 영구 작업 공간이면 Claude 세션도 작업 공간에 두고 이전 대화를 이어감
+CLAUDE_ARGS=()
+if [ "${WORKSPACE_PERSISTENT}" = "true" ]; then
+    export CLAUDE_CONFIG_DIR="${WORKSPACE_DIR}/.claude"
+    if [ -d "${CLAUDE_CONFIG_DIR}/projects" ]; then
+        echo "==> Continuing previous Claude session"
+        CLAUDE_ARGS+=(--continue)
+    fi
+fi
 
 # Claude Code 실행 (exit code 캡처)
 set +e  # 일시적으로 에러 발생 시 스크립트 중단 비활성화
-claude -p "$(cat /tmp/prompt.txt)" --allowedTools "Bash,Read,Write,Edit,Glob,Grep" --verbose 2>&1 | tee "$CLAUDE_OUTPUT_FILE"
+claude -p "$(cat ${TMP_DIR}/prompt.txt)" "${CLAUDE_ARGS[@]}" --allowedTools "Bash,Read,Write,Edit,Glob,Grep" --verbose 2>&1 | tee "$CLAUDE_OUTPUT_FILE"
 CLAUDE_EXIT_CODE=$?
 set -e  # 다시 활성화
 
@@ -877,8 +966,7 @@ ${ERROR_DETAIL}"
 
 **전체 로그는 Job Pod 로그를 확인해주세요.**"
 
-    post_comment "$ERROR_COMMENT"
-    exit 1
+    report_failure "$ERROR_COMMENT"
 fi
 
 # 토큰 사용량 추출 (여러 패턴 시도)
@@ -926,11 +1014,11 @@ if ! git diff --cached --quiet; then
 fi
 
 # 브랜치 이름 확인
-if [ ! -f /tmp/branch_name ]; then
-    echo "WARNING: /tmp/branch_name not found, using current branch"
-    git branch --show-current > /tmp/branch_name
+if [ ! -f ${TMP_DIR}/branch_name ]; then
+    echo "WARNING: ${TMP_DIR}/branch_name not found, using current branch"
+    git branch --show-current > ${TMP_DIR}/branch_name
 fi
-BRANCH_NAME=$(cat /tmp/branch_name | tr -d '\n')
+BRANCH_NAME=$(cat ${TMP_DIR}/branch_name | tr -d '\n')
 
 # 현재 브랜치 확인
 CURRENT_BRANCH=$(git branch --show-current)
@@ -939,8 +1027,7 @@ echo "==> Expected branch: ${BRANCH_NAME}"
 
 if [ "$CURRENT_BRANCH" = "main" ] || [ "$CURRENT_BRANCH" = "master" ] || [ "$CURRENT_BRANCH" = "develop" ]; then
     echo "ERROR: Still on ${CURRENT_BRANCH} branch. Claude did not create a feature branch."
-    post_comment "❌ 브랜치 생성에 실패했습니다. 기본 브랜치에서 작업할 수 없습니다."
-    exit 1
+    report_failure "❌ 브랜치 생성에 실패했습니다. 기본 브랜치에서 작업할 수 없습니다."
 fi
 
 # 커밋 존재 확인
@@ -949,8 +1036,7 @@ git rev-parse --verify origin/develop >/dev/null 2>&1 || BASE_BRANCH="main"
 COMMIT_COUNT=$(git rev-list --count HEAD ^origin/${BASE_BRANCH} 2>/dev/null || echo "0")
 if [ "$COMMIT_COUNT" = "0" ]; then
     echo "ERROR: No commits to push"
-    post_comment "❌ 변경사항이 없습니다. 작업이 제대로 수행되지 않았을 수 있습니다."
-    exit 1
+    report_failure "❌ 변경사항이 없습니다. 작업이 제대로 수행되지 않았을 수 있습니다."
 fi
 
 echo "==> Found ${COMMIT_COUNT} commit(s) to push"
@@ -1041,8 +1127,7 @@ fi
 # =============================================================================
 
 git push -u origin "${BRANCH_NAME}" || {
-    post_comment "❌ 브랜치 push 실패: ${BRANCH_NAME}"
-    exit 1
+    report_failure "❌ 브랜치 push 실패: ${BRANCH_NAME}"
 }
 
 # 변경사항이 없는지 확인 (코드 변경이 없으면 MR 생성 건너뛰기)
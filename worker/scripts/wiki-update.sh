@@ -15,7 +15,10 @@ set -e
 : "${ANTHROPIC_API_KEY:?ANTHROPIC_API_KEY is required}"
 
 GITLAB_API="${GITLAB_URL}/api/v4"
-WIKI_DIR="/workspace/wiki"
+# 로컬 실행 모드에서는 작업별 디렉토리로 지정됨
+WORKSPACE_DIR="${WORKSPACE_DIR:-/workspace}"
+TMP_DIR="${TMPDIR:-/tmp}"
+WIKI_DIR="${WORKSPACE_DIR}/wiki"
 
 echo "==> Wiki Update Mode"
 echo "==> Project: ${PROJECT_PATH}"
@@ -69,8 +72,8 @@ echo "https://${BOT_USERNAME}:${GITLAB_TOKEN}@${GITLAB_URL#https://}" > ~/.git-c
 # =============================================================================
 echo "==> Cloning wiki repository..."
 
-mkdir -p /workspace
-cd /workspace
+mkdir -p "$WORKSPACE_DIR"
+cd "$WORKSPACE_DIR"
 
 # 위키 저장소 URL
 WIKI_REPO_URL="${GITLAB_URL}/${PROJECT_PATH}.wiki.git"
@@ -114,7 +117,7 @@ echo "==> Running Claude Code for wiki update..."
 
 CURRENT_DATE=$(date +"%Y-%m-%d")
 
-cat > /tmp/wiki_prompt.txt << PROMPT_EOF
+cat > ${TMP_DIR}/wiki_prompt.txt << PROMPT_EOF
 # 위키 업데이트 작업
 
 ## 지시사항
@@ -145,7 +148,7 @@ PROMPT_EOF
 
 # Claude Code 실행
 set +e
-claude -p "$(cat /tmp/wiki_prompt.txt)" --allowedTools "Bash,Read,Write,Edit,Glob,Grep" --verbose 2>&1 | tee /tmp/claude_wiki_output.log
+claude -p "$(cat ${TMP_DIR}/wiki_prompt.txt)" --allowedTools "Bash,Read,Write,Edit,Glob,Grep" --verbose 2>&1 | tee ${TMP_DIR}/claude_wiki_output.log
 CLAUDE_EXIT_CODE=$?
 set -e
 